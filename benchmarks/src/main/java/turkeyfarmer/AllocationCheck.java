@@ -0,0 +1,180 @@
+/**
+ * AllocationCheck.java
+ *
+ * Checks that a game in full swing doesn't allocate anything. Plays whole
+ * frames (TurkeyField.draw(), which ticks the world and draws it into an
+ * offscreen image) with a made up player moving the mouse around and
+ * grabbing at turkeys, and counts the bytes the thread allocates with the
+ * ThreadMXBean. Only frames from the middle of a game are counted: not the
+ * intro and story, not the frame the farmer dies in and not the new game
+ * after it, which all make things once and are done. Every frame that is
+ * counted should allocate nothing, so a long game never has to stop for
+ * garbage collection.
+ *
+ * Nothing in the game itself makes anything, but Java2D's drawImage()
+ * makes a few Rectangles every call that only the JIT's escape analysis
+ * gets rid of. When the JIT recompiles part of it in the middle of a game,
+ * one frame can end up allocating a few hundred bytes. So a couple of
+ * frames per field are let off, but anything that allocates again and
+ * again (even just once a second) fails.
+ *
+ * Runs a few different fields (the original game, a crowded field and a
+ * big scrolling one, each drawn in full and with dirty regions), prints how
+ * much each allocated per frame and in how many frames, and exits with 1
+ * if any of them allocated in too many frames, so it can guard a build:
+ *
+ *   java -cp benchmarks/target/benchmarks.jar turkeyfarmer.AllocationCheck [frames] [frames allowed to allocate]
+ *
+ * By default each field is checked over 3,000 frames, 2 of which can allocate.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+public class AllocationCheck {
+
+	// seconds of game to leave out at the start of every game, for the story
+	private static final int SETTLE_SECONDS = 15;
+
+	// frames to play before counting, so the JIT has settled down too
+	private static final int WARMUP_FRAMES = 10000;
+
+	private com.sun.management.ThreadMXBean _threads;
+	private int _numFrames;
+	private int _numStrayFrames;
+	private boolean _failed;
+
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		int numFrames = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+		int numStrayFrames = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+		AllocationCheck check = new AllocationCheck(numFrames, numStrayFrames);
+		check.run("original game", 600, 30, false);
+		check.run("original game, dirty regions", 600, 30, true);
+		check.run("1000 turkeys", 600, 1000, false);
+		check.run("1000 turkeys, dirty regions", 600, 1000, true);
+		check.run("3000x3000 field, 1000 turkeys", 3000, 1000, false);
+		check.run("3000x3000 field, 1000 turkeys, dirty regions", 3000, 1000, true);
+		System.exit(check.hasFailed() ? 1 : 0);
+	}
+
+	/**
+	 * Create a check
+	 *
+	 * @param numFrames - How many frames to count for each field
+	 * @param numStrayFrames - How many of them can allocate anything without failing
+	 */
+	public AllocationCheck(int numFrames, int numStrayFrames) {
+		if(!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+			throw new IllegalStateException("This JVM can't tell how much a thread allocates");
+		}
+		_threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		if(!_threads.isThreadAllocatedMemorySupported()) {
+			throw new IllegalStateException("This JVM can't tell how much a thread allocates");
+		}
+		_threads.setThreadAllocatedMemoryEnabled(true);
+		_numFrames = numFrames;
+		_numStrayFrames = numStrayFrames;
+	}
+
+	/**
+	 * Play one field until enough frames have been counted and print how
+	 * much they allocated
+	 *
+	 * @param name - What to call the field in the output
+	 * @param fieldSize - Width and height of the field
+	 * @param maxNumTurkeys - How many turkeys the field holds
+	 * @param dirty - Redraw only what changed?
+	 */
+	public void run(String name, int fieldSize, int maxNumTurkeys, boolean dirty) {
+		WorldSettings settings = new WorldSettings();
+		settings.setFieldWidth(fieldSize);
+		settings.setFieldHeight(fieldSize);
+		settings.setNumStartingTurkeys(Math.min(maxNumTurkeys, maxNumTurkeys / 2 + 5));
+		settings.setMaxNumTurkeys(maxNumTurkeys);
+
+		// the same game and the same player every time
+		TurkeyField field = new TurkeyField(42, settings);
+		field.setDirtyRendering(dirty);
+		TurkeyWorld world = field.getWorld();
+		Random player = new Random(7);
+
+		int canvasSize = world.getCanvasSize();
+		BufferedImage screen = new BufferedImage(canvasSize, canvasSize, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = screen.createGraphics();
+
+		long allocated = 0;
+		int numAllocating = 0;
+		int numCounted = 0;
+		int numPlayed = 0;
+		int numGames = 1;
+		while(numCounted < _numFrames) {
+
+			// a new game once the last one is over, like a player clicking on the message
+			if(world.getFarmer().isDead() || world.isGameWon()) {
+				field.mouseAction(canvasSize / 2, canvasSize - 20, 1);
+				numGames++;
+			}
+
+			// only count frames from a game that's under way and stays that way
+			boolean counting = numPlayed >= WARMUP_FRAMES && world.hasGameStarted()
+					&& world.getGameTimeInSeconds() >= SETTLE_SECONDS;
+			int numWins = world.getNumWins();
+
+			long before = _threads.getCurrentThreadAllocatedBytes();
+			_play(field, player, canvasSize);
+			field.draw(g, BenchmarkField.FRAME_TIME);
+			long after = _threads.getCurrentThreadAllocatedBytes();
+			numPlayed++;
+
+			if(counting && !world.getFarmer().isDead() && !world.isGameWon() && world.getNumWins() == numWins) {
+				allocated += after - before;
+				if(after > before) {
+					numAllocating++;
+				}
+				numCounted++;
+			}
+		}
+		g.dispose();
+
+		double perFrame = (double) allocated / numCounted;
+		boolean failed = numAllocating > _numStrayFrames;
+		System.out.printf("%-48s %8.1f bytes/frame, in %d of %d frames (%d played, %d games)%s%n",
+				name, perFrame, numAllocating, numCounted, numPlayed, numGames, failed ? "  FAILED" : "");
+		_failed |= failed;
+	}
+
+	/**
+	 * Did any field allocate in too many frames?
+	 *
+	 * @return
+	 */
+	public boolean hasFailed() {
+		return _failed;
+	}
+
+	/**
+	 * Move the mouse somewhere new now and then and grab at turkeys, the way
+	 * a player would
+	 *
+	 * @param field
+	 * @param player
+	 * @param canvasSize
+	 */
+	private void _play(TurkeyField field, Random player, int canvasSize) {
+		if(player.nextInt(30) == 0) {
+			float x = 50 + player.nextFloat() * (canvasSize - 100);
+			float y = 50 + player.nextFloat() * (canvasSize - 100);
+			field.mouseAction(x, y, player.nextInt(4) == 0 ? 1 : -1);
+		}
+	}
+}
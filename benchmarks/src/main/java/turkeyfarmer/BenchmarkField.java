@@ -0,0 +1,83 @@
+/**
+ * BenchmarkField.java
+ *
+ * A field full of turkeys for the benchmarks to work on. The turkeys are
+ * spread over the whole field from a fixed seed so every run starts from
+ * the same layout, and the farmer stands in the middle.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.util.Random;
+
+public class BenchmarkField {
+
+	public static final int TOP = 50;
+	public static final int RIGHT = 650;
+	public static final int BOTTOM = 650;
+	public static final int LEFT = 50;
+	public static final int CELL_SIZE = 50;
+
+	// one frame at 60 frames per second
+	public static final float FRAME_TIME = 1 / 60f;
+
+	public Farmer farmer;
+	public TurkeyRegistry turkeys;
+	public SimulationClock clock;
+	public TurkeyPopulation population;
+	public TurkeyGrid grid;
+	public TurkeyStateIndex states;
+
+	/**
+	 * Build a field of turkeys
+	 *
+	 * @param numTurkeys - How many turkeys to put on the field
+	 * @param zombieChance - Chance that any one turkey starts out as a zombie
+	 */
+	public BenchmarkField(int numTurkeys, float zombieChance) {
+		Random rand = new Random(42);
+
+		turkeys = new TurkeyRegistry(numTurkeys, null);
+		clock = new SimulationClock();
+		states = new TurkeyStateIndex();
+		population = new TurkeyPopulation();
+		grid = new TurkeyGrid(population, TOP, RIGHT, BOTTOM, LEFT, CELL_SIZE);
+
+		farmer = new Farmer((LEFT + RIGHT) / 2, (TOP + BOTTOM) / 2, 55);
+		farmer.setBounds(TOP, RIGHT, BOTTOM, LEFT);
+		farmer.see(turkeys);
+		farmer.see(grid);
+		farmer.see(states);
+
+		for(int i = 0; i < numTurkeys; i++) {
+			Turkey turkey = new Turkey(20 * (float) (.7 + rand.nextFloat() * .6));
+			turkey.see(farmer);
+			turkey.see(grid);
+			turkey.see(clock);
+			turkey.setRandom(new Random(rand.nextLong()));
+			turkey.setBounds(TOP, RIGHT, BOTTOM, LEFT);
+			turkey.setX(LEFT + rand.nextFloat() * (RIGHT - LEFT));
+			turkey.setY(TOP + rand.nextFloat() * (BOTTOM - TOP));
+			if(rand.nextFloat() < zombieChance) {
+				// no incubation, it's a zombie right away
+				turkey.infect(-1);
+			}
+			turkeys.add(turkey);
+			states.add(turkey);
+		}
+
+		rebuild();
+	}
+
+	/**
+	 * Snapshot the turkeys and re-bucket them, like the world does every tick
+	 */
+	public void rebuild() {
+		population.load(turkeys);
+		grid.rebuild();
+	}
+}
@@ -0,0 +1,34 @@
+/**
+ * BenchmarkMain.java
+ *
+ * Runs the JMH benchmarks with the GC profiler switched on, so every result
+ * comes with allocation rate and bytes allocated per operation as well as
+ * timing. Any regular JMH command line options can be passed along, for
+ * example a benchmark name pattern or -p numTurkeys=1000.
+ *
+ * Run with: java -jar benchmarks/target/benchmarks.jar [jmh options]
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkMain {
+
+	public static void main(String[] args) throws Exception {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.jvmArgsAppend("-Djava.awt.headless=true")
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,429 @@
+/**
+ * DifficultySweep.java
+ *
+ * Plays lots of headless games for every combination of a few difficulty
+ * settings, on every core at once, and writes down how they went as CSV,
+ * so the game can be balanced without playing it by hand.
+ *
+ * Every setting to try is given as name=value,value,... and every
+ * combination of them is played (the rest come from the system
+ * properties, see WorldSettings):
+ *
+ *   startingTurkeys, maxTurkeys, infectionChance, turkeysToWin,
+ *   minSpawnSeconds, maxSpawnSeconds
+ *
+ * along with any of these options:
+ *
+ *   games=200        games per combination
+ *   policy=greedy    how the farmer plays, greedy or random
+ *   out=sweep.csv    where the results go
+ *   maxSeconds=600   game time (after the intro) before a game is called a draw
+ *   threads=<cores>  games played at once
+ *   seed=1           seed the games' seeds come from
+ *
+ *   java -cp benchmarks/target/benchmarks.jar turkeyfarmer.DifficultySweep infectionChance=0.05,0.1,0.2 turkeysToWin=5,10,15
+ *
+ * Every combination plays the same games (the same seeds for its first,
+ * second, third game and so on), so the only difference between two rows
+ * is the settings. For every combination the CSV has how often the farmer
+ * won and how long it took him, how often he was eaten, and how often and
+ * how soon the zombies took over the whole field, along with the number of
+ * turkeys caught. When it's done it says how many seconds of game were
+ * played for every second it took.
+ *
+ * The greedy farmer heads for the nearest turkey he can catch (a sick one
+ * first, as the game tells him to), grabs it once it's in reach, and runs
+ * away from any zombie that comes close, sprinting if he can. The random
+ * farmer wanders about and grabs at nothing in particular, like the
+ * AllocationCheck's player.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class DifficultySweep {
+
+	private static final String[] PARAMETERS = { "startingTurkeys", "maxTurkeys", "infectionChance",
+			"turkeysToWin", "minSpawnSeconds", "maxSpawnSeconds" };
+
+	// how a game can end
+	private static final int WON = 0;
+	private static final int EATEN = 1;
+	private static final int TAKEN_OVER = 2;
+	private static final int DRAW = 3;
+
+	// the game moves on a thirtieth of a second at a time, like a server
+	private static final float TICK_TIME = 1f / 30;
+
+	private int _numGames = 200;
+	private boolean _greedy = true;
+	private String _outFile = "sweep.csv";
+	private int _maxSeconds = 600;
+	private int _numThreads = Runtime.getRuntime().availableProcessors();
+	private long _seed = 1;
+
+	// the settings to sweep and the values to try for each
+	private ArrayList<String> _names = new ArrayList<>();
+	private ArrayList<String[]> _values = new ArrayList<>();
+
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+		DifficultySweep sweep = new DifficultySweep();
+		for(int i = 0; i < args.length; i++) {
+			sweep.parseArgument(args[i]);
+		}
+		sweep.run();
+	}
+
+	/**
+	 * Take in one name=value argument, either an option or a setting to sweep
+	 *
+	 * @param argument
+	 */
+	public void parseArgument(String argument) {
+		int equals = argument.indexOf('=');
+		if(equals < 0) {
+			throw new IllegalArgumentException("Arguments look like name=value, not " + argument);
+		}
+		String name = argument.substring(0, equals);
+		String value = argument.substring(equals + 1);
+
+		if(name.equals("games")) {
+			_numGames = Integer.parseInt(value);
+		} else if(name.equals("policy")) {
+			if(!value.equals("greedy") && !value.equals("random")) {
+				throw new IllegalArgumentException("The farmer plays greedy or random, not " + value);
+			}
+			_greedy = value.equals("greedy");
+		} else if(name.equals("out")) {
+			_outFile = value;
+		} else if(name.equals("maxSeconds")) {
+			_maxSeconds = Integer.parseInt(value);
+		} else if(name.equals("threads")) {
+			_numThreads = Integer.parseInt(value);
+		} else if(name.equals("seed")) {
+			_seed = Long.parseLong(value);
+		} else if(Arrays.asList(PARAMETERS).contains(name)) {
+			_names.add(name);
+			_values.add(value.split(","));
+		} else {
+			throw new IllegalArgumentException("There's no setting called " + name
+					+ "; try one of " + Arrays.toString(PARAMETERS));
+		}
+	}
+
+	/**
+	 * Play every combination and write the results
+	 *
+	 * @throws IOException
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public void run() throws IOException, InterruptedException, ExecutionException {
+
+		// every combination, with its settings made up front so a bad one stops the sweep before it starts
+		ArrayList<String[]> combinations = new ArrayList<>();
+		ArrayList<WorldSettings> settings = new ArrayList<>();
+		int[] choice = new int[_names.size()];
+		WorldSettings base = WorldSettings.fromSystemProperties();
+		while(true) {
+			String[] combination = new String[_names.size()];
+			for(int i = 0; i < combination.length; i++) {
+				combination[i] = _values.get(i)[choice[i]];
+			}
+			combinations.add(combination);
+			settings.add(_makeSettings(base, combination));
+
+			// next combination, counting up like an odometer
+			int i = choice.length - 1;
+			while(i >= 0 && ++choice[i] == _values.get(i).length) {
+				choice[i] = 0;
+				i--;
+			}
+			if(i < 0) {
+				break;
+			}
+		}
+
+		// the same game seeds for every combination
+		long[] seeds = new long[_numGames];
+		Random random = new Random(_seed);
+		for(int i = 0; i < seeds.length; i++) {
+			seeds[i] = random.nextLong();
+		}
+
+		System.out.printf("Playing %d games for each of %d combinations on %d threads%n",
+				_numGames, combinations.size(), _numThreads);
+		long start = System.nanoTime();
+
+		ExecutorService threads = Executors.newFixedThreadPool(_numThreads);
+		List<Future<GameResult>> results;
+		try {
+			ArrayList<Callable<GameResult>> games = new ArrayList<>();
+			for(int i = 0; i < settings.size(); i++) {
+				for(int j = 0; j < seeds.length; j++) {
+					games.add(new Game(seeds[j], settings.get(i)));
+				}
+			}
+			results = threads.invokeAll(games);
+		} finally {
+			threads.shutdown();
+		}
+		double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+		// add up each combination's games, in order
+		PrintWriter out = new PrintWriter(new FileWriter(_outFile));
+		double gameSeconds = 0;
+		try {
+			out.println(_getHeader());
+			for(int i = 0; i < combinations.size(); i++) {
+				GameResult[] games = new GameResult[seeds.length];
+				for(int j = 0; j < games.length; j++) {
+					games[j] = results.get(i * seeds.length + j).get();
+					gameSeconds += games[j].simulatedSeconds;
+				}
+				out.println(_getRow(combinations.get(i), games));
+			}
+		} finally {
+			out.close();
+		}
+
+		System.out.printf("Played %d games in %.1f s: %.0f game seconds per second. Results are in %s%n",
+				results.size(), wallSeconds, gameSeconds / wallSeconds, _outFile);
+	}
+
+	private WorldSettings _makeSettings(WorldSettings base, String[] combination) {
+		WorldSettings settings = base.copy();
+		int minSpawnSeconds = settings.getMinSecondsBetweenTurkeys();
+		int maxSpawnSeconds = settings.getMaxSecondsBetweenTurkeys();
+		for(int i = 0; i < combination.length; i++) {
+			String name = _names.get(i);
+			String value = combination[i];
+			if(name.equals("startingTurkeys")) {
+				settings.setNumStartingTurkeys(Integer.parseInt(value));
+			} else if(name.equals("maxTurkeys")) {
+				settings.setMaxNumTurkeys(Integer.parseInt(value));
+			} else if(name.equals("infectionChance")) {
+				settings.setInfectionChance(Double.parseDouble(value));
+			} else if(name.equals("turkeysToWin")) {
+				settings.setNumTurkeysToWin(Integer.parseInt(value));
+			} else if(name.equals("minSpawnSeconds")) {
+				minSpawnSeconds = Integer.parseInt(value);
+			} else if(name.equals("maxSpawnSeconds")) {
+				maxSpawnSeconds = Integer.parseInt(value);
+			}
+		}
+		// the two are checked against each other, so they're set together
+		settings.setSecondsBetweenTurkeys(minSpawnSeconds, maxSpawnSeconds);
+		return settings;
+	}
+
+	private String _getHeader() {
+		StringBuilder header = new StringBuilder();
+		for(int i = 0; i < _names.size(); i++) {
+			header.append(_names.get(i)).append(',');
+		}
+		header.append("games,winRate,meanSecondsToWin,medianSecondsToWin,eatenRate,meanSecondsToEaten,"
+				+ "takeoverRate,meanSecondsToTakeover,drawRate,meanTurkeysCaught");
+		return header.toString();
+	}
+
+	private String _getRow(String[] combination, GameResult[] games) {
+		int[] numEndings = new int[4];
+		double[] totalSeconds = new double[4];
+		ArrayList<Integer> secondsToWin = new ArrayList<>();
+		double totalCaught = 0;
+		for(int i = 0; i < games.length; i++) {
+			GameResult game = games[i];
+			numEndings[game.ending]++;
+			totalSeconds[game.ending] += game.gameSeconds;
+			totalCaught += game.numCaught;
+			if(game.ending == WON) {
+				secondsToWin.add(game.gameSeconds);
+			}
+		}
+		secondsToWin.sort(null);
+
+		StringBuilder row = new StringBuilder();
+		for(int i = 0; i < combination.length; i++) {
+			row.append(combination[i]).append(',');
+		}
+		row.append(games.length).append(',');
+		row.append(_format((double) numEndings[WON] / games.length)).append(',');
+		row.append(_formatMean(totalSeconds[WON], numEndings[WON])).append(',');
+		row.append(secondsToWin.isEmpty() ? "" : "" + secondsToWin.get(secondsToWin.size() / 2)).append(',');
+		row.append(_format((double) numEndings[EATEN] / games.length)).append(',');
+		row.append(_formatMean(totalSeconds[EATEN], numEndings[EATEN])).append(',');
+		row.append(_format((double) numEndings[TAKEN_OVER] / games.length)).append(',');
+		row.append(_formatMean(totalSeconds[TAKEN_OVER], numEndings[TAKEN_OVER])).append(',');
+		row.append(_format((double) numEndings[DRAW] / games.length)).append(',');
+		row.append(_format(totalCaught / games.length));
+		return row.toString();
+	}
+
+	// a mean with nothing to average is left empty
+	private static String _formatMean(double total, int count) {
+		return count == 0 ? "" : _format(total / count);
+	}
+
+	private static String _format(double value) {
+		return String.format("%.3f", value);
+	}
+
+	/**
+	 * How one game went
+	 */
+	private static class GameResult {
+		int ending;
+		int gameSeconds;			// from the end of the intro to the end of the game
+		int numCaught;
+		double simulatedSeconds;	// everything the game's clock went through, intro and all
+	}
+
+	/**
+	 * Plays one game from start to finish
+	 */
+	private class Game implements Callable<GameResult> {
+
+		private long _gameSeed;
+		private WorldSettings _settings;
+
+		Game(long gameSeed, WorldSettings settings) {
+			_gameSeed = gameSeed;
+			_settings = settings;
+		}
+
+		public GameResult call() {
+			TurkeyWorld world = new TurkeyWorld(_gameSeed, _settings);
+			Farmer farmer = world.getFarmer();
+			Player player = _greedy ? new GreedyPlayer() : new RandomPlayer();
+			Random random = new Random(_gameSeed);
+
+			GameResult result = new GameResult();
+			while(true) {
+				if(world.hasGameStarted()) {
+					player.play(world, random);
+				}
+				world.tick(TICK_TIME);
+
+				if(world.isGameWon()) {
+					result.ending = WON;
+				} else if(farmer.isDead()) {
+					// the game kills the farmer off once every turkey there's room for is a zombie
+					result.ending = world.getNumZombies() == world.getMaxNumTurkeys() ? TAKEN_OVER : EATEN;
+				} else if(world.hasGameStarted() && world.getGameTimeInSeconds() >= _maxSeconds) {
+					result.ending = DRAW;
+				} else {
+					continue;
+				}
+				break;
+			}
+			result.gameSeconds = world.getGameTimeInSeconds();
+			result.numCaught = farmer.getNumTurkeysCaught();
+			result.simulatedSeconds = world.getTimeInNanos() / 1e9;
+			return result;
+		}
+	}
+
+	/**
+	 * A made up player, moving the mouse and clicking once a tick at most
+	 */
+	private interface Player {
+		void play(TurkeyWorld world, Random random);
+	}
+
+	/**
+	 * Goes for the nearest turkey he can catch and runs from zombies
+	 */
+	private static class GreedyPlayer implements Player {
+
+		// zombies see the farmer from 150 away, so keep out of that
+		private static final float DANGER_DISTANCE = 150;
+		private static final float SPRINT_DISTANCE = 90;
+		private static final float CATCH_DISTANCE = 45;
+
+		// a sprint and the rest after it take 16 seconds, so wait that long between them
+		private static final long SPRINT_INTERVAL = 16 * 1000000000L;
+
+		private long _lastSprint = -SPRINT_INTERVAL;
+
+		public void play(TurkeyWorld world, Random random) {
+			Farmer farmer = world.getFarmer();
+			TurkeyRegistry turkeys = world.getTurkeyRegistry();
+
+			// find the closest zombie and the best turkey to go for
+			Turkey zombie = null;
+			float zombieDistance = Float.MAX_VALUE;
+			Turkey target = null;
+			float targetScore = Float.MAX_VALUE;
+			for(int i = 0; i < turkeys.size(); i++) {
+				Turkey turkey = turkeys.get(i);
+				float distance = farmer.getDistanceSquaredFrom(turkey);
+				if(turkey.isZombie()) {
+					if(distance < zombieDistance) {
+						zombie = turkey;
+						zombieDistance = distance;
+					}
+				} else {
+					// a sick turkey is worth going twice as far for (four times squared)
+					float score = turkey.isInfected() ? distance / 4 : distance;
+					if(score < targetScore) {
+						target = turkey;
+						targetScore = score;
+					}
+				}
+			}
+
+			// run the other way from a zombie that's too close
+			if(zombie != null && zombieDistance < DANGER_DISTANCE * DANGER_DISTANCE) {
+				float awayX = farmer.getX() + (farmer.getX() - zombie.getX()) * 2;
+				float awayY = farmer.getY() + (farmer.getY() - zombie.getY()) * 2;
+				awayX = Math.max(world.getLeftFieldBound(), Math.min(world.getRightFieldBound(), awayX));
+				awayY = Math.max(world.getTopFieldBound(), Math.min(world.getBottomFieldBound(), awayY));
+				long now = world.getTimeInNanos();
+				if(zombieDistance < SPRINT_DISTANCE * SPRINT_DISTANCE && now - _lastSprint >= SPRINT_INTERVAL) {
+					_lastSprint = now;
+					world.mouseAction(awayX, awayY, 3);
+				} else {
+					world.mouseAction(awayX, awayY, -1);
+				}
+				return;
+			}
+
+			if(target != null) {
+				boolean inReach = farmer.getDistanceSquaredFrom(target) <= CATCH_DISTANCE * CATCH_DISTANCE;
+				world.mouseAction(target.getX(), target.getY(), inReach ? 1 : -1);
+			}
+		}
+	}
+
+	/**
+	 * Wanders about and grabs at whatever's there now and then
+	 */
+	private static class RandomPlayer implements Player {
+
+		public void play(TurkeyWorld world, Random random) {
+			if(random.nextInt(30) == 0) {
+				float x = world.getLeftFieldBound() + random.nextFloat() * (world.getRightFieldBound() - world.getLeftFieldBound());
+				float y = world.getTopFieldBound() + random.nextFloat() * (world.getBottomFieldBound() - world.getTopFieldBound());
+				world.mouseAction(x, y, random.nextInt(4) == 0 ? 1 : -1);
+			}
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/**
+ * FieldDrawBenchmark.java
+ *
+ * Benchmarks one whole frame: TurkeyField.draw() advancing the game by a
+ * sixtieth of a second and drawing it into an offscreen image the size of
+ * the window. With dirty=true only the parts of the frame that changed
+ * are redrawn (see DirtyRegionRenderer). With fieldSize=6000 the field
+ * is ten times wider and taller than the window, so most of the turkeys
+ * are off camera and aren't drawn at all.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldDrawBenchmark {
+
+	@Param({"10", "100", "1000", "10000"})
+	public int numTurkeys;
+
+	@Param({"false", "true"})
+	public boolean dirty;
+
+	@Param({"600", "6000"})
+	public int fieldSize;
+
+	private TurkeyField _field;
+	private BufferedImage _screen;
+	private Graphics2D _graphics;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		WorldSettings settings = new WorldSettings();
+		settings.setFieldWidth(fieldSize);
+		settings.setFieldHeight(fieldSize);
+		settings.setMaxNumTurkeys(numTurkeys);
+		_field = new TurkeyField(settings);
+		_field.setDirtyRendering(dirty);
+		TurkeyWorld world = _field.getWorld();
+
+		// skip the intro a second at a time so the story runs as usual
+		while(!world.hasGameStarted()) {
+			world.tick(1);
+		}
+		while(world.getTurkeys().size() < numTurkeys) {
+			world.spawnTurkey();
+		}
+
+		int canvasSize = world.getCanvasSize();
+		_screen = new BufferedImage(canvasSize, canvasSize, BufferedImage.TYPE_INT_RGB);
+		_graphics = _screen.createGraphics();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		_graphics.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage turkeyFieldDraw() {
+		_field.draw(_graphics, BenchmarkField.FRAME_TIME);
+		return _screen;
+	}
+}
@@ -0,0 +1,255 @@
+/**
+ * LoadGenerator.java
+ *
+ * Finds out how many games a GameServer can tick at full speed per core.
+ * Connects made up players a batch at a time, each moving the mouse around
+ * now and then, grabbing at turkeys and starting a new game when the last
+ * one is over, and counts the updates they get back. As long as every
+ * player gets (nearly) one update per tick, the server is keeping up, and
+ * another batch joins (a quarter as many as there are, or the players per
+ * step if that's more). Once they fall behind, the last number of players
+ * that kept up is divided by the server's cores:
+ *
+ *   java -cp benchmarks/target/benchmarks.jar turkeyfarmer.LoadGenerator [host:port] [players per step] [seconds per step]
+ *
+ * Without a host a server is started in this JVM, with a tick thread per
+ * core, and the players share the machine with it (they only take one
+ * thread between them). New players spend their first 30 seconds in the
+ * intro, where hardly anything happens, so give each step long enough
+ * that most players are playing.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Random;
+
+public class LoadGenerator {
+
+	// a step counts as keeping up if players got at least this much of the tick rate
+	private static final double KEEPING_UP = 0.95;
+
+	// how often each player does something, in milliseconds
+	private static final int PLAYER_INTERVAL = 250;
+
+	private InetSocketAddress _address;
+	private Selector _selector;
+	private ArrayList<Player> _players = new ArrayList<>();
+	private Random _random = new Random(7);
+	private long _numUpdates;
+
+	// what the server said in its hello
+	private int _tickRate;
+	private int _numTickThreads;
+	private int _numCores;
+
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		int step = args.length > 1 ? Integer.parseInt(args[1]) : 4 * Runtime.getRuntime().availableProcessors();
+		int secondsPerStep = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		// talk to a server somewhere else, or start one here
+		InetSocketAddress address;
+		if(args.length > 0 && !args[0].equals("local")) {
+			String[] hostAndPort = args[0].split(":");
+			address = new InetSocketAddress(hostAndPort[0],
+					hostAndPort.length > 1 ? Integer.parseInt(hostAndPort[1]) : GameServer.DEFAULT_PORT);
+		} else {
+			GameServer server = new GameServer(0, GameServer.DEFAULT_TICK_RATE,
+					Runtime.getRuntime().availableProcessors(), WorldSettings.fromSystemProperties());
+			server.start();
+			address = new InetSocketAddress("localhost", server.getPort());
+		}
+
+		LoadGenerator generator = new LoadGenerator(address);
+		int numKeptUp = generator.run(step, secondsPerStep);
+		System.out.printf("Kept up with %d sessions at %d Hz on %d cores (%d tick threads): %.1f sessions per core%n",
+				numKeptUp, generator._tickRate, generator._numCores, generator._numTickThreads,
+				(double) numKeptUp / generator._numCores);
+	}
+
+	public LoadGenerator(InetSocketAddress address) throws IOException {
+		_address = address;
+		_selector = Selector.open();
+	}
+
+	/**
+	 * Add players a step at a time until the server can't keep up
+	 *
+	 * @param step - Fewest players to add each step
+	 * @param secondsPerStep - How long to measure each step for
+	 * @return The most players the server kept up with
+	 * @throws IOException
+	 */
+	public int run(int step, int secondsPerStep) throws IOException {
+		System.out.println("players, updates/s per player, % of tick rate");
+		int numKeptUp = 0;
+		while(true) {
+			// a quarter more players each time, so it gets there in a few steps either way
+			int numNewPlayers = Math.max(step, _players.size() / 4);
+			for(int i = 0; i < numNewPlayers; i++) {
+				_connect();
+			}
+
+			// give the new players a moment to get going before counting
+			_play(1000);
+			_numUpdates = 0;
+			long start = System.nanoTime();
+			_play(secondsPerStep * 1000L);
+			double seconds = (System.nanoTime() - start) / 1e9;
+
+			double perPlayer = _numUpdates / seconds / _players.size();
+			double fraction = perPlayer / _tickRate;
+			System.out.printf("%d, %.1f, %.0f%%%n", _players.size(), perPlayer, fraction * 100);
+			if(fraction < KEEPING_UP) {
+				break;
+			}
+			numKeptUp = _players.size();
+		}
+
+		for(int i = 0; i < _players.size(); i++) {
+			_players.get(i)._channel.close();
+		}
+		return numKeptUp;
+	}
+
+	private void _connect() throws IOException {
+		SocketChannel channel = SocketChannel.open(_address);
+		channel.configureBlocking(false);
+		Player player = new Player(channel);
+		channel.register(_selector, SelectionKey.OP_READ, player);
+		_players.add(player);
+	}
+
+	/**
+	 * Read updates and have the players do things for a while
+	 *
+	 * @param millis
+	 * @throws IOException
+	 */
+	private void _play(long millis) throws IOException {
+		long end = System.currentTimeMillis() + millis;
+		long nextMove = 0;
+		while(true) {
+			long now = System.currentTimeMillis();
+			if(now >= end) {
+				return;
+			}
+			_selector.select(Math.max(1, Math.min(end, nextMove) - now));
+			Iterator<SelectionKey> keys = _selector.selectedKeys().iterator();
+			while(keys.hasNext()) {
+				SelectionKey key = keys.next();
+				keys.remove();
+				((Player) key.attachment()).read();
+			}
+
+			// a few players do something every time round, so it's spread out
+			now = System.currentTimeMillis();
+			if(now >= nextMove) {
+				for(int i = 0; i < _players.size(); i++) {
+					Player player = _players.get(i);
+					if(now >= player._nextMove) {
+						player.move();
+						player._nextMove = now + PLAYER_INTERVAL / 2 + _random.nextInt(PLAYER_INTERVAL);
+					}
+				}
+				nextMove = now + 10;
+			}
+		}
+	}
+
+	/**
+	 * A made up player on one socket
+	 */
+	private class Player {
+
+		private SocketChannel _channel;
+		private long _nextMove;
+		private ByteBuffer _input = ByteBuffer.allocate(16 * 1024);
+		private ByteBuffer _output = ByteBuffer.allocate(GameProtocol.MOUSE_ACTION_SIZE);
+		private boolean _saidHello;
+		private int _left, _top, _right, _bottom;
+		private boolean _gameOver;
+
+		Player(SocketChannel channel) {
+			_channel = channel;
+			_output.flip();
+		}
+
+		void read() throws IOException {
+			if(_channel.read(_input) < 0) {
+				throw new IOException("The server hung up");
+			}
+			_input.flip();
+
+			if(!_saidHello) {
+				if(_input.remaining() < GameProtocol.HELLO_SIZE) {
+					_input.compact();
+					return;
+				}
+				if(_input.getInt() != GameProtocol.MAGIC) {
+					throw new IOException("That's not a Turkey Farmer server");
+				}
+				_tickRate = _input.getShort();
+				_numTickThreads = _input.getShort();
+				_numCores = _input.getShort();
+				_left = _input.getShort();
+				_top = _input.getShort();
+				_right = _input.getShort();
+				_bottom = _input.getShort();
+				_saidHello = true;
+			}
+
+			// count every whole update, and notice when the game is over
+			while(_input.remaining() >= 4) {
+				int length = _input.getInt(_input.position());
+				if(_input.remaining() < 4 + length) {
+					break;
+				}
+				byte flags = _input.get(_input.position() + 8);
+				_gameOver = (flags & (GameProtocol.DEAD | GameProtocol.WON)) != 0;
+				_input.position(_input.position() + 4 + length);
+				_numUpdates++;
+			}
+			_input.compact();
+
+			// make room for an update bigger than any so far
+			if(_input.position() >= 4 && _input.getInt(0) + 4 > _input.capacity()) {
+				ByteBuffer bigger = ByteBuffer.allocate(_input.getInt(0) * 2);
+				_input.flip();
+				bigger.put(_input);
+				_input = bigger;
+			}
+		}
+
+		void move() throws IOException {
+			if(_output.hasRemaining()) {
+				// the last one hasn't gone out yet
+				_channel.write(_output);
+				return;
+			}
+			_output.clear();
+			if(_gameOver) {
+				// click on the message to play again
+				GameProtocol.writeMouseAction(_output, (_left + _right) / 2, _bottom + 20, 1);
+			} else {
+				float x = _left + _random.nextFloat() * (_right - _left);
+				float y = _top + _random.nextFloat() * (_bottom - _top);
+				GameProtocol.writeMouseAction(_output, x, y, _random.nextInt(4) == 0 ? 1 : -1);
+			}
+			_output.flip();
+			_channel.write(_output);
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/**
+ * ParallelTickBenchmark.java
+ *
+ * Compares a whole TurkeyWorld tick with the turkeys moved one after
+ * another against the same tick split across the fork-join pool. Run it
+ * with different -t / -Djava.util.concurrent.ForkJoinPool.common.parallelism
+ * settings to see how the parallel mode scales with the number of cores.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelTickBenchmark {
+
+	@Param({"1000", "10000"})
+	public int numTurkeys;
+
+	@Param({"false", "true"})
+	public boolean parallel;
+
+	private TurkeyWorld _world;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		_world = new TurkeyWorld(42);
+		_world.setParallel(parallel);
+
+		// skip the intro a second at a time so the story runs as usual
+		while(!_world.hasGameStarted()) {
+			_world.tick(1);
+		}
+		while(_world.getTurkeys().size() < numTurkeys) {
+			_world.spawnTurkey();
+		}
+	}
+
+	@Benchmark
+	public void worldTick() {
+		_world.tick(BenchmarkField.FRAME_TIME);
+	}
+}
@@ -0,0 +1,159 @@
+/**
+ * RegistryCheck.java
+ *
+ * Checks that TurkeyRegistry takes turkeys out the way it says it does,
+ * especially the removals held off while the world updates (between
+ * beginUpdate() and endUpdate()), which a tick only gets to when a turkey
+ * is caught. Each step prints what it checked, and the check exits with 1
+ * at the first thing that's wrong, so it can guard a build:
+ *
+ *   java -cp benchmarks/target/benchmarks.jar turkeyfarmer.RegistryCheck
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.util.Arrays;
+
+public class RegistryCheck {
+
+	private TurkeyPool _spareTurkeys = new TurkeyPool();
+	private TurkeyRegistry _registry = new TurkeyRegistry(4, _spareTurkeys);
+	private Turkey[] _turkeys = new Turkey[6];
+	private int[] _handles = new int[6];
+
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		RegistryCheck check = new RegistryCheck();
+		try {
+			check.run();
+		} catch(IllegalStateException e) {
+			System.out.println("FAILED: " + e.getMessage());
+			System.exit(1);
+		}
+		System.out.println("TurkeyRegistry is fine");
+	}
+
+	/**
+	 * Go through adding, removing in the middle of an update, and reusing
+	 * the slots that freed up
+	 */
+	public void run() {
+
+		// more turkeys than it was made for, so it has to grow on the way
+		for(int i = 0; i < _turkeys.length; i++) {
+			_turkeys[i] = _spareTurkeys.take();
+			_handles[i] = _registry.add(_turkeys[i]);
+		}
+		_expectOrder("added", 0, 1, 2, 3, 4, 5);
+
+		// removing in the middle of an update only marks the turkeys
+		_registry.beginUpdate();
+		_expect(_registry.remove(_handles[1]), "removing turkey 1 during the update worked");
+		_expect(_registry.remove(_handles[4]), "removing turkey 4 during the update worked");
+		_expect(_registry.remove(_turkeys[0]), "removing turkey 0 by itself during the update worked");
+		_expect(!_registry.remove(_handles[1]), "removing turkey 1 again during the update was refused");
+		_expectOrder("nothing moved during the update", 0, 1, 2, 3, 4, 5);
+		_expectGone("during the update", 0, 1, 4);
+		_expect(_turkeys[1].getHandle() == _handles[1], "turkey 1 keeps its handle until the update ends");
+
+		// they leave in the order they were removed, each swapped with the last turkey:
+		// 1 makes way for 5, 4 is last by then, and 0 makes way for 3
+		_registry.endUpdate();
+		_expectOrder("after the update", 3, 5, 2);
+		_expectGone("after the update", 0, 1, 4);
+		for(int i : new int[] { 2, 3, 5 }) {
+			_expect(_registry.find(_handles[i]) == _turkeys[i], "turkey " + i + " is still found by its handle");
+		}
+		for(int i : new int[] { 0, 1, 4 }) {
+			_expect(_turkeys[i].getHandle() == TurkeyRegistry.NO_HANDLE, "turkey " + i + " has no handle once it left");
+		}
+		_expect(_spareTurkeys.getNumSpares() == 3, "the 3 turkeys that left went back to the pool");
+
+		// freed slots are used again, the last one freed first, a generation on
+		int[] reusedFrom = { 0, 4, 1 };
+		for(int i = 0; i < reusedFrom.length; i++) {
+			int stale = _handles[reusedFrom[i]];
+			int handle = _registry.add(_spareTurkeys.take());
+			_expect(TurkeyRegistry.getSlot(handle) == TurkeyRegistry.getSlot(stale),
+					"new turkey " + i + " got the slot turkey " + reusedFrom[i] + " left");
+			_expect(TurkeyRegistry.getGeneration(handle) == TurkeyRegistry.getGeneration(stale) + 1,
+					"the slot turkey " + reusedFrom[i] + " left is a generation on");
+			_expect(_registry.find(stale) == null && !_registry.remove(stale),
+					"turkey " + reusedFrom[i] + "'s old handle doesn't find the new turkey in its slot");
+		}
+		_expect(_registry.size() == 6, "there are 6 turkeys again");
+
+		// taking everything out in an update waits for the end of it too
+		int[] handles = new int[_registry.size()];
+		for(int i = 0; i < handles.length; i++) {
+			handles[i] = _registry.get(i).getHandle();
+		}
+		_registry.beginUpdate();
+		_registry.removeAll();
+		_expect(_registry.size() == 6, "removing every turkey during an update leaves them there until it ends");
+		_registry.endUpdate();
+		_expect(_registry.size() == 0, "every turkey is gone after the update");
+		for(int i = 0; i < handles.length; i++) {
+			_expect(!_registry.contains(handles[i]), "handle " + i + " finds nothing once every turkey is gone");
+		}
+
+		// one slot used over and over runs out of generations, and then it's
+		// retired instead of starting over and handing out its first handle again
+		TurkeyRegistry registry = new TurkeyRegistry(1, _spareTurkeys);
+		int first = registry.add(_spareTurkeys.take());
+		int handle = first;
+		int reuses = 0;
+		while(TurkeyRegistry.getSlot(handle) == TurkeyRegistry.getSlot(first)) {
+			registry.remove(handle);
+			handle = registry.add(_spareTurkeys.take());
+			reuses++;
+			if(handle == first || registry.contains(first)) {
+				throw new IllegalStateException("the first handle found a turkey again after " + reuses + " reuses of its slot");
+			}
+		}
+		_expect(reuses == 2048, "a slot is used 2048 times before it's retired (it was " + reuses + ")");
+		_expect(TurkeyRegistry.getGeneration(handle) == 0, "the turkey after that gets a new slot, at its first generation");
+		_expect(!registry.contains(first) && registry.find(first) == null, "the slot's first handle still finds nothing");
+		registry.remove(handle);
+		_expect(TurkeyRegistry.getSlot(registry.add(_spareTurkeys.take())) == TurkeyRegistry.getSlot(handle),
+				"the new slot is the one used next, not the retired one");
+	}
+
+	/**
+	 * Check the registry holds the turkeys with these numbers, in this order
+	 *
+	 * @param when - What just happened, for the output
+	 * @param order
+	 */
+	private void _expectOrder(String when, int... order) {
+		boolean same = _registry.size() == order.length;
+		for(int i = 0; same && i < order.length; i++) {
+			same = _registry.get(i) == _turkeys[order[i]];
+		}
+		_expect(same, when + ", the turkeys are in the order " + Arrays.toString(order));
+	}
+
+	/**
+	 * Check the handles of some turkeys don't find anything
+	 *
+	 * @param when - What just happened, for the output
+	 * @param turkeys - Which turkeys
+	 */
+	private void _expectGone(String when, int... turkeys) {
+		for(int i : turkeys) {
+			_expect(!_registry.contains(_handles[i]) && _registry.find(_handles[i]) == null,
+					when + ", turkey " + i + "'s handle finds nothing");
+		}
+	}
+
+	private void _expect(boolean ok, String what) {
+		if(!ok) {
+			throw new IllegalStateException(what);
+		}
+		System.out.println("ok: " + what);
+	}
+}
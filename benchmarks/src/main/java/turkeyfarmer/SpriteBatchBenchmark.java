@@ -0,0 +1,129 @@
+/**
+ * SpriteBatchBenchmark.java
+ *
+ * Benchmarks drawing a field full of farmers, turkeys and zombie turkeys
+ * facing every which way, three ways:
+ *
+ *   looseImages - every frame is an image of its own, drawn in list order
+ *                 (how sprites were drawn before the sprite atlas)
+ *   atlasFrames - every frame is a rectangle of the character atlas, drawn
+ *                 in list order
+ *   spriteBatch - atlas frames collected by a SpriteBatch and drawn
+ *                 grouped by source image
+ *
+ * The sprites cycle through all forty character frames so consecutive
+ * draws never come from the same loose image.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpriteBatchBenchmark {
+
+	private static final String[] CHARACTERS = { "farmer", "turkey", "zturkey" };
+	private static final int[] CHARACTER_FRAMES = { 4, 3, 3 };
+
+	@Param({"100", "1000", "10000"})
+	public int numSprites;
+
+	private Sprite[] _looseSprites;
+	private Sprite[] _atlasSprites;
+	private SpriteBatch _batch = new SpriteBatch();
+	private BufferedImage _screen;
+	private Graphics2D _graphics;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		Random rand = new Random(42);
+
+		// pack the atlas first, since packing drops the loose images from the cache
+		SpriteAtlas atlas = SpriteAtlas.getCharacters();
+
+		String[] fileNames = new String[atlas.getNumFrames()];
+		int numFileNames = 0;
+		Direction[] directions = Direction.all();
+		for(int i = 0; i < CHARACTERS.length; i++) {
+			for(int j = 0; j < directions.length; j++) {
+				for(int frame = 1; frame <= CHARACTER_FRAMES[i]; frame++) {
+					fileNames[numFileNames++] = "images/" + CHARACTERS[i] + "_" + directions[j].getLetter()
+							+ (frame == 1 ? "" : "" + frame) + ".png";
+				}
+			}
+		}
+
+		_looseSprites = new Sprite[numSprites];
+		_atlasSprites = new Sprite[numSprites];
+		for(int i = 0; i < numSprites; i++) {
+			float x = BenchmarkField.LEFT + rand.nextFloat() * (BenchmarkField.RIGHT - BenchmarkField.LEFT);
+			float y = BenchmarkField.TOP + rand.nextFloat() * (BenchmarkField.BOTTOM - BenchmarkField.TOP);
+			String fileName = fileNames[i % numFileNames];
+
+			_looseSprites[i] = new Sprite(x, y);
+			_looseSprites[i].setImage(ResLoader.getImage(fileName));
+			_atlasSprites[i] = new Sprite(x, y);
+			_atlasSprites[i].setFrame(atlas.getFrame(fileName));
+		}
+
+		_screen = new BufferedImage(BenchmarkField.RIGHT + 50, BenchmarkField.BOTTOM + 50, BufferedImage.TYPE_INT_RGB);
+		_graphics = _screen.createGraphics();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		_graphics.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage looseImages() {
+		for(int i = 0; i < _looseSprites.length; i++) {
+			_looseSprites[i].drawCentered(_graphics);
+		}
+		return _screen;
+	}
+
+	@Benchmark
+	public BufferedImage atlasFrames() {
+		for(int i = 0; i < _atlasSprites.length; i++) {
+			_atlasSprites[i].drawCentered(_graphics);
+		}
+		return _screen;
+	}
+
+	@Benchmark
+	public BufferedImage spriteBatch() {
+		_batch.begin();
+		for(int i = 0; i < _atlasSprites.length; i++) {
+			_batch.drawCentered(_atlasSprites[i]);
+		}
+		_batch.flush(_graphics);
+		return _screen;
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ * SpriteBenchmarks.java
+ *
+ * Benchmarks for the sprite building blocks that run for every sprite on
+ * every frame: moving towards a target, measuring distances and picking
+ * the current animation frame. Each operation covers the whole population.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpriteBenchmarks {
+
+	@Param({"10", "100", "1000", "10000"})
+	public int numTurkeys;
+
+	private MovingSprite[] _sprites;
+	private AnimatedImage[] _animations;
+	private Sprite _farmer;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		Random rand = new Random(42);
+
+		_farmer = new Sprite(BenchmarkField.RIGHT / 2, BenchmarkField.BOTTOM / 2);
+
+		_sprites = new MovingSprite[numTurkeys];
+		for(int i = 0; i < numTurkeys; i++) {
+			MovingSprite sprite = new MovingSprite(0, 0, 20);
+			sprite.setBounds(BenchmarkField.TOP, BenchmarkField.RIGHT, BenchmarkField.BOTTOM, BenchmarkField.LEFT);
+			sprite.setX(sprite.getRandomXPointWithinBounds());
+			sprite.setY(sprite.getRandomYPointWithinBounds());
+			sprite.setTarget(sprite.getRandomXPointWithinBounds(), sprite.getRandomYPointWithinBounds());
+			_sprites[i] = sprite;
+		}
+
+		// every turkey carries its own animations, all sharing the same cached frames
+		_animations = new AnimatedImage[numTurkeys];
+		for(int i = 0; i < numTurkeys; i++) {
+			AnimatedImage anim = new AnimatedImage(500 + rand.nextInt(1000));
+			anim.addImage("images/turkey_S.png");
+			anim.addImage("images/turkey_S2.png");
+			anim.addImage("images/turkey_S3.png");
+			_animations[i] = anim;
+		}
+	}
+
+	@Benchmark
+	public void movingSpriteMove() {
+		for(int i = 0; i < _sprites.length; i++) {
+			MovingSprite sprite = _sprites[i];
+			sprite.move(BenchmarkField.FRAME_TIME);
+
+			// keep them walking
+			if(sprite.getDistanceSquaredFrom(sprite._targetX, sprite._targetY) < 2 * 2) {
+				sprite.setTarget(sprite.getRandomXPointWithinBounds(), sprite.getRandomYPointWithinBounds());
+			}
+		}
+	}
+
+	@Benchmark
+	public float spriteGetDistanceFrom() {
+		float total = 0;
+		for(int i = 0; i < _sprites.length; i++) {
+			total += _sprites[i].getDistanceFrom(_farmer);
+		}
+		return total;
+	}
+
+	@Benchmark
+	public float spriteGetDistanceSquaredFrom() {
+		float total = 0;
+		for(int i = 0; i < _sprites.length; i++) {
+			total += _sprites[i].getDistanceSquaredFrom(_farmer);
+		}
+		return total;
+	}
+
+	@Benchmark
+	public void animatedImageGetImage(Blackhole blackhole) {
+		for(int i = 0; i < _animations.length; i++) {
+			blackhole.consume(_animations[i].getImage());
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/**
+ * TurkeyBenchmarks.java
+ *
+ * Benchmarks for the turkey and farmer behavior that runs against the
+ * whole flock: a frame's worth of healthy turkey moves, a frame's worth
+ * of zombie moves, and the farmer trying to catch a turkey.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TurkeyBenchmarks {
+
+	@Param({"10", "100", "1000", "10000"})
+	public int numTurkeys;
+
+	private BenchmarkField _healthyField;
+	private BenchmarkField _zombieField;
+	private ArrayList<Turkey> _zombies;
+	private ArrayList<Turkey> _allTurkeys;
+
+	// turkeys drift, get caught and get infected, so start every iteration fresh
+	@Setup(Level.Iteration)
+	public void setUp() {
+		_healthyField = new BenchmarkField(numTurkeys, 0);
+
+		// one in five turkeys is a zombie hunting the rest
+		_zombieField = new BenchmarkField(numTurkeys, 0.2f);
+		_zombies = new ArrayList<>();
+		for(Turkey turkey : _zombieField.turkeys.asList()) {
+			if(turkey.isZombie()) {
+				_zombies.add(turkey);
+			}
+		}
+		_allTurkeys = new ArrayList<>(_healthyField.turkeys.asList());
+	}
+
+	@Benchmark
+	public void turkeyMoveHealthy() {
+		TurkeyRegistry turkeys = _healthyField.turkeys;
+		_healthyField.rebuild();
+		for(int i = 0; i < turkeys.size(); i++) {
+			turkeys.get(i).move(BenchmarkField.FRAME_TIME);
+		}
+		_healthyField.population.applyRequests(_healthyField.farmer);
+	}
+
+	@Benchmark
+	public void turkeyMoveZombie() {
+		_zombieField.rebuild();
+		for(int i = 0; i < _zombies.size(); i++) {
+			_zombies.get(i).move(BenchmarkField.FRAME_TIME);
+		}
+		_zombieField.population.applyRequests(_zombieField.farmer);
+	}
+
+	/**
+	 * Try to catch a turkey from the middle of the field. Whatever gets caught
+	 * is put back afterwards so every call sees the same flock.
+	 */
+	@Benchmark
+	public int farmerTryToCatchATurkey() {
+		Farmer farmer = _healthyField.farmer;
+		TurkeyRegistry turkeys = _healthyField.turkeys;
+		int numTurkeys = turkeys.size();
+
+		farmer.tryToCatchATurkey();
+
+		if(turkeys.size() != numTurkeys) {
+			for(int i = 0; i < _allTurkeys.size(); i++) {
+				Turkey turkey = _allTurkeys.get(i);
+				if(turkey.getHandle() == TurkeyRegistry.NO_HANDLE) {
+					turkeys.add(turkey);
+					_healthyField.states.add(turkey);
+				}
+			}
+		}
+		return farmer.getNumTurkeysCaught();
+	}
+}
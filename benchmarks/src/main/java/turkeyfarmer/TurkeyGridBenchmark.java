@@ -0,0 +1,109 @@
+/**
+ * TurkeyGridBenchmark.java
+ *
+ * Measures how the cost of a single game tick grows with the number of
+ * turkeys on the field. The field is scaled with the population so the
+ * number of turkeys per grid cell stays the same as in a normal game;
+ * with the spatial grid in place the time spent per turkey should stay
+ * roughly flat from 30 turkeys all the way up to 50,000.
+ *
+ * Run with: java -Djava.awt.headless=true -cp benchmarks/target/benchmarks.jar turkeyfarmer.TurkeyGridBenchmark
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.util.Random;
+
+public class TurkeyGridBenchmark {
+
+	// a regular game holds up to 30 turkeys on a 600x600 field
+	private static final int BASE_POPULATION = 30;
+	private static final int BASE_FIELD_SIZE = 600;
+	private static final int FIELD_MARGIN = 50;
+	private static final int CELL_SIZE = 50;
+
+	private static final int[] POPULATIONS = {30, 100, 1000, 10000, 50000};
+
+	public static void main(String[] args) {
+
+		System.out.println("turkeys, field size, ms per tick, ns per turkey");
+
+		for(int i = 0; i < POPULATIONS.length; i++) {
+			int numTurkeys = POPULATIONS[i];
+
+			// keep the density the same as a regular game
+			int fieldSize = (int) (BASE_FIELD_SIZE * Math.sqrt((double) numTurkeys / BASE_POPULATION));
+
+			// run enough ticks to get a stable number without taking forever
+			int numTicks = Math.max(20, 2000000 / numTurkeys);
+
+			double nanosPerTick = _timeTicks(numTurkeys, fieldSize, numTicks);
+
+			System.out.printf("%d, %d, %.3f, %.1f%n", numTurkeys, fieldSize,
+					nanosPerTick / 1e6, nanosPerTick / numTurkeys);
+		}
+	}
+
+	private static double _timeTicks(int numTurkeys, int fieldSize, int numTicks) {
+
+		int top = FIELD_MARGIN;
+		int left = FIELD_MARGIN;
+		int right = FIELD_MARGIN + fieldSize;
+		int bottom = FIELD_MARGIN + fieldSize;
+		Random rand = new Random(42);
+
+		TurkeyRegistry turkeys = new TurkeyRegistry(numTurkeys, null);
+		SimulationClock clock = new SimulationClock();
+		TurkeyPopulation population = new TurkeyPopulation();
+		TurkeyGrid grid = new TurkeyGrid(population, top, right, bottom, left, CELL_SIZE);
+
+		Farmer farmer = new Farmer(left + fieldSize / 2, top + fieldSize / 2, 55);
+		farmer.setBounds(top, right, bottom, left);
+		farmer.see(turkeys);
+		farmer.see(grid);
+
+		for(int i = 0; i < numTurkeys; i++) {
+			Turkey turkey = new Turkey(20 * (float) (.7 + rand.nextFloat() * .6));
+			turkey.see(farmer);
+			turkey.see(grid);
+			turkey.see(clock);
+			turkey.setRandom(new Random(rand.nextLong()));
+			turkey.setBounds(top, right, bottom, left);
+
+			// spread them over the whole field rather than just the edges
+			turkey.setX(left + rand.nextFloat() * fieldSize);
+			turkey.setY(top + rand.nextFloat() * fieldSize);
+
+			// about one in ten is a zombie straight away so the infection path is exercised
+			if(rand.nextFloat() < 0.1) {
+				turkey.infect(-1);
+			}
+			turkeys.add(turkey);
+		}
+
+		// warm up
+		for(int i = 0; i < numTicks / 2; i++) {
+			_tick(farmer, turkeys, population, grid);
+		}
+
+		long start = System.nanoTime();
+		for(int i = 0; i < numTicks; i++) {
+			_tick(farmer, turkeys, population, grid);
+		}
+		return (double) (System.nanoTime() - start) / numTicks;
+	}
+
+	private static void _tick(Farmer farmer, TurkeyRegistry turkeys, TurkeyPopulation population, TurkeyGrid grid) {
+		farmer.move();
+		population.load(turkeys);
+		grid.rebuild();
+		for(int i = 0; i < turkeys.size(); i++) {
+			turkeys.get(i).move();
+		}
+		population.applyRequests(farmer);
+	}
+}
@@ -0,0 +1,226 @@
+/**
+ * ResLoader.java
+ * 
+ * Resource loader used by other classes for loading images relative 
+ * to the resources folder. This allows for packaging of resources such as images
+ * or audio files into jar files so that they can still be referenced
+ * properly at execution time, removing the need to download images
+ * along with the executable jar file.
+ *
+ * Images are decoded only once per resource path and then handed out
+ * from a process-wide cache, so building a new sprite costs no I/O once
+ * its images have been seen. The cache is safe to use from any thread,
+ * can optionally evict the least recently used images when it grows past
+ * a configured size, and keeps hit/miss and decode time counters.
+ *
+ * Decoded images are copied into the screen's own pixel format before they
+ * are cached. Java2D can then copy them straight to the screen (or keep
+ * them in video memory) instead of converting their pixels on every draw.
+ * 
+ * Note / Full Disclosure: We did not come up with this idea on our own. Credit for the
+ * original idea goes to the collective internet, and the sites resulting 
+ * from googling "Embed BufferedImage in jar file" 
+ *
+ * @authors Jerome Dane, Sandra Poulos 
+ * @compids jd7yj, sp5uk 
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+
+public class ResLoader {
+
+	static ResLoader rl = new ResLoader();
+	
+	// maximum number of decoded images to keep around (0 means never evict)
+	private static int _maxCachedImages = 0;
+
+	// decoded images keyed by resource path, kept in least recently used order
+	private static final LinkedHashMap<String, BufferedImage> _cache =
+			new LinkedHashMap<String, BufferedImage>(64, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+			return _maxCachedImages > 0 && size() > _maxCachedImages;
+		}
+	};
+
+	// cache statistics
+	private static long _hits = 0;
+	private static long _misses = 0;
+	private static long _decodeTimeInNanos = 0;
+
+	/**
+	 * Get a decoded image, reading it from disk (or the jar file) only
+	 * the first time it is requested
+	 *
+	 * @param fileName - Path of the image relative to this file
+	 * @return The decoded image, or null if it could not be loaded
+	 */
+	public static BufferedImage getImage(String fileName) {
+		
+		synchronized(_cache) {
+
+			BufferedImage image = _cache.get(fileName);
+			if(image != null) {
+				_hits++;
+				return image;
+			}
+			_misses++;
+
+			// decode while holding the lock so each image is only ever read once
+			image = _decodeImage(fileName);
+			if(image != null) {
+				_cache.put(fileName, image);
+			}
+			return image;
+		}
+	}
+
+	/**
+	 * Set how many decoded images the cache may hold before the least
+	 * recently used ones are evicted
+	 *
+	 * @param maxCachedImages - Maximum number of images, or 0 to never evict
+	 */
+	public static void setMaxCachedImages(int maxCachedImages) {
+		synchronized(_cache) {
+			_maxCachedImages = maxCachedImages;
+
+			// trim anything over the new limit, oldest first
+			while(_maxCachedImages > 0 && _cache.size() > _maxCachedImages) {
+				_cache.remove(_cache.keySet().iterator().next());
+			}
+		}
+	}
+
+	/**
+	 * Drop a single image from the cache so it will be decoded again next time
+	 *
+	 * @param fileName
+	 */
+	public static void evictImage(String fileName) {
+		synchronized(_cache) {
+			_cache.remove(fileName);
+		}
+	}
+
+	/**
+	 * Drop every cached image
+	 */
+	public static void clearCache() {
+		synchronized(_cache) {
+			_cache.clear();
+		}
+	}
+
+	public static int getNumCachedImages() {
+		synchronized(_cache) {
+			return _cache.size();
+		}
+	}
+
+	public static long getCacheHits() {
+		synchronized(_cache) {
+			return _hits;
+		}
+	}
+
+	public static long getCacheMisses() {
+		synchronized(_cache) {
+			return _misses;
+		}
+	}
+
+	/**
+	 * Get the total time spent decoding images that weren't in the cache
+	 *
+	 * @return Decode time in nanoseconds
+	 */
+	public static long getDecodeTimeInNanos() {
+		synchronized(_cache) {
+			return _decodeTimeInNanos;
+		}
+	}
+
+	/**
+	 * Copy an image into the pixel format of the default screen so it can
+	 * be drawn without being converted. Without a screen (headless) the
+	 * image is copied into the integer format BufferedImages draw fastest.
+	 *
+	 * @param image
+	 * @return The compatible image, or the same image if it already was one
+	 */
+	public static BufferedImage toCompatibleImage(BufferedImage image) {
+		if(image == null) {
+			return null;
+		}
+
+		BufferedImage compatible;
+		if(GraphicsEnvironment.isHeadless()) {
+			int type = image.getTransparency() == Transparency.OPAQUE ?
+					BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE;
+			if(image.getType() == type) {
+				return image;
+			}
+			compatible = new BufferedImage(image.getWidth(), image.getHeight(), type);
+		} else {
+			GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+					.getDefaultScreenDevice().getDefaultConfiguration();
+			if(image.getColorModel().equals(config.getColorModel(image.getTransparency()))) {
+				return image;
+			}
+			compatible = config.createCompatibleImage(image.getWidth(), image.getHeight(), image.getTransparency());
+		}
+
+		Graphics2D g = compatible.createGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		return compatible;
+	}
+
+	private static BufferedImage _decodeImage(String fileName) {
+		long start = System.nanoTime();
+		FlightEvents.ImageDecoded event = null;
+		if(FlightEvents.IMAGE_DECODED.isEnabled()) {
+			event = new FlightEvents.ImageDecoded();
+			event.begin();
+		}
+		BufferedImage image = null;
+		try {
+			// file names are relative to the resources folder, not this class's package
+			image = toCompatibleImage(ImageIO.read(rl.getClass().getResource("/" + fileName)));
+			return image;
+		} catch (Exception e) {
+			System.err.println("Unable to find image file " + fileName);
+			return null;
+		} finally {
+			_decodeTimeInNanos += System.nanoTime() - start;
+			if(event != null) {
+				event.end();
+				if(event.shouldCommit()) {
+					event.fileName = fileName;
+					if(image != null) {
+						event.width = image.getWidth();
+						event.height = image.getHeight();
+						event.size = (long) image.getWidth() * image.getHeight() * 4;
+					}
+					event.commit();
+				}
+			}
+		}
+	}
+	
+}
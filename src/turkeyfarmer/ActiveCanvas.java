@@ -0,0 +1,288 @@
+/**
+ * ActiveCanvas.java
+ *
+ * An alternative to SimpleCanvas that draws the TurkeyField itself instead
+ * of waiting for Swing to call paintComponent(). A dedicated render thread
+ * advances and draws the game into a BufferStrategy (page flipping when the
+ * graphics card supports it) and then shows the finished frame. The loop can
+ * optionally be capped to a maximum number of frames per second.
+ *
+ * Mouse events still arrive on the Swing event thread, so they are held
+ * and handed to the TurkeyField on the render thread between frames. Only
+ * the latest move is kept, since that's where the farmer is headed, and
+ * past MAX_CLICKS_PER_FRAME clicks the rest are dropped. Both wait in
+ * fields made up front, so holding on to them makes no garbage.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.ImageCapabilities;
+import java.awt.Toolkit;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.image.BufferStrategy;
+
+import javax.swing.JFrame;
+
+public class ActiveCanvas extends Canvas implements Runnable, MouseListener,
+		MouseMotionListener {
+
+	private static final long serialVersionUID = 1L;
+
+	// most clicks handed to the TurkeyField in one frame
+	public static final int MAX_CLICKS_PER_FRAME = 16;
+
+	// width and height of the window
+	private int width;
+	private int height;
+
+	// a link back to the TurkeyField for updating it
+	private TurkeyField simulator;
+
+	// smallest time between two frames in nanoseconds (0 for no cap)
+	private long minFrameTime;
+
+	// mouse actions waiting to be handed to the TurkeyField, locked by
+	// pendingLock: the latest move, whether it came after the clicks, and
+	// the clicks in order ({x, y, button} each)
+	private final Object pendingLock = new Object();
+	private boolean hasPendingMove;
+	private float pendingMoveX, pendingMoveY;
+	private boolean pendingMoveIsLast;
+	private float[] pendingClicks = new float[MAX_CLICKS_PER_FRAME * 3];
+	private int numPendingClicks;
+
+	// only the render thread uses this
+	private float[] clicks = new float[MAX_CLICKS_PER_FRAME * 3];	// copied out of pendingClicks
+
+	private volatile boolean running;
+
+	/**
+	 * Constructor for the ActiveCanvas
+	 *
+	 * @param width_
+	 *            width of the window
+	 * @param height_
+	 *            height of the window
+	 * @param simulator_
+	 *            link back to the TurkeyField
+	 * @param maxFps_
+	 *            maximum frames per second, or 0 to draw as fast as possible
+	 */
+	public ActiveCanvas(int width_, int height_, TurkeyField simulator_, int maxFps_) {
+		width = width_;
+		height = height_;
+		simulator = simulator_;
+		minFrameTime = maxFps_ > 0 ? 1000000000L / maxFps_ : 0;
+		setPreferredSize(new Dimension(width, height));
+
+		// we draw everything ourselves
+		setIgnoreRepaint(true);
+	}
+
+	/**
+	 * Called to start the game
+	 */
+	public void setupAndDisplay() {
+		JFrame f = new JFrame();
+		f.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		f.setIgnoreRepaint(true);
+		f.add(this);
+		f.pack();
+		f.setResizable(false);
+		f.setLocation(0, 0);
+		f.setVisible(true);
+		this.addMouseListener(this);
+		this.addMouseMotionListener(this);
+
+		_createBufferStrategy();
+
+		running = true;
+		Thread renderThread = new Thread(this, "TurkeyField render loop");
+		renderThread.setDaemon(true);
+		renderThread.start();
+	}
+
+	/**
+	 * Stop the render loop after the current frame
+	 */
+	public void stop() {
+		running = false;
+	}
+
+	/**
+	 * The render loop. Each pass hands over any waiting mouse actions,
+	 * advances and draws the game into the back buffer, shows it, and then
+	 * waits out the rest of the frame if a frame cap is set.
+	 */
+	public void run() {
+		BufferStrategy strategy = getBufferStrategy();
+		long lastTime = System.nanoTime();
+		long nextFrameTime = lastTime;
+		boolean first = true;
+
+		while (running) {
+			FrameProfiler profiler = simulator.getFrameProfiler();
+			if (profiler != null) {
+				profiler.beginFrame();
+			}
+			long now = System.nanoTime();
+			float elapsedTime = first ? 0.0f : (float) (now - lastTime) / 1e9f;
+			lastTime = now;
+			first = false;
+
+			_handleMouseActions();
+
+			// the game only moves once per frame, even if the buffer has to be redrawn
+			simulator.advance(elapsedTime);
+
+			do {
+				do {
+					Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+					try {
+						// the TurkeyField covers the whole canvas, so there's no need to clear it first
+						g.setColor(Color.white);
+						simulator.render(g);
+					} finally {
+						g.dispose();
+					}
+				} while (strategy.contentsRestored());
+				if (profiler != null) {
+					profiler.begin(FramePhase.PRESENT);
+				}
+				strategy.show();
+			} while (strategy.contentsLost());
+
+			// make sure the frame actually reaches the screen on systems that buffer drawing
+			Toolkit.getDefaultToolkit().sync();
+			if (profiler != null) {
+				profiler.end();
+			}
+
+			if (minFrameTime > 0) {
+				nextFrameTime += minFrameTime;
+				long sleepTime = nextFrameTime - System.nanoTime();
+				if (sleepTime > 0) {
+					try {
+						Thread.sleep(sleepTime / 1000000L, (int) (sleepTime % 1000000L));
+					} catch (InterruptedException e) {
+						running = false;
+					}
+				} else {
+					// we're running behind, don't try to catch up with a burst of frames
+					nextFrameTime = System.nanoTime();
+				}
+			} else {
+				Thread.yield();
+			}
+		}
+	}
+
+	/**
+	 * Use page flipping if the graphics card supports it, otherwise fall
+	 * back to whatever double buffering AWT can give us
+	 */
+	private void _createBufferStrategy() {
+		try {
+			createBufferStrategy(2, new BufferCapabilities(new ImageCapabilities(true),
+					new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED));
+		} catch (AWTException e) {
+			createBufferStrategy(2);
+		}
+	}
+
+	/**
+	 * Hand the TurkeyField what the mouse did since the last frame (render
+	 * thread)
+	 */
+	private void _handleMouseActions() {
+		boolean hasMove;
+		float moveX, moveY;
+		boolean moveIsLast;
+		int numClicks;
+		synchronized (pendingLock) {
+			hasMove = hasPendingMove;
+			moveX = pendingMoveX;
+			moveY = pendingMoveY;
+			moveIsLast = pendingMoveIsLast;
+			numClicks = numPendingClicks;
+			System.arraycopy(pendingClicks, 0, clicks, 0, numClicks * 3);
+			hasPendingMove = false;
+			numPendingClicks = 0;
+		}
+
+		// the TurkeyField is only told outside the lock, so the event thread never waits on it
+		if (hasMove && !moveIsLast) {
+			simulator.mouseAction(moveX, moveY, -1);
+		}
+		for (int i = 0; i < numClicks * 3; i += 3) {
+			simulator.mouseAction(clicks[i], clicks[i + 1], (int) clicks[i + 2]);
+		}
+		if (hasMove && moveIsLast) {
+			simulator.mouseAction(moveX, moveY, -1);
+		}
+	}
+
+	/**
+	 * Keep a mouse action until the next frame (Swing event thread)
+	 */
+	private void _holdMouseAction(MouseEvent e, int button) {
+		synchronized (pendingLock) {
+			if (button == -1) {
+				hasPendingMove = true;
+				pendingMoveX = e.getX();
+				pendingMoveY = e.getY();
+				pendingMoveIsLast = true;
+			} else if (numPendingClicks < MAX_CLICKS_PER_FRAME) {
+				int i = numPendingClicks * 3;
+				pendingClicks[i] = e.getX();
+				pendingClicks[i + 1] = e.getY();
+				pendingClicks[i + 2] = button;
+				numPendingClicks++;
+				pendingMoveIsLast = false;
+			}
+		}
+	}
+
+	/**
+	 * Whenever the mouse is moved on the TurkeyField, this method gets called.
+	 */
+	public void mouseMoved(MouseEvent e) {
+		_holdMouseAction(e, -1);
+	}
+
+	/**
+	 * Whenever the mouse is clicked on the TurkeyField, this method gets
+	 * called.
+	 */
+	public void mouseClicked(MouseEvent e) {
+		_holdMouseAction(e, e.getButton());
+	}
+
+	public void mouseEntered(MouseEvent e) {
+	}
+
+	public void mouseExited(MouseEvent e) {
+	}
+
+	public void mousePressed(MouseEvent e) {
+	}
+
+	public void mouseReleased(MouseEvent e) {
+	}
+
+	public void mouseDragged(MouseEvent e) {
+	}
+
+}
@@ -5,11 +5,17 @@
  * image in the sequence based on the time it should take
  * for the animation to complete.
  *
+ * Images are kept as SpriteAtlas frames. Images that were packed into the
+ * character atlas are drawn from there, anything else gets a frame of its
+ * own covering the whole image.
+ *
  * @authors Jerome Dane, Sandra Poulos 
  * @compids jd7yj, sp5uk 
  * @lab 1111
  */
 
+package turkeyfarmer;
+
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.ArrayList;
@@ -18,7 +24,7 @@ import javax.imageio.ImageIO;
 
 
 public class AnimatedImage {
-	private ArrayList<BufferedImage> _images;
+	private ArrayList<SpriteAtlas.Frame> _frames;
 	private long _startTime;
 	private int _durationInMs; 
 	
@@ -27,8 +33,8 @@ public class AnimatedImage {
 		// set up a start time for use in animation speed
 		_startTime = System.currentTimeMillis();
 		
-		// initialize a bucket for images
-		_images = new ArrayList<>();
+		// initialize a bucket for frames
+		_frames = new ArrayList<>();
 		
 		// set default amimation duration in milliseconds 
 		_durationInMs = 1000;
@@ -45,10 +51,19 @@ public class AnimatedImage {
 	 * Add an image onto the animation sequence
 	 */
 	public void addImage(BufferedImage image) {
-		_images.add(image);
+		if(image != null) {
+			_frames.add(new SpriteAtlas.Frame(image));
+		}
 	}
 	public void addImage(String fileName) {
-		addImage(prepareImage(fileName));
+		
+		// use the packed copy of the image if there is one
+		SpriteAtlas.Frame frame = SpriteAtlas.getCharacters().getFrame(fileName);
+		if(frame != null) {
+			_frames.add(frame);
+		} else {
+			addImage(prepareImage(fileName));
+		}
 	}
 	
 	/**
@@ -81,10 +96,8 @@ public class AnimatedImage {
 	 * @return
 	 */
 	public BufferedImage getImage(int index) {
-		if(index < _images.size()) {
-			return _images.get(index);
-		} 
-		return null;
+		SpriteAtlas.Frame frame = getFrame(index);
+		return frame == null ? null : frame.getImage();
 	}
 	
 	/**
@@ -93,26 +106,59 @@ public class AnimatedImage {
 	 * @return
 	 */
 	public BufferedImage getImage() {
+		SpriteAtlas.Frame frame = getFrame();
+		return frame == null ? null : frame.getImage();
+	}
+	
+	/**
+	 * Get a frame by index
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public SpriteAtlas.Frame getFrame(int index) {
+		if(index < _frames.size()) {
+			return _frames.get(index);
+		} 
+		return null;
+	}
+	
+	/**
+	 * Get the current frame
+	 * 
+	 * @return
+	 */
+	public SpriteAtlas.Frame getFrame() {
+		return getFrameAt(System.currentTimeMillis() - _startTime);
+	}
+	
+	/**
+	 * Get the frame shown a given time into the animation. Use this to run
+	 * the animation off a clock other than the wall clock.
+	 * 
+	 * @param ms - Milliseconds since the animation started
+	 * @return
+	 */
+	public SpriteAtlas.Frame getFrameAt(long ms) {
 		
-		// create a container image
-		BufferedImage image = null;
+		// create a container frame
+		SpriteAtlas.Frame frame = null;
 		
 		// figure out how many MS per animation image
-		long msPerImage = _durationInMs / _images.size();
+		long msPerImage = _durationInMs / _frames.size();
 		
 		// figure out how far we are into the animation cycle
-		long ms = System.currentTimeMillis() - _startTime;
 		long msInCycle = ms % _durationInMs;
 
 		// check to see which image we should use
-		for(int i = 0; i < _images.size(); i++) {
+		for(int i = 0; i < _frames.size(); i++) {
 			if(msInCycle < msPerImage * (i + 1)) {
-				image = _images.get(i);
+				frame = _frames.get(i);
 				break;
 			}
 		}
 		
-		return image;
+		return frame;
 	}
 	
 }
@@ -0,0 +1,131 @@
+/**
+ * BackgroundLayer.java
+ *
+ * The parts of the field that hardly ever change (the grass, the fence
+ * and the title) drawn once into a VolatileImage and then copied to the
+ * screen in a single blit every frame (or just the parts of the screen
+ * that need redrawing, see DirtyRegionRenderer). The layer is only drawn again when
+ * the title switches between the normal and zombie versions, or when the
+ * graphics card throws the image's contents away (which can happen at any
+ * time, like when the screen mode changes).
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.VolatileImage;
+
+public class BackgroundLayer {
+
+	// color the field is filled with under the background image
+	private static final Color FIELD_COLOR = new Color(34, 139, 34);
+
+	private int _width, _height;
+	private Sprite _background;
+	private Sprite _title;
+	private Sprite _titleZombies;
+	private VolatileImage _image;
+	private Graphics2D _imageGraphics;	// kept so rebuilding doesn't make a new one
+	private boolean _showingZombieTitle;
+	private int _numRebuilds;
+
+	/**
+	 * Create a layer out of the background and both titles
+	 *
+	 * @param width
+	 * @param height
+	 * @param background
+	 * @param title - Title shown while there are no zombies
+	 * @param titleZombies - Title shown once there are zombies
+	 */
+	public BackgroundLayer(int width, int height, Sprite background, Sprite title, Sprite titleZombies) {
+		_width = width;
+		_height = height;
+		_background = background;
+		_title = title;
+		_titleZombies = titleZombies;
+	}
+
+	/**
+	 * Copy the layer onto a graphic, building it first if it isn't ready
+	 *
+	 * @param g
+	 * @param zombieTitle - Show the zombie version of the title?
+	 */
+	public void draw(Graphics2D g, boolean zombieTitle) {
+		draw(g, zombieTitle, 0, 0, _width, _height);
+	}
+
+	/**
+	 * Copy a rectangle of the layer onto the same place on a graphic,
+	 * building the layer first if it isn't ready
+	 *
+	 * @param g
+	 * @param zombieTitle - Show the zombie version of the title?
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 */
+	public void draw(Graphics2D g, boolean zombieTitle, int x, int y, int width, int height) {
+
+		GraphicsConfiguration config = g.getDeviceConfiguration();
+
+		// the contents can be lost while we're copying them, so keep going until they aren't
+		do {
+			boolean rebuild = (zombieTitle != _showingZombieTitle);
+
+			int status = _image == null ? VolatileImage.IMAGE_INCOMPATIBLE : _image.validate(config);
+			if(status == VolatileImage.IMAGE_INCOMPATIBLE) {
+				// first time, or the graphic is on a different screen now
+				if(_image != null) {
+					_imageGraphics.dispose();
+					_image.flush();
+				}
+				_image = config.createCompatibleVolatileImage(_width, _height);
+				_imageGraphics = _image.createGraphics();
+				rebuild = true;
+			} else if(status == VolatileImage.IMAGE_RESTORED) {
+				// the surface came back but whatever was on it is gone
+				rebuild = true;
+			}
+
+			if(rebuild) {
+				_paint(zombieTitle);
+			}
+
+			g.drawImage(_image, x, y, x + width, y + height, x, y, x + width, y + height, null);
+
+		} while(_image.contentsLost());
+	}
+
+	/**
+	 * Get how many times the layer has been drawn from scratch
+	 *
+	 * @return
+	 */
+	public int getNumRebuilds() {
+		return _numRebuilds;
+	}
+
+	private void _paint(boolean zombieTitle) {
+		Graphics2D g = _imageGraphics;
+		g.setColor(FIELD_COLOR);
+		g.fillRect(0, 0, _width, _height);
+		_background.draw(g);
+		if(zombieTitle) {
+			_titleZombies.draw(g);
+		} else {
+			_title.draw(g);
+		}
+
+		_showingZombieTitle = zombieTitle;
+		_numRebuilds++;
+	}
+}
@@ -0,0 +1,138 @@
+/**
+ * CachedText.java
+ *
+ * A line of text that is drawn into an image once and then blitted every
+ * frame, instead of being laid out and rasterized by drawString() every
+ * time. The image is only redrawn when the text actually changes, and the
+ * last few lines drawn are kept, so a message that comes and goes (like
+ * the farmer getting tired and getting his breath back) is only ever
+ * drawn once.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+public class CachedText {
+
+	private Font _font;
+	private Color _color;
+	private FontMetrics _metrics;
+	private String _text;
+	private BufferedImage _image;
+	private int _ascent;
+	private int _width;
+	private int _numRenders;
+
+	// lines drawn before, so drawing one again doesn't make a new image
+	private HashMap<String, BufferedImage> _images = new HashMap<>();
+	private int _maxNumImages;
+
+	public CachedText(Font font, Color color) {
+		this(font, color, 32);
+	}
+
+	/**
+	 * Create text that keeps a given number of lines it has drawn
+	 *
+	 * @param font
+	 * @param color
+	 * @param maxNumImages - Lines to keep, 1 for text that hardly ever says the same thing twice
+	 */
+	public CachedText(Font font, Color color, int maxNumImages) {
+		_font = font;
+		_color = color;
+		_maxNumImages = Math.max(1, maxNumImages);
+
+		// measure text with a throwaway graphic, once
+		BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = scratch.createGraphics();
+		_metrics = g.getFontMetrics(_font);
+		_ascent = _metrics.getAscent();
+		g.dispose();
+	}
+
+	/**
+	 * Change the text, redrawing the image only if it's different
+	 *
+	 * @param text
+	 */
+	public void setText(String text) {
+		if(text.equals(_text)) {
+			return;
+		}
+		_text = text;
+		_width = _metrics.stringWidth(text);
+
+		if(_width == 0) {
+			// nothing to draw
+			_image = null;
+			return;
+		}
+
+		_image = _images.get(text);
+		if(_image == null) {
+			if(_images.size() >= _maxNumImages) {
+				// text that keeps changing, so start over rather than keep everything
+				_images.clear();
+			}
+			_image = ResLoader.toCompatibleImage(_renderText(text, _width, _ascent + _metrics.getDescent()));
+			_images.put(text, _image);
+			_numRenders++;
+		}
+	}
+
+	public String getText() {
+		return _text;
+	}
+
+	/**
+	 * Get how far drawString() would have moved along drawing the text
+	 *
+	 * @return
+	 */
+	public int getWidth() {
+		return _width;
+	}
+
+	/**
+	 * Draw the text the same place drawString() would put it
+	 *
+	 * @param g
+	 * @param x - Left edge of the text
+	 * @param y - Baseline of the text
+	 */
+	public void draw(Graphics2D g, int x, int y) {
+		if(_image != null) {
+			g.drawImage(_image, x, y - _ascent, null);
+		}
+	}
+
+	/**
+	 * Get how many times the text has been drawn into its image
+	 *
+	 * @return
+	 */
+	public int getNumRenders() {
+		return _numRenders;
+	}
+
+	private BufferedImage _renderText(String text, int width, int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setFont(_font);
+		g.setColor(_color);
+		g.drawString(text, 0, _ascent);
+		g.dispose();
+		return image;
+	}
+}
@@ -0,0 +1,188 @@
+/**
+ * Camera.java
+ *
+ * Decides which part of the field shows up in the window. The view is a
+ * fixed rectangle of the screen, and the camera slides over the field
+ * behind it to keep the farmer in the middle, stopping at the edges of the
+ * field. On a field that fits in the view the camera never moves, so field
+ * and screen coordinates are the same, just like in the original game.
+ *
+ * Anything drawn on the field is drawn in field coordinates onto a
+ * graphic translated by getOffsetX() and getOffsetY(). Sprites the camera
+ * can't see (canSee()) don't need to be drawn at all.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public class Camera {
+
+	// where the view is on the screen
+	private int _viewLeft, _viewTop, _viewWidth, _viewHeight;
+
+	// the part of the field the camera can look at
+	private int _fieldTop, _fieldRight, _fieldBottom, _fieldLeft;
+
+	// the point on the field at the top left of the view
+	private int _left, _top;
+
+	/**
+	 * Create a camera looking at the top left of a field. The view is
+	 * shrunk to the size of the field if the field is smaller than it.
+	 *
+	 * @param viewLeft - Left of the view on the screen
+	 * @param viewTop - Top of the view on the screen
+	 * @param viewWidth - Most the view can show across
+	 * @param viewHeight - Most the view can show down
+	 * @param fieldTop
+	 * @param fieldRight
+	 * @param fieldBottom
+	 * @param fieldLeft
+	 */
+	public Camera(int viewLeft, int viewTop, int viewWidth, int viewHeight,
+			int fieldTop, int fieldRight, int fieldBottom, int fieldLeft) {
+		_viewLeft = viewLeft;
+		_viewTop = viewTop;
+		_viewWidth = Math.min(viewWidth, fieldRight - fieldLeft);
+		_viewHeight = Math.min(viewHeight, fieldBottom - fieldTop);
+		_fieldTop = fieldTop;
+		_fieldRight = fieldRight;
+		_fieldBottom = fieldBottom;
+		_fieldLeft = fieldLeft;
+		_left = fieldLeft;
+		_top = fieldTop;
+	}
+
+	/**
+	 * Center the view on a sprite, as far as the edges of the field allow
+	 *
+	 * @param sprite
+	 */
+	public void follow(Sprite sprite) {
+		centerOn(sprite.getX(), sprite.getY());
+	}
+
+	/**
+	 * Center the view on a point on the field, as far as the edges of the
+	 * field allow
+	 *
+	 * @param x
+	 * @param y
+	 */
+	public void centerOn(float x, float y) {
+		int left = (int) x - _viewWidth / 2;
+		int top = (int) y - _viewHeight / 2;
+		_left = Math.max(_fieldLeft, Math.min(_fieldRight - _viewWidth, left));
+		_top = Math.max(_fieldTop, Math.min(_fieldBottom - _viewHeight, top));
+	}
+
+	/**
+	 * Is the field too big to fit in the view?
+	 *
+	 * @return
+	 */
+	public boolean canScroll() {
+		return _fieldRight - _fieldLeft > _viewWidth || _fieldBottom - _fieldTop > _viewHeight;
+	}
+
+	/**
+	 * Would any of a sprite show up in the view if it was drawn centered
+	 * around its x,y point?
+	 *
+	 * @param sprite
+	 * @param margin - Extra pixels around the image to count (for labels and such)
+	 * @return
+	 */
+	public boolean canSee(Sprite sprite, int margin) {
+		if(sprite.getImage() == null) {
+			return false;
+		}
+		float x = sprite.getX();
+		float y = sprite.getY();
+		int halfWidth = sprite.getWidth() / 2 + margin;
+		int halfHeight = sprite.getHeight() / 2 + margin;
+		return x + halfWidth >= _left && x - halfWidth <= _left + _viewWidth
+				&& y + halfHeight >= _top && y - halfHeight <= _top + _viewHeight;
+	}
+
+	/**
+	 * Turn an x coordinate on the screen into one on the field. Points in
+	 * the margin around the view are put the same distance past that edge
+	 * of the field, so the farmer heads for the edge the mouse is past, and
+	 * a click on the message under the field is below the field, just like
+	 * on a field that fits in the view.
+	 *
+	 * @param x
+	 * @return
+	 */
+	public float toFieldX(float x) {
+		if(x < _viewLeft) {
+			return _fieldLeft - (_viewLeft - x);
+		} else if(x > _viewLeft + _viewWidth) {
+			return _fieldRight + (x - _viewLeft - _viewWidth);
+		}
+		return x + _left - _viewLeft;
+	}
+
+	/**
+	 * Turn a y coordinate on the screen into one on the field (see toFieldX())
+	 *
+	 * @param y
+	 * @return
+	 */
+	public float toFieldY(float y) {
+		if(y < _viewTop) {
+			return _fieldTop - (_viewTop - y);
+		} else if(y > _viewTop + _viewHeight) {
+			return _fieldBottom + (y - _viewTop - _viewHeight);
+		}
+		return y + _top - _viewTop;
+	}
+
+	/**
+	 * Get how far to translate a graphic so things drawn on it in field
+	 * coordinates end up in the right place on the screen
+	 *
+	 * @return
+	 */
+	public int getOffsetX() {
+		return _viewLeft - _left;
+	}
+	public int getOffsetY() {
+		return _viewTop - _top;
+	}
+
+	/**
+	 * Get the left of the part of the field in view
+	 *
+	 * @return
+	 */
+	public int getLeft() {
+		return _left;
+	}
+	public int getTop() {
+		return _top;
+	}
+
+	public int getViewLeft() {
+		return _viewLeft;
+	}
+	public int getViewTop() {
+		return _viewTop;
+	}
+	public int getViewRight() {
+		return _viewLeft + _viewWidth;
+	}
+	public int getViewBottom() {
+		return _viewTop + _viewHeight;
+	}
+	public int getViewWidth() {
+		return _viewWidth;
+	}
+	public int getViewHeight() {
+		return _viewHeight;
+	}
+}
@@ -0,0 +1,160 @@
+/**
+ * DigitAtlas.java
+ *
+ * The digits 0 to 9, a minus sign and a colon drawn once, side by side,
+ * into a single image. Numbers are then drawn by copying the right piece
+ * of the image for each digit, so drawing a number every frame (like a
+ * turkey's incubation countdown or the game timer) doesn't build a string
+ * or rasterize any glyphs.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+public class DigitAtlas {
+
+	private static final String GLYPHS = "0123456789-:";
+	private static final int MINUS = 10;
+	private static final int COLON = 11;
+
+	// the last few atlases handed out, since the same few fonts are asked for over and over
+	private static DigitAtlas[] _atlases = new DigitAtlas[4];
+	private static int _nextAtlas;
+
+	private Font _font;
+	private Color _color;
+	private BufferedImage _image;
+	private int[] _glyphX = new int[GLYPHS.length()];
+	private int[] _glyphWidth = new int[GLYPHS.length()];
+	private int[] _digits = new int[11];	// scratch space for splitting up a number
+	private int _ascent, _height;
+
+	public DigitAtlas(Font font, Color color) {
+		_font = font;
+		_color = color;
+
+		// measure every glyph
+		BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = scratch.createGraphics();
+		FontMetrics metrics = g.getFontMetrics(font);
+		int width = 0;
+		for(int i = 0; i < GLYPHS.length(); i++) {
+			_glyphX[i] = width;
+			_glyphWidth[i] = metrics.charWidth(GLYPHS.charAt(i));
+			width += _glyphWidth[i];
+		}
+		_ascent = metrics.getAscent();
+		_height = _ascent + metrics.getDescent();
+		g.dispose();
+
+		// draw every glyph at its spot in the atlas
+		BufferedImage image = new BufferedImage(width, _height, BufferedImage.TYPE_INT_ARGB);
+		g = image.createGraphics();
+		g.setFont(font);
+		g.setColor(color);
+		for(int i = 0; i < GLYPHS.length(); i++) {
+			g.drawString(GLYPHS.substring(i, i + 1), _glyphX[i], _ascent);
+		}
+		g.dispose();
+		_image = ResLoader.toCompatibleImage(image);
+	}
+
+	/**
+	 * Get an atlas for a font and color, reusing the last one if it matches.
+	 * Only meant to be used from the thread that draws the game.
+	 *
+	 * @param font
+	 * @param color
+	 * @return
+	 */
+	public static DigitAtlas getAtlas(Font font, Color color) {
+		for(int i = 0; i < _atlases.length; i++) {
+			DigitAtlas atlas = _atlases[i];
+			if(atlas != null && atlas._font.equals(font) && atlas._color.equals(color)) {
+				return atlas;
+			}
+		}
+
+		// replace the oldest one
+		DigitAtlas atlas = new DigitAtlas(font, color);
+		_atlases[_nextAtlas] = atlas;
+		_nextAtlas = (_nextAtlas + 1) % _atlases.length;
+		return atlas;
+	}
+
+	/**
+	 * Draw a whole number the same place drawString() would put it
+	 *
+	 * @param g
+	 * @param number
+	 * @param x - Left edge of the number
+	 * @param y - Baseline of the number
+	 */
+	public void drawNumber(Graphics2D g, int number, int x, int y) {
+		drawNumber(g, number, 1, x, y);
+	}
+
+	/**
+	 * Draw a whole number padded with zeros in front to at least a number
+	 * of digits
+	 *
+	 * @param g
+	 * @param number
+	 * @param minDigits - Like 2 to draw 7 as 07
+	 * @param x - Left edge of the number
+	 * @param y - Baseline of the number
+	 * @return The right edge of the number
+	 */
+	public int drawNumber(Graphics2D g, int number, int minDigits, int x, int y) {
+
+		int top = y - _ascent;
+
+		if(number < 0) {
+			x += _drawGlyph(g, MINUS, x, top);
+		}
+
+		// split the number up into digits, last digit first
+		long value = Math.abs((long) number);
+		int numDigits = 0;
+		do {
+			_digits[numDigits++] = (int) (value % 10);
+			value /= 10;
+		} while(value > 0 || numDigits < Math.min(minDigits, _digits.length));
+
+		for(int i = numDigits - 1; i >= 0; i--) {
+			x += _drawGlyph(g, _digits[i], x, top);
+		}
+		return x;
+	}
+
+	/**
+	 * Draw a number of seconds as minutes and seconds, like 03:07
+	 *
+	 * @param g
+	 * @param seconds
+	 * @param x - Left edge of the time
+	 * @param y - Baseline of the time
+	 * @return The right edge of the time
+	 */
+	public int drawTime(Graphics2D g, int seconds, int x, int y) {
+		x = drawNumber(g, seconds / 60, 2, x, y);
+		x += _drawGlyph(g, COLON, x, y - _ascent);
+		return drawNumber(g, seconds % 60, 2, x, y);
+	}
+
+	private int _drawGlyph(Graphics2D g, int glyph, int x, int top) {
+		int width = _glyphWidth[glyph];
+		int sourceX = _glyphX[glyph];
+		g.drawImage(_image, x, top, x + width, top + _height, sourceX, 0, sourceX + width, _height, null);
+		return width;
+	}
+}
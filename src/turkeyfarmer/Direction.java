@@ -0,0 +1,71 @@
+/**
+ * Direction.java
+ *
+ * The four compass directions a moving sprite can face. Each direction
+ * knows the letter used in its image file names (like turkey_N.png) so
+ * directional images can be loaded by looping over the directions.
+ *
+ * Sprites keep their directional images in arrays indexed by ordinal(),
+ * so picking the image for a direction is a plain array lookup.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public enum Direction {
+
+	NORTH("N"),
+	SOUTH("S"),
+	EAST("E"),
+	WEST("W");
+
+	// values() makes a new array on every call, so keep one around
+	private static final Direction[] _values = values();
+
+	private final String _letter;
+
+	private Direction(String letter) {
+		_letter = letter;
+	}
+
+	/**
+	 * Get the letter used for this direction in image file names
+	 *
+	 * @return N, S, E or W
+	 */
+	public String getLetter() {
+		return _letter;
+	}
+
+	/**
+	 * Get every direction without copying the array. Don't change it.
+	 *
+	 * @return
+	 */
+	public static Direction[] all() {
+		return _values;
+	}
+
+	/**
+	 * Get the direction closest to an angle
+	 *
+	 * @param angle - In radians, as returned by Math.atan2 (y grows downwards)
+	 * @return
+	 */
+	public static Direction fromAngle(float angle) {
+
+		float angleSize = 0.75f;
+		float absAngle = Math.abs(angle);
+
+		if(absAngle < angleSize) {
+			return EAST;
+		}
+		else if(absAngle < angleSize * 3) {
+			return angle > 0 ? SOUTH : NORTH;
+		}
+		return WEST;
+	}
+}
@@ -0,0 +1,343 @@
+/**
+ * DirtyRegionRenderer.java
+ *
+ * Keeps a copy of the last frame and only redraws the parts of it that
+ * changed. The canvas is cut into small square tiles. Every frame the
+ * TurkeyField marks the tiles under everything that moves or changes
+ * (sprites, HUD text and so on), and the renderer redraws the tiles marked
+ * this frame together with the ones marked last frame, which is where the
+ * moving things used to be. Everything else is left as it was.
+ *
+ * The dirty tiles are handed out as a list of rectangles, one for each run
+ * of dirty tiles in a row (see getDirtyRect()). The field copies the
+ * cached background into just those rectangles to fill the holes the
+ * sprites left behind, then draws the sprites on top, and skips anything
+ * else that isn't in a dirty tile (see isDirty()). The frame is never
+ * clipped to the dirty tiles, since setting a clip makes Java2D build new
+ * shapes every frame, so whatever is drawn has to be drawn whole:
+ * something drawn over a dirty tile and a clean one would be drawn twice
+ * over the clean one (see markIfDirty()). If too much of the frame is
+ * dirty it's cheaper to just redraw all of it, so past a threshold the
+ * renderer gives up and does that.
+ *
+ * The finished frame is then copied to the screen in a single blit.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+public class DirtyRegionRenderer {
+
+	private int _width, _height;
+	private int _tileSize;
+	private int _columns, _rows;
+	private float _fullRepaintThreshold;
+
+	private boolean[] _marked;		// tiles marked this frame
+	private boolean[] _lastMarked;	// tiles marked last frame
+	private boolean _fullRepaintNeeded = true;
+	private boolean _redrawingEverything;	// is the whole frame being redrawn this time?
+
+	private BufferedImage _frame;	// what the screen looked like after the last frame
+	private Graphics2D _frameGraphics;
+
+	// the runs of dirty tiles this frame, made up front so finding them doesn't make anything
+	private Rectangle[] _dirtyRects;
+	private int _numDirtyRects;
+
+	// statistics
+	private long _numFrames;
+	private long _numFullRepaints;
+	private double _fractionTouchedTotal;
+
+	/**
+	 * Create a renderer for a canvas
+	 *
+	 * @param width
+	 * @param height
+	 * @param tileSize - Width and height of a tile in pixels
+	 * @param fullRepaintThreshold - Redraw everything once more than this fraction of the frame is dirty
+	 */
+	public DirtyRegionRenderer(int width, int height, int tileSize, float fullRepaintThreshold) {
+		_width = width;
+		_height = height;
+		_tileSize = tileSize;
+		_fullRepaintThreshold = fullRepaintThreshold;
+		_columns = (width + tileSize - 1) / tileSize;
+		_rows = (height + tileSize - 1) / tileSize;
+		_marked = new boolean[_columns * _rows];
+		_lastMarked = new boolean[_columns * _rows];
+
+		// at most every other tile in a row starts a run
+		_dirtyRects = new Rectangle[_rows * ((_columns + 1) / 2)];
+		for(int i = 0; i < _dirtyRects.length; i++) {
+			_dirtyRects[i] = new Rectangle();
+		}
+	}
+
+	/**
+	 * Mark a rectangle that has something in it that is drawn this frame
+	 *
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 */
+	public void mark(int x, int y, int width, int height) {
+		int minColumn = _getMinColumn(x);
+		int maxColumn = _getMaxColumn(x, width);
+		int minRow = _getMinRow(y);
+		int maxRow = _getMaxRow(y, height);
+
+		for(int row = minRow; row <= maxRow; row++) {
+			for(int column = minColumn; column <= maxColumn; column++) {
+				_marked[row * _columns + column] = true;
+			}
+		}
+	}
+
+	public void mark(Rectangle area) {
+		mark(area.x, area.y, area.width, area.height);
+	}
+
+	/**
+	 * Mark all of a rectangle if any of it is going to be redrawn. Anything
+	 * drawn whole (like a line of text) needs its whole rectangle redrawn
+	 * or none of it, so it isn't drawn on top of itself where it wasn't.
+	 * Marking one thing can make it overlap another, so keep going until
+	 * nothing new gets marked.
+	 *
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 * @return Did any tile that wasn't going to be redrawn get marked?
+	 */
+	public boolean markIfDirty(int x, int y, int width, int height) {
+		if(_fullRepaintNeeded || !isDirty(x, y, width, height)) {
+			return false;
+		}
+		boolean grew = false;
+		for(int row = _getMinRow(y); row <= _getMaxRow(y, height); row++) {
+			for(int column = _getMinColumn(x); column <= _getMaxColumn(x, width); column++) {
+				int tile = row * _columns + column;
+				grew |= !_isDirty(tile);
+				_marked[tile] = true;
+			}
+		}
+		return grew;
+	}
+
+	public boolean markIfDirty(Rectangle area) {
+		return markIfDirty(area.x, area.y, area.width, area.height);
+	}
+
+	/**
+	 * Is any of a rectangle going to be redrawn this frame?
+	 *
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 * @return
+	 */
+	public boolean isDirty(int x, int y, int width, int height) {
+		if(_redrawingEverything) {
+			return true;
+		}
+		for(int row = _getMinRow(y); row <= _getMaxRow(y, height); row++) {
+			for(int column = _getMinColumn(x); column <= _getMaxColumn(x, width); column++) {
+				if(_isDirty(row * _columns + column)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	public boolean isDirty(Rectangle area) {
+		return isDirty(area.x, area.y, area.width, area.height);
+	}
+
+	/**
+	 * Mark the area a sprite covers when drawn centered on its location
+	 *
+	 * @param sprite
+	 * @param margin - Extra pixels around the image to include (for labels and such)
+	 */
+	public void markCentered(Sprite sprite, int margin) {
+		markCentered(sprite, margin, 0, 0);
+	}
+
+	/**
+	 * Mark the area a sprite covers when drawn centered on its location on
+	 * a graphic that has been translated, like by a Camera
+	 *
+	 * @param sprite
+	 * @param margin - Extra pixels around the image to include (for labels and such)
+	 * @param offsetX - How far the sprite's location is moved across on the canvas
+	 * @param offsetY - How far the sprite's location is moved down on the canvas
+	 */
+	public void markCentered(Sprite sprite, int margin, int offsetX, int offsetY) {
+		if(sprite.getImage() == null) {
+			return;
+		}
+		int width = sprite.getWidth();
+		int height = sprite.getHeight();
+		mark((int) sprite.getX() + offsetX - width / 2 - margin, (int) sprite.getY() + offsetY - height / 2 - margin,
+				width + margin * 2, height + margin * 2);
+	}
+
+	/**
+	 * Redraw the whole frame next time, like when the background changes
+	 */
+	public void markAll() {
+		_fullRepaintNeeded = true;
+	}
+
+	/**
+	 * Get a graphic to draw the next frame on and work out what needs
+	 * redrawing. Only draw into the dirty rectangles, or everything if
+	 * isRedrawingEverything(). Everything drawn this frame needs to have been
+	 * marked before this is called.
+	 *
+	 * @param config - The configuration of the screen the frame ends up on
+	 * @return
+	 */
+	public Graphics2D beginFrame(GraphicsConfiguration config) {
+
+		if(_frame == null) {
+			_frame = config.createCompatibleImage(_width, _height);
+			_frameGraphics = _frame.createGraphics();
+			_fullRepaintNeeded = true;
+		}
+
+		// work out which tiles need redrawing and how much of the frame that is
+		_numDirtyRects = 0;
+		int numDirtyTiles = 0;
+		for(int row = 0; row < _rows; row++) {
+			int runStart = -1;
+			for(int column = 0; column <= _columns; column++) {
+				boolean dirty = column < _columns && _isDirty(row * _columns + column);
+				if(dirty) {
+					numDirtyTiles++;
+					if(runStart == -1) {
+						runStart = column;
+					}
+				} else if(runStart != -1) {
+					// add each run of dirty tiles in a row as one rectangle
+					_addDirtyRect(runStart * _tileSize, row * _tileSize, (column - runStart) * _tileSize, _tileSize);
+					runStart = -1;
+				}
+			}
+		}
+
+		float fractionDirty = (float) numDirtyTiles / (_columns * _rows);
+		_redrawingEverything = _fullRepaintNeeded || fractionDirty > _fullRepaintThreshold;
+		if(_redrawingEverything) {
+			_fractionTouchedTotal += 1;
+			_numFullRepaints++;
+			_fullRepaintNeeded = false;
+		} else {
+			_fractionTouchedTotal += fractionDirty;
+		}
+		_numFrames++;
+
+		return _frameGraphics;
+	}
+
+	/**
+	 * Copy the finished frame onto the screen and get ready for the next one
+	 *
+	 * @param g - The screen's graphic
+	 */
+	public void endFrame(Graphics2D g) {
+		g.drawImage(_frame, 0, 0, null);
+
+		_redrawingEverything = false;
+
+		// this frame's marks tell the next frame where things were
+		boolean[] lastMarked = _lastMarked;
+		_lastMarked = _marked;
+		_marked = lastMarked;
+		for(int i = 0; i < _marked.length; i++) {
+			_marked[i] = false;
+		}
+	}
+
+	/**
+	 * Is the whole frame being redrawn, not just the dirty rectangles?
+	 *
+	 * @return
+	 */
+	public boolean isRedrawingEverything() {
+		return _redrawingEverything;
+	}
+
+	/**
+	 * Get how many rectangles need redrawing this frame
+	 *
+	 * @return
+	 */
+	public int getNumDirtyRects() {
+		return _numDirtyRects;
+	}
+
+	/**
+	 * Get one of the rectangles that need redrawing this frame. It's reused
+	 * next frame, so don't hang on to it or change it.
+	 *
+	 * @param index
+	 * @return
+	 */
+	public Rectangle getDirtyRect(int index) {
+		return _dirtyRects[index];
+	}
+
+	/**
+	 * Get the average fraction of the frame's pixels that were redrawn
+	 *
+	 * @return Between 0 (nothing) and 1 (the whole frame every time)
+	 */
+	public double getAverageFractionTouched() {
+		return _numFrames == 0 ? 0 : _fractionTouchedTotal / _numFrames;
+	}
+
+	public long getNumFrames() {
+		return _numFrames;
+	}
+
+	public long getNumFullRepaints() {
+		return _numFullRepaints;
+	}
+
+	private boolean _isDirty(int tile) {
+		return _marked[tile] || _lastMarked[tile];
+	}
+
+	private void _addDirtyRect(int x, int y, int width, int height) {
+		_dirtyRects[_numDirtyRects++].setBounds(x, y, width, height);
+	}
+
+	// the tiles a rectangle touches, kept on the canvas
+	private int _getMinColumn(int x) {
+		return Math.max(0, x / _tileSize);
+	}
+	private int _getMaxColumn(int x, int width) {
+		return Math.min(_columns - 1, (x + width) / _tileSize);
+	}
+	private int _getMinRow(int y) {
+		return Math.max(0, y / _tileSize);
+	}
+	private int _getMaxRow(int y, int height) {
+		return Math.min(_rows - 1, (y + height) / _tileSize);
+	}
+}
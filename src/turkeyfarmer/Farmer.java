@@ -0,0 +1,233 @@
+/**
+ * Farmer.java
+ * 
+ * Extends MovingSprite
+ * 
+ * The player's character. It should have a location, a location to which it is
+ * trying to go, a relative speed, and a counter as to how many turkeys it has
+ * caught.
+ * 
+ * Some descriptions of particularly important methods are provided below. You
+ * will probably have to create more methods than just those provided. You are
+ * also allowed to change the methods provided if you want. They have been added
+ * as a guide.
+ * 
+ * @authors Jerome Dane, Sandra Poulos 
+ * @compids jd7yj, sp5uk 
+ * @lab 1111
+ * 
+ */
+
+package turkeyfarmer;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+public class Farmer extends MovingSprite {
+
+	private TurkeyRegistry _turkeys;
+	private TurkeyGrid _grid;
+	private TurkeyStateIndex _states;
+	private int _numTurkeysCaught;
+	private String _deathMessage;
+	private int _sprintDuration;
+	private long _sprintRecoveryTime;
+	private float _speedFactor = 1;		// 2 while sprinting, .5 while recovering
+	private SpeedChange _tired = new SpeedChange((float) .5, "You're tired. Movement speed is halved.");
+	private SpeedChange _recovered = new SpeedChange(1, "You've recovered");
+	private TurkeyWorld _simulation;
+	
+	public Farmer(float x, float y, float speed) {
+		
+		// create a moving sprite as usual
+		super(x,y, speed);
+		
+		// set sprinting duration
+		_sprintDuration = 5;
+		_sprintRecoveryTime = 10;
+		
+		
+		// set up animation
+		Direction[] directions = Direction.all();
+		for(int i = 0; i < directions.length; i++) {
+			Direction dir = directions[i];
+			AnimatedImage anim = new AnimatedImage();
+			anim.addImage("images/farmer_" + dir.getLetter() + ".png");
+			anim.addImage("images/farmer_" + dir.getLetter() + "2.png");
+			anim.addImage("images/farmer_" + dir.getLetter() + "3.png");
+			anim.addImage("images/farmer_" + dir.getLetter() + "4.png");
+			setDirectionalImage(dir, anim);
+		}
+		setImageFromDirection(Direction.SOUTH);
+		
+		// set the initial number of turkeys caught
+		_numTurkeysCaught = 0;
+		
+		// enable farmer debugging if desired (remove comment)
+		// enableDebugMode();
+		
+	}
+	
+	/**
+	 * Cause the farmer to sprint for a short time, but move much slower
+	 * while he recovers afterwards
+	 */
+	public void sprint() {
+		
+		// move twice as fast right away
+		_speedFactor = 2;
+		_simulation.tellPlayer("You sprint! Movement speed is doubled.");
+		
+		// get tired once the sprint is over and recover after that
+		long sprintTime = _simulation.getClock().getTimeInNanos();
+		Scheduler scheduler = _simulation.getScheduler();
+		scheduler.schedule(_tired, sprintTime + (_sprintDuration + 1) * 1000000000L);
+		scheduler.schedule(_recovered, sprintTime + (_sprintDuration + _sprintRecoveryTime + 1) * 1000000000L);
+	}
+	
+	/**
+	 * Changes how fast the farmer moves when it fires and tells the player why
+	 */
+	private class SpeedChange extends Scheduler.Event {
+		
+		private float _factor;
+		private String _message;
+		
+		SpeedChange(float factor, String message) {
+			_factor = factor;
+			_message = message;
+		}
+		
+		protected void fire() {
+			_speedFactor = _factor;
+			_simulation.tellPlayer(_message);
+		}
+	}
+	
+	/**
+	 * Override the MovingSprite's move method to allow sprinting
+	 * 
+	 * @param elapsedTime - seconds since the last move
+	 */
+	public void move(float elapsedTime) {
+		
+		// backup original speed
+		float originalSpeed = _speed;
+		
+		// move faster while sprinting and slower while recovering
+		setSpeed(_speed * _speedFactor);
+		
+		super.move(elapsedTime);
+		
+		// restore original speed
+		setSpeed(originalSpeed);
+		
+	}
+	
+
+	/**
+	 * Try to catch a turykey
+	 * 
+	 * @param turkeys
+	 *            An ArrayList of all the Turkeys on the field
+	 * @return The string you want to print to the output
+	 */
+	public void tryToCatchATurkey() {
+		
+		// only look at the turkeys within arm's reach
+		IndexList nearbyTurkeys = IndexList.getScratch();
+		_grid.getTurkeysNear(getX(), getY(), 45, nearbyTurkeys);
+		
+		TurkeyPopulation population = _grid.getPopulation();
+		for(int i = 0; i < nearbyTurkeys.size(); i++) {
+			Turkey turkey = population.getTurkey(nearbyTurkeys.get(i));
+			
+			// Only catch the healthy turkeys (eating zombie turkeys will make you sick!)
+			// and catch one if it's in range
+			if(!turkey.isZombie() && getDistanceSquaredFrom(turkey) <= 45 * 45) {
+				
+				// catch the turkey - the grid isn't rebuilt until the next frame,
+				// so don't count one that's already been caught twice
+				if(_turkeys.contains(turkey.getHandle())) {
+					_states.remove(turkey);
+					
+					// Keep track of how many turkeys I've caught
+					_numTurkeysCaught++;
+					
+					if(FlightEvents.TURKEY_CAUGHT.isEnabled()) {
+						FlightEvents.TurkeyCaught event = new FlightEvents.TurkeyCaught();
+						event.infected = turkey.isInfected();
+						event.numCaught = _numTurkeysCaught;
+						event.commit();
+					}
+					
+					// take it off the field last, since that gives it back to be used again
+					_turkeys.remove(turkey);
+				}
+			}
+		}
+		
+	}
+
+	/**
+	 * Store a reference to all the turkeys on the field so that 
+	 * the farmer knows how to react to them
+	 * 
+	 * @param turkeys
+	 */
+	public void see(TurkeyRegistry turkeys) {
+		_turkeys = turkeys;				
+	}
+	
+	/**
+	 * Store a reference to the spatial index of the turkeys so the
+	 * farmer only has to look at the ones close by
+	 * 
+	 * @param grid
+	 */
+	public void see(TurkeyGrid grid) {
+		_grid = grid;				
+	}
+	
+	/**
+	 * Store a reference to the turkeys filed by state so caught
+	 * turkeys can be taken out of it
+	 * 
+	 * @param states
+	 */
+	public void see(TurkeyStateIndex states) {
+		_states = states;				
+	}
+	
+	/**
+	 * Store a reference to the simulation so the farmer can
+	 * tell the player things
+	 * 
+	 * @param simulation
+	 */
+	public void see(TurkeyWorld simulation) {
+		_simulation = simulation;				
+	}
+	
+	/**
+	 * Get the number of turkeys the farmer has caught 
+	 * 
+	 * @return
+	 */
+	public int getNumTurkeysCaught() {
+		return _numTurkeysCaught;
+	}
+	
+	public boolean isDead() {
+		return _deathMessage != null;
+	}	
+	
+	public void makeDead(String message) {
+		_deathMessage = message;				
+	}
+	
+	public String getDeathMessage() {
+		return _deathMessage;
+	}
+	
+}
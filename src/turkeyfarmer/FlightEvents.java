@@ -0,0 +1,177 @@
+/**
+ * FlightEvents.java
+ *
+ * Java Flight Recorder events for the game, so a recording of a stuttering
+ * game shows what the game was doing (ticking, drawing, spawning turkeys,
+ * loading images) on the same timeline as garbage collections and the JIT.
+ * They all show up under "Turkey Farmer" in JDK Mission Control.
+ *
+ * Events cost nothing when no recording is running: callers check the
+ * event's type with isEnabled() before making the event at all. The
+ * duration events have thresholds so only the slow ones get written to a
+ * recording. resources/turkeyfarmer.jfc turns them all on with sensible
+ * thresholds; use it alongside the JDK's default settings:
+ *
+ *   java -XX:StartFlightRecording:settings=default,settings=resources/turkeyfarmer.jfc,filename=game.jfr ...
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+public class FlightEvents {
+
+	// the types to check before making an event
+	public static final EventType TICK = EventType.getEventType(Tick.class);
+	public static final EventType PHASE = EventType.getEventType(Phase.class);
+	public static final EventType TURKEY_SPAWNED = EventType.getEventType(TurkeySpawned.class);
+	public static final EventType TURKEY_INFECTED = EventType.getEventType(TurkeyInfected.class);
+	public static final EventType TURKEY_TURNED = EventType.getEventType(TurkeyTurned.class);
+	public static final EventType TURKEY_CAUGHT = EventType.getEventType(TurkeyCaught.class);
+	public static final EventType IMAGE_DECODED = EventType.getEventType(ImageDecoded.class);
+
+	/**
+	 * One tick of a TurkeyWorld
+	 */
+	@Name("turkeyfarmer.Tick")
+	@Label("Tick")
+	@Category({ "Turkey Farmer", "Simulation" })
+	@Description("One step of the game simulation")
+	@Threshold("1 ms")
+	@StackTrace(false)
+	public static class Tick extends Event {
+
+		@Label("Turkeys")
+		public int numTurkeys;
+
+		@Label("Zombies")
+		public int numZombies;
+
+		@Label("Elapsed Time")
+		@Description("Seconds of game time the tick advanced by")
+		public float elapsedTime;
+	}
+
+	/**
+	 * One FramePhase of one frame
+	 */
+	@Name("turkeyfarmer.FramePhase")
+	@Label("Frame Phase")
+	@Category({ "Turkey Farmer", "Rendering" })
+	@Description("One part of a frame, like moving the turkeys or drawing the HUD")
+	@Threshold("1 ms")
+	@StackTrace(false)
+	public static class Phase extends Event {
+
+		@Label("Phase")
+		public String phase;
+	}
+
+	/**
+	 * A turkey was made and put on the field
+	 */
+	@Name("turkeyfarmer.TurkeySpawned")
+	@Label("Turkey Spawned")
+	@Category({ "Turkey Farmer", "Turkeys" })
+	@StackTrace(false)
+	public static class TurkeySpawned extends Event {
+
+		@Label("X")
+		public float x;
+
+		@Label("Y")
+		public float y;
+
+		@Label("Speed")
+		public float speed;
+	}
+
+	/**
+	 * A turkey caught the illness
+	 */
+	@Name("turkeyfarmer.TurkeyInfected")
+	@Label("Turkey Infected")
+	@Category({ "Turkey Farmer", "Turkeys" })
+	@StackTrace(false)
+	public static class TurkeyInfected extends Event {
+
+		@Label("X")
+		public float x;
+
+		@Label("Y")
+		public float y;
+
+		@Label("Incubation Time")
+		@Description("Seconds until the turkey turns into a zombie")
+		public int incubationInSeconds;
+	}
+
+	/**
+	 * A turkey turned into a zombie
+	 */
+	@Name("turkeyfarmer.TurkeyTurned")
+	@Label("Turkey Turned")
+	@Category({ "Turkey Farmer", "Turkeys" })
+	@StackTrace(false)
+	public static class TurkeyTurned extends Event {
+
+		@Label("X")
+		public float x;
+
+		@Label("Y")
+		public float y;
+	}
+
+	/**
+	 * The farmer caught a turkey
+	 */
+	@Name("turkeyfarmer.TurkeyCaught")
+	@Label("Turkey Caught")
+	@Category({ "Turkey Farmer", "Turkeys" })
+	@StackTrace(false)
+	public static class TurkeyCaught extends Event {
+
+		@Label("Infected")
+		@Description("Whether the turkey was incubating the illness")
+		public boolean infected;
+
+		@Label("Turkeys Caught")
+		@Description("How many turkeys the farmer has caught, including this one")
+		public int numCaught;
+	}
+
+	/**
+	 * An image was read and decoded because it wasn't in the cache
+	 */
+	@Name("turkeyfarmer.ImageDecoded")
+	@Label("Image Decoded")
+	@Category({ "Turkey Farmer", "Assets" })
+	@Threshold("0 ms")
+	public static class ImageDecoded extends Event {
+
+		@Label("File")
+		public String fileName;
+
+		@Label("Width")
+		public int width;
+
+		@Label("Height")
+		public int height;
+
+		@Label("Decoded Size")
+		@DataAmount
+		public long size;
+	}
+}
@@ -0,0 +1,50 @@
+/**
+ * FramePhase.java
+ *
+ * The parts a frame is split into when it's being timed by a
+ * FrameProfiler, in the order they happen in a frame.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public enum FramePhase {
+
+	STORY("story/timers"),		// scheduled events, the story and the game clock
+	FARMER_MOVE("farmer move"),
+	TURKEY_MOVE("turkey move"),	// including the flock snapshot, the grid and infections
+	BACKGROUND("background"),	// the background layer and the game over screen
+	TURKEY_DRAW("turkey draw"),	// the farmer and the turkeys
+	HUD("HUD"),					// the timer, the catch count and the message
+	PRESENT("present");			// getting the finished frame onto the screen
+
+	// values() makes a new array on every call, so keep one around
+	private static final FramePhase[] _values = values();
+
+	private final String _label;
+
+	private FramePhase(String label) {
+		_label = label;
+	}
+
+	/**
+	 * Get the name to show for this phase
+	 *
+	 * @return
+	 */
+	public String getLabel() {
+		return _label;
+	}
+
+	/**
+	 * Get every phase without copying the array. Don't change it.
+	 *
+	 * @return
+	 */
+	public static FramePhase[] all() {
+		return _values;
+	}
+}
@@ -0,0 +1,252 @@
+/**
+ * FrameProfiler.java
+ *
+ * Times where each frame goes. Whatever is driving the frame calls
+ * beginFrame() at the top of every frame and begin() at the start of each
+ * FramePhase. Each phase runs until the next one begins (or until end()).
+ * A phase can run more than once in a frame (the HUD is drawn both before
+ * and after the sprites), so the time is added up over the frame and
+ * goes into that phase's RollingHistogram once the frame is over. The
+ * time between two beginFrame() calls is recorded as the whole frame, and
+ * the bytes the thread allocated during it as the frame's allocation.
+ *
+ * A phase that doesn't happen in a frame (like moving the turkeys once the
+ * farmer is dead) just isn't recorded for that frame.
+ *
+ * Timing into the histograms is off until setTiming(true), and the
+ * histograms aren't even made until then. Whether or not it's timing, the
+ * profiler also writes a FlightEvents.Phase for every phase while a
+ * flight recording is running, so the phases can be lined up with GC and
+ * the JIT in a recording.
+ *
+ * The profiler is only meant to be used from the thread that runs the
+ * game. The histograms can be read from anywhere.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+
+public class FrameProfiler {
+
+	private RollingHistogram[] _phaseTimes;		// nanoseconds, indexed by FramePhase.ordinal()
+	private RollingHistogram _frameTimes;		// nanoseconds from one frame to the next
+	private RollingHistogram _frameAllocations;	// bytes allocated per frame, if the JVM can tell us
+
+	private long[] _phaseTotals;				// time spent in each phase so far this frame
+	private boolean[] _phaseRan;				// which phases have run this frame
+	private FramePhase _currentPhase;			// null between phases
+	private FlightEvents.Phase _phaseEvent;		// the running phase's flight recorder event, or null
+	private boolean _timing;
+	private int _windowSize;
+	private long _phaseStartTime;
+	private long _frameStartTime = -1;
+	private long _frameStartAllocation;
+	private long _numFrames;
+
+	// HotSpot can say how much a thread has allocated
+	private com.sun.management.ThreadMXBean _threads;
+
+	/**
+	 * Create a profiler. It doesn't time anything until setTiming(true).
+	 *
+	 * @param windowSize - How many of the most recent frames to keep statistics for
+	 */
+	public FrameProfiler(int windowSize) {
+		_windowSize = windowSize;
+		_phaseTotals = new long[FramePhase.all().length];
+		_phaseRan = new boolean[FramePhase.all().length];
+
+		if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+			if(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+				_threads = threads;
+			}
+		}
+	}
+
+	/**
+	 * Start or stop recording frame and phase times into the histograms
+	 *
+	 * @param timing
+	 */
+	public void setTiming(boolean timing) {
+		if(timing && _frameTimes == null) {
+			FramePhase[] phases = FramePhase.all();
+			_phaseTimes = new RollingHistogram[phases.length];
+			for(int i = 0; i < phases.length; i++) {
+				_phaseTimes[i] = new RollingHistogram(_windowSize);
+			}
+			_frameTimes = new RollingHistogram(_windowSize);
+			_frameAllocations = new RollingHistogram(_windowSize);
+		}
+		if(timing && !_timing) {
+			// start over with the next frame
+			_frameStartTime = -1;
+			_phaseStartTime = System.nanoTime();
+		}
+		_timing = timing;
+	}
+
+	public boolean isTiming() {
+		return _timing;
+	}
+
+	/**
+	 * Start a new frame, finishing the last one
+	 */
+	public void beginFrame() {
+		_endPhase();
+		if(!_timing) {
+			return;
+		}
+		long now = System.nanoTime();
+
+		// anything timed before the first frame started doesn't count
+		for(int i = 0; i < _phaseTotals.length; i++) {
+			if(_phaseRan[i] && _frameStartTime != -1) {
+				_phaseTimes[i].record(_phaseTotals[i]);
+			}
+			_phaseTotals[i] = 0;
+			_phaseRan[i] = false;
+		}
+
+		if(_frameStartTime != -1) {
+			_frameTimes.record(now - _frameStartTime);
+			if(_threads != null) {
+				_frameAllocations.record(_threads.getCurrentThreadAllocatedBytes() - _frameStartAllocation);
+			}
+			_numFrames++;
+		}
+		_frameStartTime = now;
+		if(_threads != null) {
+			_frameStartAllocation = _threads.getCurrentThreadAllocatedBytes();
+		}
+	}
+
+	/**
+	 * Start timing a phase, finishing whichever phase was running. Does
+	 * nothing if the phase is already running.
+	 *
+	 * @param phase
+	 */
+	public void begin(FramePhase phase) {
+		if(phase == _currentPhase) {
+			return;
+		}
+		_endPhase();
+		_currentPhase = phase;
+		if(_timing) {
+			_phaseStartTime = System.nanoTime();
+		}
+		if(FlightEvents.PHASE.isEnabled()) {
+			_phaseEvent = new FlightEvents.Phase();
+			_phaseEvent.begin();
+		}
+	}
+
+	/**
+	 * Finish the phase that's running without starting another one
+	 */
+	public void end() {
+		_endPhase();
+	}
+
+	/**
+	 * Get the durations of a phase
+	 *
+	 * @param phase
+	 * @return Durations in nanoseconds, or null if timing has never been on
+	 */
+	public RollingHistogram getPhaseTimes(FramePhase phase) {
+		return _phaseTimes == null ? null : _phaseTimes[phase.ordinal()];
+	}
+
+	/**
+	 * Get the time from the start of each frame to the start of the next
+	 *
+	 * @return Durations in nanoseconds, or null if timing has never been on
+	 */
+	public RollingHistogram getFrameTimes() {
+		return _frameTimes;
+	}
+
+	/**
+	 * Get how much the game's thread allocated in each frame
+	 *
+	 * @return Bytes per frame, or null if the JVM can't measure it or timing has never been on
+	 */
+	public RollingHistogram getFrameAllocations() {
+		return _threads != null ? _frameAllocations : null;
+	}
+
+	/**
+	 * Get how many frames have been finished
+	 *
+	 * @return
+	 */
+	public long getNumFrames() {
+		return _numFrames;
+	}
+
+	/**
+	 * Write every histogram to a text file, one line each
+	 *
+	 * @param file
+	 * @throws IOException
+	 */
+	public void dump(File file) throws IOException {
+		if(_frameTimes == null) {
+			return;
+		}
+		PrintWriter out = new PrintWriter(new FileWriter(file));
+		try {
+			out.printf("# Turkey Farmer frame timings over the last %d of %d frames%n",
+					_frameTimes.getSize(), _numFrames);
+			out.printf("%-16s %10s %10s %10s %10s %10s%n", "# phase", "count", "p50", "p99", "p999", "max");
+			FramePhase[] phases = FramePhase.all();
+			for(int i = 0; i < phases.length; i++) {
+				_dumpLine(out, phases[i].getLabel() + " (us)", _phaseTimes[i], 1000);
+			}
+			_dumpLine(out, "frame (us)", _frameTimes, 1000);
+			if(_threads != null) {
+				_dumpLine(out, "alloc (bytes)", _frameAllocations, 1);
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	private void _dumpLine(PrintWriter out, String name, RollingHistogram histogram, long unit) {
+		out.printf("%-16s %10d %10d %10d %10d %10d%n", name, histogram.getSize(),
+				histogram.getMedian() / unit, histogram.getPercentile(.99) / unit,
+				histogram.getPercentile(.999) / unit, histogram.getMax() / unit);
+	}
+
+	private void _endPhase() {
+		if(_currentPhase == null) {
+			return;
+		}
+		if(_timing) {
+			_phaseTotals[_currentPhase.ordinal()] += System.nanoTime() - _phaseStartTime;
+			_phaseRan[_currentPhase.ordinal()] = true;
+		}
+		if(_phaseEvent != null) {
+			_phaseEvent.end();
+			if(_phaseEvent.shouldCommit()) {
+				_phaseEvent.phase = _currentPhase.getLabel();
+				_phaseEvent.commit();
+			}
+			_phaseEvent = null;
+		}
+		_currentPhase = null;
+	}
+}
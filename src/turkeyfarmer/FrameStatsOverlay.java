@@ -0,0 +1,135 @@
+/**
+ * FrameStatsOverlay.java
+ *
+ * A box in the corner of the field showing where the frames are going:
+ * frames per second, how long each FramePhase takes (median, 99th and
+ * 99.9th percentiles and the worst case over the profiler's window), how
+ * much each frame allocates and how many turkeys are in each state.
+ *
+ * The numbers are only turned into text a couple of times a second, and
+ * each line is drawn from a CachedText, so showing the overlay doesn't
+ * get in the way of what it's measuring.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+
+public class FrameStatsOverlay {
+
+	private static final int LINE_HEIGHT = 13;
+	private static final int PADDING = 4;
+
+	private FrameProfiler _profiler;
+	private TurkeyWorld _world;
+	private int _x, _y, _width, _height;
+	private long _refreshIntervalInNanos = 500000000L;
+	private long _lastRefreshTime = -1;
+	private long _lastRefreshFrames;
+	private Color _backgroundColor = new Color(0, 0, 0, 160);
+
+	// the first line is the frame rate, then one per phase, then the turkeys
+	private CachedText[] _lines;
+
+	/**
+	 * Create an overlay
+	 *
+	 * @param profiler - Where the timings come from
+	 * @param world - Where the turkey counts come from
+	 * @param x - Left of the box
+	 * @param y - Top of the box
+	 */
+	public FrameStatsOverlay(FrameProfiler profiler, TurkeyWorld world, int x, int y) {
+		_profiler = profiler;
+		_world = world;
+		_x = x;
+		_y = y;
+
+		Font font = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+		Color color = new Color(0xffffff);
+		_lines = new CachedText[FramePhase.all().length + 2];
+		for(int i = 0; i < _lines.length; i++) {
+			// the timings hardly ever come out the same twice, so there's nothing worth keeping
+			_lines[i] = new CachedText(font, color, 1);
+		}
+		_width = 380;
+		_height = _lines.length * LINE_HEIGHT + PADDING * 2;
+	}
+
+	/**
+	 * Draw the overlay, bringing its numbers up to date if it's been a while
+	 *
+	 * @param g
+	 */
+	public void draw(Graphics2D g) {
+		long now = System.nanoTime();
+		if(_lastRefreshTime == -1 || now - _lastRefreshTime >= _refreshIntervalInNanos) {
+			_refresh(now);
+		}
+
+		Color color = g.getColor();
+		g.setColor(_backgroundColor);
+		g.fillRect(_x, _y, _width, _height);
+		g.setColor(color);
+		for(int i = 0; i < _lines.length; i++) {
+			_lines[i].draw(g, _x + PADDING, _y + PADDING + (i + 1) * LINE_HEIGHT - 3);
+		}
+	}
+
+	public int getX() {
+		return _x;
+	}
+	public int getY() {
+		return _y;
+	}
+	public int getWidth() {
+		return _width;
+	}
+	public int getHeight() {
+		return _height;
+	}
+
+	private void _refresh(long now) {
+
+		// frames per second since the last refresh
+		long frames = _profiler.getNumFrames();
+		float fps = 0;
+		if(_lastRefreshTime != -1) {
+			fps = (frames - _lastRefreshFrames) / ((now - _lastRefreshTime) / 1e9f);
+		}
+		_lastRefreshTime = now;
+		_lastRefreshFrames = frames;
+
+		RollingHistogram frameTimes = _profiler.getFrameTimes();
+		RollingHistogram allocations = _profiler.getFrameAllocations();
+		_lines[0].setText(String.format("%5.1f fps  frame p50 %5.1f ms  p99 %5.1f ms  %s",
+				fps, frameTimes.getMedian() / 1e6, frameTimes.getPercentile(.99) / 1e6,
+				allocations == null ? "" : _formatBytes(allocations.getMedian()) + "/frame"));
+
+		FramePhase[] phases = FramePhase.all();
+		for(int i = 0; i < phases.length; i++) {
+			RollingHistogram times = _profiler.getPhaseTimes(phases[i]);
+			_lines[i + 1].setText(String.format("%-13s p50 %6d  p99 %6d  p999 %6d  max %6d us",
+					phases[i].getLabel(), times.getMedian() / 1000, times.getPercentile(.99) / 1000,
+					times.getPercentile(.999) / 1000, times.getMax() / 1000));
+		}
+
+		TurkeyStateIndex states = _world.getTurkeyStates();
+		_lines[_lines.length - 1].setText(String.format("turkeys %d: %d healthy  %d incubating  %d zombie",
+				states.size(), states.count(TurkeyPopulation.HEALTHY),
+				states.count(TurkeyPopulation.INCUBATING), states.count(TurkeyPopulation.ZOMBIE)));
+	}
+
+	private String _formatBytes(long bytes) {
+		if(bytes < 10 * 1024) {
+			return bytes + " B";
+		}
+		return (bytes / 1024) + " KB";
+	}
+}
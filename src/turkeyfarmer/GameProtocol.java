@@ -0,0 +1,209 @@
+/**
+ * GameProtocol.java
+ *
+ * What a GameServer and its players say to each other over a socket. All
+ * numbers are big-endian, and coordinates are on the field (see
+ * TurkeyWorld), not in a window - a player scrolls its own view.
+ *
+ * When a player connects, the server says hello once:
+ *
+ *   int     MAGIC
+ *   short   ticks per second
+ *   short   tick threads, cores          (of the server, for load testing)
+ *   short   left, top, right, bottom     (the field's bounds)
+ *
+ * and then sends the state of the game after every tick, each update
+ * starting with how many bytes follow it:
+ *
+ *   int     length of the rest
+ *   int     tick
+ *   byte    flags                        (STARTED, DEAD, WON, MESSAGE)
+ *   int     game time in seconds, turkeys caught, turkeys to win, wins
+ *   short   farmer x, farmer y
+ *   [short  length, then UTF-8 bytes]    (the message, only when it changed)
+ *   int     number of turkeys
+ *   n times short x, short y, byte state (see TurkeyPopulation)
+ *
+ * That's 5 bytes a turkey, so even a crowded field fits in one packet or a
+ * few. Coordinates, the tick rate and the thread count are shorts, since
+ * they're set when the server starts; a server whose field or settings
+ * don't fit in a short refuses to start (see checkFits()) rather than send
+ * numbers that wrap around. Everything that can keep growing while a game
+ * goes on is an int. A player that falls behind reading just misses updates; every
+ * update is the whole game, so the next one it does get is all it needs.
+ *
+ * Players only ever send mouse actions, which are handed to
+ * TurkeyWorld.mouseAction() before the next tick:
+ *
+ *   byte    MOUSE_ACTION
+ *   float   x, y
+ *   byte    button                       (-1 for just moving, 1 or 3 for clicks)
+ *
+ * Between ticks the server keeps only the latest move and the first
+ * GameSession.MAX_CLICKS_PER_TICK clicks, and hangs up on a player whose
+ * x or y isn't a finite number.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class GameProtocol {
+
+	// "TFK2", so a player knows it's talking to the right thing (and this version of it)
+	public static final int MAGIC = 0x54464B32;
+
+	public static final int HELLO_SIZE = 4 + 2 * 7;
+
+	// message types from players
+	public static final byte MOUSE_ACTION = 1;
+	public static final int MOUSE_ACTION_SIZE = 1 + 4 + 4 + 1;
+
+	// update flags
+	public static final byte STARTED = 1;
+	public static final byte DEAD = 2;
+	public static final byte WON = 4;
+	public static final byte MESSAGE = 8;
+
+	// bytes in an update apart from the message and the turkeys
+	private static final int UPDATE_HEADER_SIZE = 4 + 4 + 1 + 4 * 4 + 2 * 2 + 4;
+	private static final int BYTES_PER_TURKEY = 5;
+
+	private GameProtocol() {
+	}
+
+	/**
+	 * Make sure everything a server sends as a short fits in one
+	 *
+	 * @param world - One of the server's worlds, for the field's bounds
+	 * @param tickRate
+	 * @param numTickThreads
+	 * @throws IllegalArgumentException if anything doesn't fit
+	 */
+	public static void checkFits(TurkeyWorld world, int tickRate, int numTickThreads) {
+		if(tickRate < 1 || tickRate > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("The tick rate has to be between 1 and " + Short.MAX_VALUE + ", not " + tickRate);
+		}
+		if(numTickThreads < 1 || numTickThreads > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("There have to be between 1 and " + Short.MAX_VALUE + " tick threads, not " + numTickThreads);
+		}
+
+		// nothing on the field goes past its right or bottom edge
+		if(world.getRightFieldBound() > Short.MAX_VALUE || world.getBottomFieldBound() > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("The field reaches " + world.getRightFieldBound() + ", "
+					+ world.getBottomFieldBound() + ", which doesn't fit in a short");
+		}
+	}
+
+	/**
+	 * Write the hello a server sends when a player connects
+	 *
+	 * @param buffer
+	 * @param world - One of the server's worlds, for the field's bounds
+	 * @param tickRate
+	 * @param numTickThreads
+	 */
+	public static void writeHello(ByteBuffer buffer, TurkeyWorld world, int tickRate, int numTickThreads) {
+		buffer.putInt(MAGIC);
+		buffer.putShort((short) tickRate);
+		buffer.putShort((short) numTickThreads);
+		buffer.putShort((short) Math.min(Short.MAX_VALUE, Runtime.getRuntime().availableProcessors()));
+		buffer.putShort((short) world.getLeftFieldBound());
+		buffer.putShort((short) world.getTopFieldBound());
+		buffer.putShort((short) world.getRightFieldBound());
+		buffer.putShort((short) world.getBottomFieldBound());
+	}
+
+	/**
+	 * Get how many bytes an update for a world could take at most
+	 *
+	 * @param world
+	 * @param message - The message that'll be sent with it, or null
+	 * @return
+	 */
+	public static int getMaxUpdateSize(TurkeyWorld world, byte[] message) {
+		int messageSize = message == null ? 0 : 2 + message.length;
+		return UPDATE_HEADER_SIZE + messageSize + world.getTurkeys().size() * BYTES_PER_TURKEY;
+	}
+
+	/**
+	 * Write the state of a world after a tick
+	 *
+	 * @param buffer - With room for getMaxUpdateSize() bytes
+	 * @param world
+	 * @param tick
+	 * @param message - The world's message as UTF-8 if it changed since the last update, otherwise null
+	 */
+	public static void writeUpdate(ByteBuffer buffer, TurkeyWorld world, int tick, byte[] message) {
+		int start = buffer.position();
+		buffer.putInt(0);	// the length, once it's known
+		buffer.putInt(tick);
+
+		Farmer farmer = world.getFarmer();
+		byte flags = 0;
+		if(world.hasGameStarted()) {
+			flags |= STARTED;
+		}
+		if(farmer.isDead()) {
+			flags |= DEAD;
+		}
+		if(world.isGameWon()) {
+			flags |= WON;
+		}
+		if(message != null) {
+			flags |= MESSAGE;
+		}
+		buffer.put(flags);
+		buffer.putInt(world.hasGameStarted() ? world.getGameTimeInSeconds() : 0);
+		buffer.putInt(farmer.getNumTurkeysCaught());
+		buffer.putInt(world.getNumTurkeysToWin());
+		buffer.putInt(world.getNumWins());
+		buffer.putShort((short) farmer.getX());
+		buffer.putShort((short) farmer.getY());
+		if(message != null) {
+			buffer.putShort((short) message.length);
+			buffer.put(message);
+		}
+
+		TurkeyRegistry turkeys = world.getTurkeyRegistry();
+		buffer.putInt(turkeys.size());
+		for(int i = 0; i < turkeys.size(); i++) {
+			Turkey turkey = turkeys.get(i);
+			buffer.putShort((short) turkey.getX());
+			buffer.putShort((short) turkey.getY());
+			buffer.put(turkey.getState());
+		}
+
+		buffer.putInt(start, buffer.position() - start - 4);
+	}
+
+	/**
+	 * Turn a message into what's sent with an update
+	 *
+	 * @param message
+	 * @return
+	 */
+	public static byte[] encodeMessage(String message) {
+		return message.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Write a mouse action, the way a player sends it
+	 *
+	 * @param buffer
+	 * @param x
+	 * @param y
+	 * @param button
+	 */
+	public static void writeMouseAction(ByteBuffer buffer, float x, float y, int button) {
+		buffer.put(MOUSE_ACTION);
+		buffer.putFloat(x);
+		buffer.putFloat(y);
+		buffer.put((byte) button);
+	}
+}
@@ -0,0 +1,250 @@
+/**
+ * GameServer.java
+ *
+ * Hosts many games of Turkey Farmer at once, one for every player that
+ * connects, for playing online and for bots. Every session is a headless
+ * TurkeyWorld of its own (see GameSession); nothing is drawn on the
+ * server.
+ *
+ * A single selector thread accepts players and reads what they send, so
+ * thousands of idle sockets cost no threads. The worlds are ticked on a
+ * fixed pool of tick threads (one per core unless told otherwise), each
+ * session at the same fixed rate, 30 ticks a second by default. Sessions
+ * are spread over the pool by its scheduler, and a session is never ticked
+ * on two threads at once. If the server can't keep up, ticks run late and
+ * every session slows down together rather than some stopping.
+ *
+ * Decoded images are shared by every session: turkeys all draw their
+ * frames from the one SpriteAtlas, and ResLoader decodes any image only
+ * once. The atlas is packed before the first player is let in.
+ *
+ * What goes over the socket is described in GameProtocol. Every session
+ * plays with the WorldSettings from the system properties. Run it with:
+ *
+ *   java -cp <game jar> turkeyfarmer.GameServer [port] [ticks per second] [tick threads]
+ *
+ * and see how many sessions it can hold with the benchmarks' LoadGenerator.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GameServer implements Runnable {
+
+	public static final int DEFAULT_PORT = 7357;
+	public static final int DEFAULT_TICK_RATE = 30;
+
+	private ServerSocketChannel _serverChannel;
+	private Selector _selector;
+	private ScheduledThreadPoolExecutor _tickThreads;
+	private int _numTickThreads;
+	private int _tickRate;
+	private WorldSettings _settings;
+	private Random _seeds = new Random();		// only the selector thread uses this
+	private volatile boolean _running;
+
+	// counters for keeping an eye on the server
+	private AtomicInteger _numSessions = new AtomicInteger();
+	private LongAdder _numTicks = new LongAdder();
+
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int tickRate = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICK_RATE;
+		int numTickThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+		GameServer server = new GameServer(port, tickRate, numTickThreads, WorldSettings.fromSystemProperties());
+		System.out.printf("Serving Turkey Farmer on port %d at %d ticks per second on %d tick threads%n",
+				server.getPort(), tickRate, numTickThreads);
+
+		// say how it's doing every so often
+		final GameServer reported = server;
+		server._tickThreads.scheduleAtFixedRate(new Runnable() {
+			private long _lastNumTicks;
+
+			public void run() {
+				long numTicks = reported.getNumTicks();
+				System.out.printf("%d sessions, %.0f ticks/s%n", reported.getNumSessions(), (numTicks - _lastNumTicks) / 10.0);
+				_lastNumTicks = numTicks;
+			}
+		}, 10, 10, TimeUnit.SECONDS);
+
+		server.run();
+	}
+
+	/**
+	 * Create a server and start listening for players. Nobody is let in
+	 * until it's run().
+	 *
+	 * @param port - Port to listen on, or 0 for any free one
+	 * @param tickRate - Ticks per second for every session
+	 * @param numTickThreads - How many threads to tick sessions on
+	 * @param settings - The settings every session plays with
+	 * @throws IOException
+	 * @throws IllegalArgumentException if the field or the tick rate can't be sent to players (see GameProtocol)
+	 */
+	public GameServer(int port, int tickRate, int numTickThreads, WorldSettings settings) throws IOException {
+		GameProtocol.checkFits(new TurkeyWorld(0, settings), tickRate, numTickThreads);
+		_tickRate = tickRate;
+		_numTickThreads = numTickThreads;
+		_settings = settings;
+
+		// pack the shared images now rather than on the first player's tick
+		SpriteAtlas.getCharacters();
+
+		_tickThreads = new ScheduledThreadPoolExecutor(numTickThreads, new ThreadFactory() {
+			private int _numThreads;
+
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "GameServer tick " + (++_numThreads));
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		_tickThreads.setRemoveOnCancelPolicy(true);
+
+		_selector = Selector.open();
+		_serverChannel = ServerSocketChannel.open();
+		_serverChannel.bind(new InetSocketAddress(port));
+		_serverChannel.configureBlocking(false);
+		_serverChannel.register(_selector, SelectionKey.OP_ACCEPT);
+	}
+
+	/**
+	 * Run the server on a thread of its own
+	 */
+	public void start() {
+		Thread thread = new Thread(this, "GameServer selector");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Let players in and read what they send until the server is stopped
+	 */
+	public void run() {
+		_running = true;
+		try {
+			while(_running) {
+				_selector.select();
+				Iterator<SelectionKey> keys = _selector.selectedKeys().iterator();
+				while(keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if(!key.isValid()) {
+						continue;
+					}
+					if(key.isAcceptable()) {
+						_accept();
+					} else if(key.isReadable()) {
+						((GameSession) key.attachment()).read();
+					}
+				}
+			}
+		} catch(IOException e) {
+			System.err.println("The server stopped: " + e);
+		} finally {
+			_shutDown();
+		}
+	}
+
+	/**
+	 * Stop letting players in, hang up on everyone and stop ticking
+	 */
+	public void stop() {
+		_running = false;
+		_selector.wakeup();
+	}
+
+	/**
+	 * Get the port the server is listening on
+	 *
+	 * @return
+	 */
+	public int getPort() {
+		try {
+			return ((InetSocketAddress) _serverChannel.getLocalAddress()).getPort();
+		} catch(IOException e) {
+			return -1;
+		}
+	}
+
+	public int getTickRate() {
+		return _tickRate;
+	}
+
+	public int getNumTickThreads() {
+		return _numTickThreads;
+	}
+
+	public int getNumSessions() {
+		return _numSessions.get();
+	}
+
+	/**
+	 * Get how many ticks all sessions have had between them
+	 *
+	 * @return
+	 */
+	public long getNumTicks() {
+		return _numTicks.sum();
+	}
+
+	// sessions tell the server about themselves with these
+	void countTick() {
+		_numTicks.increment();
+	}
+	void sessionClosed(GameSession session) {
+		_numSessions.decrementAndGet();
+	}
+
+	private void _accept() throws IOException {
+		SocketChannel channel = _serverChannel.accept();
+		if(channel == null) {
+			return;
+		}
+		channel.configureBlocking(false);
+		channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+		TurkeyWorld world = new TurkeyWorld(_seeds.nextLong(), _settings);
+		GameSession session = new GameSession(this, channel, world, _tickRate, _numTickThreads);
+		_numSessions.incrementAndGet();
+		channel.register(_selector, SelectionKey.OP_READ, session);
+		session.start(_tickThreads);
+	}
+
+	private void _shutDown() {
+		Iterator<SelectionKey> keys = _selector.keys().iterator();
+		while(keys.hasNext()) {
+			Object attachment = keys.next().attachment();
+			if(attachment instanceof GameSession) {
+				((GameSession) attachment).close();
+			}
+		}
+		_tickThreads.shutdownNow();
+		try {
+			_serverChannel.close();
+			_selector.close();
+		} catch(IOException e) {
+			// nothing left to do about it
+		}
+	}
+}
@@ -0,0 +1,283 @@
+/**
+ * GameSession.java
+ *
+ * One player's game on a GameServer: a TurkeyWorld of its own, ticked at
+ * a fixed rate on one of the server's tick threads, and the socket the
+ * player is connected on.
+ *
+ * The server's selector thread reads what the player sends and holds on to
+ * the mouse actions, which are handed to the world on the tick thread
+ * between ticks (like ActiveCanvas does with the Swing event thread). A
+ * player can send far faster than the world ticks, so not everything is
+ * kept: moves only matter for where the mouse ends up, so just the latest
+ * one is, and past MAX_CLICKS_PER_TICK clicks the rest are dropped. They
+ * wait in arrays made up front, so a busy player costs no garbage either.
+ * A player that sends coordinates that aren't numbers is hung up on.
+ *
+ * Only the tick thread touches the world, and only it writes to the
+ * socket, so the world needs no locking. Updates are written without blocking; if the
+ * player hasn't read the last one yet when the next tick is done, the new
+ * one is dropped rather than queued up behind it (see GameProtocol).
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class GameSession implements Runnable {
+
+	// most clicks handed to the world in one tick
+	public static final int MAX_CLICKS_PER_TICK = 4;
+
+	private GameServer _server;
+	private SocketChannel _channel;
+	private TurkeyWorld _world;
+	private float _tickTime;					// seconds of game each tick
+	private ScheduledFuture<?> _ticking;
+	private AtomicBoolean _closed = new AtomicBoolean();
+
+	// mouse actions waiting to be handed to the world, locked by _pendingLock:
+	// the latest move, whether it came after the clicks, and the clicks in
+	// order ({x, y, button} each)
+	private final Object _pendingLock = new Object();
+	private boolean _hasPendingMove;
+	private float _pendingMoveX, _pendingMoveY;
+	private boolean _pendingMoveIsLast;
+	private float[] _pendingClicks = new float[MAX_CLICKS_PER_TICK * 3];
+	private int _numPendingClicks;
+
+	// only the selector thread uses this
+	private ByteBuffer _input = ByteBuffer.allocate(64 * GameProtocol.MOUSE_ACTION_SIZE);
+
+	// only the tick thread uses these
+	private ByteBuffer _output;
+	private int _tick;
+	private String _lastMessage;
+	private int _numUpdatesDropped;
+	private float[] _clicks = new float[MAX_CLICKS_PER_TICK * 3];	// copied out of _pendingClicks
+
+	/**
+	 * Create a session for a player who just connected
+	 *
+	 * @param server
+	 * @param channel - The player's socket, already non-blocking
+	 * @param world - A brand new world for the player
+	 * @param tickRate - Ticks per second
+	 * @param numTickThreads - How many threads the server ticks on (the player is told)
+	 */
+	public GameSession(GameServer server, SocketChannel channel, TurkeyWorld world, int tickRate, int numTickThreads) {
+		_server = server;
+		_channel = channel;
+		_world = world;
+		_tickTime = 1f / tickRate;
+
+		// room for an update of a full field and a long message, so it hardly ever has to grow
+		_output = ByteBuffer.allocate(Math.max(GameProtocol.HELLO_SIZE,
+				GameProtocol.getMaxUpdateSize(world, null) + world.getSettings().getMaxNumTurkeys() * 5 + 512));
+
+		// the hello goes out with the first tick
+		GameProtocol.writeHello(_output, world, tickRate, numTickThreads);
+		_output.flip();
+	}
+
+	/**
+	 * Start ticking the world
+	 *
+	 * @param tickThreads
+	 */
+	public void start(ScheduledExecutorService tickThreads) {
+		long period = Math.round(_tickTime * 1e9);
+		_ticking = tickThreads.scheduleAtFixedRate(this, period, period, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Tick the world once and send the player what happened. Called on one
+	 * of the server's tick threads.
+	 */
+	public void run() {
+		if(_closed.get()) {
+			return;
+		}
+		try {
+			_handleMouseActions();
+			_world.tick(_tickTime);
+			_tick++;
+			_server.countTick();
+			_sendUpdate();
+		} catch(IOException e) {
+			close();
+		} catch(RuntimeException e) {
+			// anything thrown out of here would quietly stop the session
+			// ticking, so end it properly instead
+			System.err.println("Session ended by " + e);
+			close();
+		}
+	}
+
+	/**
+	 * Read whatever the player has sent. Called on the server's selector
+	 * thread when there's something to read.
+	 */
+	public void read() {
+		try {
+			if(_channel.read(_input) < 0) {
+				close();
+				return;
+			}
+		} catch(IOException e) {
+			close();
+			return;
+		}
+
+		_input.flip();
+		while(_input.remaining() >= GameProtocol.MOUSE_ACTION_SIZE) {
+			if(_input.get() != GameProtocol.MOUSE_ACTION) {
+				// not something a player would send
+				close();
+				return;
+			}
+			float x = _input.getFloat();
+			float y = _input.getFloat();
+			int button = _input.get();
+			if(!Float.isFinite(x) || !Float.isFinite(y)) {
+				// nowhere on the field is NaN or infinitely far away
+				close();
+				return;
+			}
+			_holdMouseAction(x, y, button);
+		}
+		_input.compact();
+	}
+
+	/**
+	 * Stop ticking and hang up. Can be called from any thread, any number
+	 * of times.
+	 */
+	public void close() {
+		if(!_closed.compareAndSet(false, true)) {
+			return;
+		}
+		if(_ticking != null) {
+			_ticking.cancel(false);
+		}
+		try {
+			_channel.close();
+		} catch(IOException e) {
+			// it's going away either way
+		}
+		_server.sessionClosed(this);
+	}
+
+	public boolean isClosed() {
+		return _closed.get();
+	}
+
+	public TurkeyWorld getWorld() {
+		return _world;
+	}
+
+	/**
+	 * Get how many updates the player missed because it hadn't read the
+	 * one before yet
+	 *
+	 * @return
+	 */
+	public int getNumUpdatesDropped() {
+		return _numUpdatesDropped;
+	}
+
+	/**
+	 * Keep a mouse action until the next tick (selector thread)
+	 *
+	 * @param x
+	 * @param y
+	 * @param button
+	 */
+	private void _holdMouseAction(float x, float y, int button) {
+		synchronized(_pendingLock) {
+			if(button == -1) {
+				_hasPendingMove = true;
+				_pendingMoveX = x;
+				_pendingMoveY = y;
+				_pendingMoveIsLast = true;
+			} else if(_numPendingClicks < MAX_CLICKS_PER_TICK) {
+				int i = _numPendingClicks * 3;
+				_pendingClicks[i] = x;
+				_pendingClicks[i + 1] = y;
+				_pendingClicks[i + 2] = button;
+				_numPendingClicks++;
+				_pendingMoveIsLast = false;
+			}
+		}
+	}
+
+	/**
+	 * Hand the world what the player did since the last tick (tick thread)
+	 */
+	private void _handleMouseActions() {
+		boolean hasMove;
+		float moveX, moveY;
+		boolean moveIsLast;
+		int numClicks;
+		synchronized(_pendingLock) {
+			hasMove = _hasPendingMove;
+			moveX = _pendingMoveX;
+			moveY = _pendingMoveY;
+			moveIsLast = _pendingMoveIsLast;
+			numClicks = _numPendingClicks;
+			System.arraycopy(_pendingClicks, 0, _clicks, 0, numClicks * 3);
+			_hasPendingMove = false;
+			_numPendingClicks = 0;
+		}
+
+		// the world is only told outside the lock, so reading never waits on a tick
+		if(hasMove && !moveIsLast) {
+			_world.mouseAction(moveX, moveY, -1);
+		}
+		for(int i = 0; i < numClicks * 3; i += 3) {
+			_world.mouseAction(_clicks[i], _clicks[i + 1], (int) _clicks[i + 2]);
+		}
+		if(hasMove && moveIsLast) {
+			_world.mouseAction(moveX, moveY, -1);
+		}
+	}
+
+	private void _sendUpdate() throws IOException {
+
+		// finish the last update before starting a new one, or skip this one
+		if(_output.hasRemaining()) {
+			_channel.write(_output);
+			if(_output.hasRemaining()) {
+				_numUpdatesDropped++;
+				return;
+			}
+		}
+
+		// the message only goes out when it changes
+		byte[] message = null;
+		String currentMessage = _world.getMessage();
+		if(!currentMessage.equals(_lastMessage)) {
+			message = GameProtocol.encodeMessage(currentMessage);
+			_lastMessage = currentMessage;
+		}
+
+		int size = GameProtocol.getMaxUpdateSize(_world, message);
+		if(size > _output.capacity()) {
+			_output = ByteBuffer.allocate(size * 2);
+		}
+		_output.clear();
+		GameProtocol.writeUpdate(_output, _world, _tick, message);
+		_output.flip();
+		_channel.write(_output);
+	}
+}
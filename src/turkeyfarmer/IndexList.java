@@ -0,0 +1,66 @@
+/**
+ * IndexList.java
+ *
+ * A growable list of int indexes. Used to hand back turkey indexes from
+ * the spatial grid without boxing them or making a new list every time.
+ *
+ * Lookups that are done with their list before the next one starts can
+ * share one list per thread (see getScratch()). A list only grows, so
+ * once the few shared lists have fit the biggest crowd the grid hands
+ * back, lookups never make anything again.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public class IndexList {
+
+	private int[] _indexes;
+	private int _size;
+
+	private static final ThreadLocal<IndexList> _scratchLists = new ThreadLocal<IndexList>() {
+		@Override
+		protected IndexList initialValue() {
+			return new IndexList();
+		}
+	};
+
+	/**
+	 * Get the list the current thread uses for lookups. Whatever was in it
+	 * from the last lookup is about to be overwritten, so don't hang on to
+	 * it past the next one.
+	 *
+	 * @return
+	 */
+	public static IndexList getScratch() {
+		return _scratchLists.get();
+	}
+
+	public IndexList() {
+		_indexes = new int[16];
+	}
+
+	public void add(int index) {
+		if(_size == _indexes.length) {
+			int[] indexes = new int[_indexes.length * 2];
+			System.arraycopy(_indexes, 0, indexes, 0, _size);
+			_indexes = indexes;
+		}
+		_indexes[_size++] = index;
+	}
+
+	public int get(int position) {
+		return _indexes[position];
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	public void clear() {
+		_size = 0;
+	}
+}
@@ -0,0 +1,298 @@
+/**
+ * InputRecording.java
+ *
+ * Everything needed to play a game of Turkey Farmer over again exactly:
+ * the world's seed and settings, how much time every tick advanced the game by, and
+ * every mouse action along with the tick it came before. Since all of a
+ * world's randomness comes from its seed and all of its timing from its
+ * own clock, feeding the same ticks and mouse actions into a new world
+ * with the same seed plays out the same game down to the last bit.
+ *
+ * Every so often the recording also writes down a checksum of the world
+ * (see TurkeyWorld.getStateChecksum()), so an InputReplayer can tell
+ * exactly when a replay stopped matching the original, like after a
+ * change that was only supposed to make the game faster.
+ *
+ * Recordings are saved in a small binary format with the floats stored
+ * bit for bit.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+public class InputRecording {
+
+	private static final int MAGIC = 0x54465234;	// "TFR4"
+	private static final int OLDEST_MAGIC = 0x54465231;	// "TFR1", the first version
+
+	private long _seed;
+	private WorldSettings _settings;
+	private int _checkpointInterval = 60;		// ticks between checksums
+
+	// how far each tick advanced the game
+	private float[] _elapsedTimes = new float[1024];
+	private int _numTicks;
+
+	// mouse actions and the number of ticks that had run before each of them
+	private int[] _actionTicks = new int[64];
+	private float[] _actionX = new float[64], _actionY = new float[64];
+	private int[] _actionButtons = new int[64];
+	private int _numActions;
+
+	// world checksums taken after every _checkpointInterval ticks
+	private long[] _checksums = new long[64];
+	private int _numChecksums;
+
+	/**
+	 * Start an empty recording of a world created with a seed and settings
+	 *
+	 * @param seed
+	 * @param settings
+	 */
+	public InputRecording(long seed, WorldSettings settings) {
+		_seed = seed;
+		_settings = settings;
+	}
+
+	/**
+	 * Write down a mouse action. It will be replayed before the next tick.
+	 *
+	 * @param x
+	 * @param y
+	 * @param button
+	 */
+	public synchronized void recordMouseAction(float x, float y, int button) {
+		if(_numActions == _actionTicks.length) {
+			int capacity = _actionTicks.length * 2;
+			_actionTicks = _grow(_actionTicks, capacity);
+			_actionX = _grow(_actionX, capacity);
+			_actionY = _grow(_actionY, capacity);
+			_actionButtons = _grow(_actionButtons, capacity);
+		}
+		_actionTicks[_numActions] = _numTicks;
+		_actionX[_numActions] = x;
+		_actionY[_numActions] = y;
+		_actionButtons[_numActions] = button;
+		_numActions++;
+	}
+
+	/**
+	 * Write down a tick once the world has finished it
+	 *
+	 * @param elapsedTime - How far the tick advanced the game in seconds
+	 * @param world - The world that was ticked, to checksum now and then
+	 */
+	public synchronized void recordTick(float elapsedTime, TurkeyWorld world) {
+		if(_numTicks == _elapsedTimes.length) {
+			_elapsedTimes = _grow(_elapsedTimes, _elapsedTimes.length * 2);
+		}
+		_elapsedTimes[_numTicks] = elapsedTime;
+		_numTicks++;
+
+		if(_numTicks % _checkpointInterval == 0) {
+			if(_numChecksums == _checksums.length) {
+				long[] checksums = new long[_checksums.length * 2];
+				System.arraycopy(_checksums, 0, checksums, 0, _numChecksums);
+				_checksums = checksums;
+			}
+			_checksums[_numChecksums++] = world.getStateChecksum();
+		}
+	}
+
+	public long getSeed() {
+		return _seed;
+	}
+
+	/**
+	 * Get the settings the recorded world was made with
+	 *
+	 * @return
+	 */
+	public WorldSettings getSettings() {
+		return _settings;
+	}
+
+	public synchronized int getNumTicks() {
+		return _numTicks;
+	}
+
+	public synchronized float getElapsedTime(int tick) {
+		return _elapsedTimes[tick];
+	}
+
+	public synchronized int getNumMouseActions() {
+		return _numActions;
+	}
+
+	/**
+	 * Get how many ticks had run before a mouse action
+	 *
+	 * @param action
+	 * @return
+	 */
+	public synchronized int getMouseActionTick(int action) {
+		return _actionTicks[action];
+	}
+	public synchronized float getMouseActionX(int action) {
+		return _actionX[action];
+	}
+	public synchronized float getMouseActionY(int action) {
+		return _actionY[action];
+	}
+	public synchronized int getMouseActionButton(int action) {
+		return _actionButtons[action];
+	}
+
+	public int getCheckpointInterval() {
+		return _checkpointInterval;
+	}
+
+	public synchronized int getNumChecksums() {
+		return _numChecksums;
+	}
+
+	/**
+	 * Get the world's checksum after (checkpoint + 1) * getCheckpointInterval() ticks
+	 *
+	 * @param checkpoint
+	 * @return
+	 */
+	public synchronized long getChecksum(int checkpoint) {
+		return _checksums[checkpoint];
+	}
+
+	/**
+	 * Save the recording to a file
+	 *
+	 * @param file
+	 * @throws IOException
+	 */
+	public synchronized void save(File file) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeLong(_seed);
+			out.writeInt(_settings.getFieldWidth());
+			out.writeInt(_settings.getFieldHeight());
+			out.writeInt(_settings.getNumStartingTurkeys());
+			out.writeInt(_settings.getMaxNumTurkeys());
+			out.writeInt(_settings.getMaxNumTurkeysPerWin());
+			out.writeDouble(_settings.getInfectionChance());
+			out.writeDouble(_settings.getInfectionChancePerWin());
+			out.writeInt(_settings.getNumTurkeysToWin());
+			out.writeInt(_settings.getNumTurkeysToWinPerWin());
+			out.writeInt(_settings.getMinSecondsBetweenTurkeys());
+			out.writeInt(_settings.getMaxSecondsBetweenTurkeys());
+			out.writeBoolean(_settings.hasLevelOfDetail());
+			out.writeInt(_settings.getLodNearDistance());
+			out.writeInt(_settings.getLodFarDistance());
+			out.writeInt(_settings.getLodMidInterval());
+			out.writeInt(_checkpointInterval);
+			out.writeInt(_numTicks);
+			for(int i = 0; i < _numTicks; i++) {
+				out.writeFloat(_elapsedTimes[i]);
+			}
+			out.writeInt(_numActions);
+			for(int i = 0; i < _numActions; i++) {
+				out.writeInt(_actionTicks[i]);
+				out.writeFloat(_actionX[i]);
+				out.writeFloat(_actionY[i]);
+				out.writeInt(_actionButtons[i]);
+			}
+			out.writeInt(_numChecksums);
+			for(int i = 0; i < _numChecksums; i++) {
+				out.writeLong(_checksums[i]);
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Load a recording saved with save()
+	 *
+	 * @param file
+	 * @return
+	 * @throws IOException - If the file can't be read or isn't a recording
+	 */
+	public static InputRecording load(File file) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			int magic = in.readInt();
+			if(magic >= OLDEST_MAGIC && magic < MAGIC) {
+				throw new IOException(file + " was recorded by an older version of Turkey Farmer and can't be replayed");
+			} else if(magic != MAGIC) {
+				throw new IOException(file + " is not a Turkey Farmer recording");
+			}
+			long seed = in.readLong();
+			WorldSettings settings = new WorldSettings();
+			settings.setFieldWidth(in.readInt());
+			settings.setFieldHeight(in.readInt());
+			settings.setNumStartingTurkeys(in.readInt());
+			settings.setMaxNumTurkeys(in.readInt());
+			settings.setMaxNumTurkeysPerWin(in.readInt());
+			settings.setInfectionChance(in.readDouble());
+			settings.setInfectionChancePerWin(in.readDouble());
+			settings.setNumTurkeysToWin(in.readInt());
+			settings.setNumTurkeysToWinPerWin(in.readInt());
+			settings.setSecondsBetweenTurkeys(in.readInt(), in.readInt());
+			settings.setLevelOfDetail(in.readBoolean());
+			settings.setLodDistances(in.readInt(), in.readInt());
+			settings.setLodMidInterval(in.readInt());
+			InputRecording recording = new InputRecording(seed, settings);
+			recording._checkpointInterval = in.readInt();
+
+			recording._numTicks = in.readInt();
+			recording._elapsedTimes = new float[Math.max(1, recording._numTicks)];
+			for(int i = 0; i < recording._numTicks; i++) {
+				recording._elapsedTimes[i] = in.readFloat();
+			}
+
+			int numActions = in.readInt();
+			recording._numActions = numActions;
+			recording._actionTicks = new int[Math.max(1, numActions)];
+			recording._actionX = new float[Math.max(1, numActions)];
+			recording._actionY = new float[Math.max(1, numActions)];
+			recording._actionButtons = new int[Math.max(1, numActions)];
+			for(int i = 0; i < numActions; i++) {
+				recording._actionTicks[i] = in.readInt();
+				recording._actionX[i] = in.readFloat();
+				recording._actionY[i] = in.readFloat();
+				recording._actionButtons[i] = in.readInt();
+			}
+
+			recording._numChecksums = in.readInt();
+			recording._checksums = new long[Math.max(1, recording._numChecksums)];
+			for(int i = 0; i < recording._numChecksums; i++) {
+				recording._checksums[i] = in.readLong();
+			}
+			return recording;
+		} finally {
+			in.close();
+		}
+	}
+
+	private int[] _grow(int[] values, int capacity) {
+		int[] grown = new int[capacity];
+		System.arraycopy(values, 0, grown, 0, values.length);
+		return grown;
+	}
+
+	private float[] _grow(float[] values, int capacity) {
+		float[] grown = new float[capacity];
+		System.arraycopy(values, 0, grown, 0, values.length);
+		return grown;
+	}
+}
@@ -0,0 +1,281 @@
+/**
+ * InputReplayer.java
+ *
+ * Plays an InputRecording back into a brand new TurkeyWorld, without a
+ * display, as fast as the machine allows. Mouse actions are handed to the
+ * world before the same tick they came before when the game was recorded,
+ * and every tick advances the world by exactly the recorded amount, so
+ * the replay is the recorded game over again bit for bit.
+ *
+ * Whenever the recording has a checksum for a tick the replay's world is
+ * checked against it, which makes a replay a quick way to make sure a
+ * change didn't change the game (compare a run with -Dturkeyfarmer.parallel
+ * to one without, for instance), and a way to run the exact same game
+ * over and over for performance testing.
+ *
+ * It can also check that level of detail (see LevelOfDetail) doesn't change
+ * the part of the game the player can interact with. With "compare" the
+ * recording is played into two worlds side by side, one with level of
+ * detail and one without as the reference, and every tick the farmer and
+ * the turkeys within his interaction radius are compared between them.
+ * They have to match bit for bit until the first turkey that was moved
+ * with less detail comes within the near distance of the farmer. From
+ * then on the two games are allowed to drift apart (a simplified turkey
+ * isn't where it would have been), so how long they kept matching is
+ * only reported.
+ *
+ * Run it with:
+ *   java -Djava.awt.headless=true -cp <game jar> turkeyfarmer.InputReplayer <recording> [parallel] [compare]
+ *
+ * Make a recording by playing with -Dturkeyfarmer.record=<recording>.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.io.File;
+import java.util.List;
+
+public class InputReplayer {
+
+	private InputRecording _recording;
+	private TurkeyWorld _world;
+	private int _nextTick;
+	private int _nextAction;
+	private int _firstMismatchTick = -1;
+
+	/**
+	 * Get ready to replay a recording into a new world with the recording's
+	 * seed and settings
+	 *
+	 * @param recording
+	 */
+	public InputReplayer(InputRecording recording) {
+		this(recording, recording.getSettings());
+	}
+
+	/**
+	 * Get ready to replay a recording into a new world with the recording's
+	 * seed but different settings, like with level of detail turned on or
+	 * off. Settings that change the game will make the replay stop
+	 * matching the recording's checksums.
+	 *
+	 * @param recording
+	 * @param settings
+	 */
+	public InputReplayer(InputRecording recording, WorldSettings settings) {
+		_recording = recording;
+		_world = new TurkeyWorld(recording.getSeed(), settings);
+	}
+
+	/**
+	 * Get the world the recording is being played into, like to turn on
+	 * parallel turkey moving before the replay starts
+	 *
+	 * @return
+	 */
+	public TurkeyWorld getWorld() {
+		return _world;
+	}
+
+	/**
+	 * Replay the next tick along with the mouse actions that came before it
+	 *
+	 * @return false once the whole recording has been replayed
+	 */
+	public boolean step() {
+
+		if(_nextTick >= _recording.getNumTicks()) {
+			return false;
+		}
+
+		while(_nextAction < _recording.getNumMouseActions() && _recording.getMouseActionTick(_nextAction) <= _nextTick) {
+			_world.mouseAction(_recording.getMouseActionX(_nextAction), _recording.getMouseActionY(_nextAction),
+					_recording.getMouseActionButton(_nextAction));
+			_nextAction++;
+		}
+
+		_world.tick(_recording.getElapsedTime(_nextTick));
+		_nextTick++;
+
+		// check the world against the recording if it has a checksum for this tick
+		int interval = _recording.getCheckpointInterval();
+		int checkpoint = _nextTick / interval - 1;
+		if(_nextTick % interval == 0 && checkpoint < _recording.getNumChecksums() && _firstMismatchTick == -1) {
+			if(_world.getStateChecksum() != _recording.getChecksum(checkpoint)) {
+				_firstMismatchTick = _nextTick;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Replay everything that's left of the recording
+	 *
+	 * @return true if the replay matched the recording all the way through
+	 */
+	public boolean replay() {
+		while(step()) {
+		}
+		return matches();
+	}
+
+	/**
+	 * Has the replay matched the recording so far?
+	 *
+	 * @return
+	 */
+	public boolean matches() {
+		return _firstMismatchTick == -1;
+	}
+
+	/**
+	 * Get the first tick after which the replay's world didn't match the
+	 * recording. The world actually went wrong somewhere in the checkpoint
+	 * interval leading up to it.
+	 *
+	 * @return The number of ticks replayed when the mismatch was found, or -1
+	 */
+	public int getFirstMismatchTick() {
+		return _firstMismatchTick;
+	}
+
+	public int getNumTicksReplayed() {
+		return _nextTick;
+	}
+
+	/**
+	 * Replay a recording from the command line and report whether it matched
+	 *
+	 * @param args - The recording's file name, then "parallel" to move
+	 *               turkeys in parallel and "compare" to compare level of
+	 *               detail with the reference
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		if(args.length < 1) {
+			System.err.println("Usage: InputReplayer <recording> [parallel] [compare]");
+			System.exit(2);
+		}
+
+		boolean parallel = false;
+		boolean compare = false;
+		for(int i = 1; i < args.length; i++) {
+			parallel = parallel || args[i].equals("parallel");
+			compare = compare || args[i].equals("compare");
+		}
+
+		InputRecording recording = InputRecording.load(new File(args[0]));
+		if(compare) {
+			_compareLevelOfDetail(recording, parallel);
+			return;
+		}
+
+		InputReplayer replayer = new InputReplayer(recording);
+		replayer.getWorld().setParallel(parallel);
+
+		long start = System.nanoTime();
+		boolean matched = replayer.replay();
+		long duration = System.nanoTime() - start;
+
+		TurkeyWorld world = replayer.getWorld();
+		System.out.printf("Replayed %d ticks and %d mouse actions in %.1f ms (%.0f ticks/s)%n",
+				replayer.getNumTicksReplayed(), recording.getNumMouseActions(), duration / 1e6,
+				replayer.getNumTicksReplayed() / (duration / 1e9));
+		System.out.printf("Game time %d s, %d turkeys, %d zombies, %d caught, %d wins, checksum %016x%n",
+				world.getGameTimeInSeconds(), world.getTurkeys().size(), world.getNumZombies(),
+				world.getFarmer().getNumTurkeysCaught(), world.getNumWins(), world.getStateChecksum());
+
+		if(matched) {
+			System.out.println("Matched all " + recording.getNumChecksums() + " checkpoints");
+		} else {
+			System.out.println("Stopped matching the recording by tick " + replayer.getFirstMismatchTick());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Replay a recording with and without level of detail side by side and
+	 * report whether the farmer and the turkeys around him ever differed
+	 *
+	 * @param recording
+	 * @param parallel
+	 */
+	private static void _compareLevelOfDetail(InputRecording recording, boolean parallel) {
+		WorldSettings referenceSettings = recording.getSettings().copy();
+		referenceSettings.setLevelOfDetail(false);
+		WorldSettings detailSettings = recording.getSettings().copy();
+		detailSettings.setLevelOfDetail(true);
+
+		InputReplayer reference = new InputReplayer(recording, referenceSettings);
+		InputReplayer detail = new InputReplayer(recording, detailSettings);
+		reference.getWorld().setParallel(parallel);
+		detail.getWorld().setParallel(parallel);
+
+		// time each one on its own, then compare them tick by tick
+		long referenceTime = 0, detailTime = 0;
+		int numTicks = 0, numMatched = 0, firstDifference = -1;
+		int firstContact = -1;		// when a simplified turkey first got near the farmer
+		while(true) {
+			long start = System.nanoTime();
+			boolean more = reference.step();
+			referenceTime += System.nanoTime() - start;
+			start = System.nanoTime();
+			detail.step();
+			detailTime += System.nanoTime() - start;
+			if(!more) {
+				break;
+			}
+
+			numTicks++;
+			if(reference.getWorld().getChecksumNearFarmer() == detail.getWorld().getChecksumNearFarmer()) {
+				numMatched++;
+			} else if(firstDifference == -1) {
+				firstDifference = numTicks;
+			}
+			if(firstContact == -1 && _isSimplifiedTurkeyNear(detail.getWorld(), detailSettings.getLodNearDistance())) {
+				firstContact = numTicks;
+			}
+		}
+
+		System.out.printf("Level of detail: near %d, far %d, in between every %d ticks%n",
+				detailSettings.getLodNearDistance(), detailSettings.getLodFarDistance(), detailSettings.getLodMidInterval());
+		_printOutcome("Reference", reference.getWorld(), referenceTime, numTicks);
+		_printOutcome("Level of detail", detail.getWorld(), detailTime, numTicks);
+
+		int radius = reference.getWorld().getFarmerInteractionRadius();
+		if(firstDifference == -1) {
+			System.out.println("Within " + radius + " of the farmer, matched the reference on all " + numTicks + " ticks");
+			return;
+		}
+		System.out.println("Within " + radius + " of the farmer, matched the reference on " + numMatched + " of "
+				+ numTicks + " ticks, first differing at tick " + firstDifference);
+		if(firstContact == -1 || firstDifference < firstContact) {
+			System.out.println("Differed before any simplified turkey came within "
+					+ detailSettings.getLodNearDistance() + " of the farmer");
+			System.exit(1);
+		}
+		System.out.println("Matched until a simplified turkey came within "
+				+ detailSettings.getLodNearDistance() + " of the farmer at tick " + firstContact);
+	}
+
+	private static boolean _isSimplifiedTurkeyNear(TurkeyWorld world, int distance) {
+		List<Turkey> turkeys = world.getTurkeys();
+		for(int i = 0; i < turkeys.size(); i++) {
+			Turkey turkey = turkeys.get(i);
+			if(turkey.hasBeenSimplified() && turkey.getDistanceSquaredFrom(world.getFarmer()) < (float) distance * distance) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void _printOutcome(String name, TurkeyWorld world, long duration, int numTicks) {
+		System.out.printf("%-16s %.1f ms (%.0f ticks/s), %d turkeys, %d zombies, %d caught, %s%n", name + ":",
+				duration / 1e6, numTicks / (duration / 1e9), world.getTurkeys().size(), world.getNumZombies(),
+				world.getFarmer().getNumTurkeysCaught(), world.getFarmer().isDead() ? "dead" : "alive");
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * LevelOfDetail.java
+ *
+ * Decides how much of a turkey's behavior to run each tick based on how
+ * far it is from the farmer. On a big field most turkeys are far away,
+ * and nobody can tell whether they're fleeing, keeping their distance
+ * from each other or chasing something.
+ *
+ *   NEAR - closer than the near distance: the whole move, every tick
+ *   MID  - the whole move, but only every few ticks, with the time in
+ *          between saved up and spent all at once
+ *   FAR  - farther than the far distance: just keep walking towards the
+ *          turkey's current target (see Turkey.cruise())
+ *
+ * A turkey that moves closer picks up any time it had saved up, so no
+ * turkey ever loses time. Which ticks a MID turkey moves on is staggered
+ * by the order turkeys were made in, so they don't all move on the same
+ * tick. None of it uses the turkeys' random numbers any differently from
+ * a full move, so a world with level of detail is just as repeatable as
+ * one without.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public class LevelOfDetail {
+
+	public static final byte NEAR = 0;
+	public static final byte MID = 1;
+	public static final byte FAR = 2;
+
+	// distances are compared squared so no square roots are needed
+	private float _nearDistanceSquared;
+	private float _farDistanceSquared;
+	private int _midInterval;
+
+	/**
+	 * Create the tiers from a world's settings
+	 *
+	 * @param settings
+	 */
+	public LevelOfDetail(WorldSettings settings) {
+		_nearDistanceSquared = (float) settings.getLodNearDistance() * settings.getLodNearDistance();
+		_farDistanceSquared = (float) settings.getLodFarDistance() * settings.getLodFarDistance();
+		_midInterval = settings.getLodMidInterval();
+	}
+
+	/**
+	 * Work out which tier a turkey is in
+	 *
+	 * @param turkey
+	 * @param farmer
+	 * @return NEAR, MID or FAR
+	 */
+	public byte getTier(Turkey turkey, Sprite farmer) {
+		float distanceSquared = turkey.getDistanceSquaredFrom(farmer);
+		if(distanceSquared < _nearDistanceSquared) {
+			return NEAR;
+		} else if(distanceSquared < _farDistanceSquared) {
+			return MID;
+		}
+		return FAR;
+	}
+
+	/**
+	 * Move a turkey as much as its tier calls for. Only touches the turkey
+	 * itself, so turkeys can be moved on any thread just like with
+	 * Turkey.move().
+	 *
+	 * @param turkey
+	 * @param farmer
+	 * @param elapsedTime - seconds since the last tick
+	 */
+	public void move(Turkey turkey, Sprite farmer, float elapsedTime) {
+		switch(getTier(turkey, farmer)) {
+			case NEAR:
+				turkey.move(elapsedTime + turkey.takeDeferredTime());
+				break;
+			case MID:
+				turkey.deferTime(elapsedTime);
+				if(turkey.countDeferredTick() % _midInterval == 0) {
+					turkey.move(turkey.takeDeferredTime());
+				}
+				break;
+			default:
+				turkey.cruise(elapsedTime + turkey.takeDeferredTime());
+		}
+	}
+}
@@ -0,0 +1,482 @@
+/**
+ * MovingSprite.java
+ * 
+ * Extends Sprite
+ * 
+ * Extends Sprite and adds movement while handling calculations to allow 
+ * moving a given distance along a line rather than only in one of eight
+ * directions. Also allows for the specification of an image for 
+ * each of four directions so that it looks like the sprite is always
+ * facing in the direction that it is moving.
+ * 
+ * @authors Jerome Dane, Sandra Poulos 
+ * @compids jd7yj, sp5uk 
+ * @lab 1111
+ * 
+ */
+
+package turkeyfarmer;
+
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+
+public class MovingSprite extends Sprite {
+
+	protected float _targetX, _targetY, _speed;
+	protected String _spriteFolderName;
+	private int _topBound = -1;
+	private int _rightBound = -1;
+	private int _bottomBound = -1;
+	private int _leftBound = -1;
+	private boolean _inDebugMode = false;
+	
+	// unit vector pointing from the sprite towards its target, worked out
+	// again (with one square root) only after the target changes or the
+	// sprite is put somewhere it didn't walk to
+	private float _directionX, _directionY;
+	private boolean _directionStale = true;
+	
+	// the angle is only needed to pick an image to draw, so it's worked out
+	// from the direction when it's asked for
+	private float _angle;
+	private boolean _angleStale = true;
+	// directional images and animations, indexed by Direction.ordinal()
+	private BufferedImage[] _directionalImages = new BufferedImage[Direction.all().length];
+	private AnimatedImage[] _directionalAnimations = new AnimatedImage[Direction.all().length];
+	
+	private long _lastMoveTime = -1;			// the last time this was moved
+	protected SimulationClock _clock;			// the game's clock, or null to go by the wall clock
+	private long _animationStartTime;			// when on the clock this sprite's animations started
+	private Random _random = new Random();		// this sprite's own source of randomness
+	
+	public MovingSprite() {
+	}
+	public MovingSprite(float x, float y) {
+		super(x, y);
+	}
+	public MovingSprite(float x, float y, float speed) {
+		this(x, y);
+		_speed = speed;
+	}
+
+	/**
+	 * Get the side the moving sprite is closest to
+	 * 
+	 * @return
+	 */
+	public Side getClosestSide() {
+
+		float distToTop = getY() - getTopBound();
+		float distToRight = getRightBound() - getX();
+		float distToBottom = getBottomtBound() - getY();
+		float distToLeft = getX() - getLeftBound();
+
+		if(distToTop < distToRight && distToTop < distToBottom && distToTop < distToLeft) {
+			return Side.TOP;
+		} 
+		else if(distToRight < distToTop && distToRight < distToBottom && distToRight < distToLeft) {
+			return Side.RIGHT;
+		} 
+		else if(distToBottom < distToTop && distToBottom < distToRight && distToBottom < distToLeft) {
+			return Side.BOTTOM;
+		}
+		return Side.LEFT;
+	}
+
+	
+	/**
+	 * Set a directional image
+	 * 
+	 * @param string
+	 */
+	public void setDirectionalImage(Direction direction, String fileName) {
+		setDirectionalImage(direction, prepareImage(fileName));
+	}
+	public void setDirectionalImage(Direction direction, BufferedImage image) {
+		_directionalImages[direction.ordinal()] = image;
+	}
+	public void setDirectionalImage(Direction direction, AnimatedImage image) {
+		_directionalAnimations[direction.ordinal()] = image;
+	}
+	
+	/**
+	 * Update this sprite's image from the direction it's facing
+	 * 
+	 * @param string
+	 */
+	public void setImageFromDirection(Direction direction) {
+		
+		AnimatedImage animation = _directionalAnimations[direction.ordinal()];
+		
+		// check for an animation sequence
+		if(animation != null) {
+			
+			SpriteAtlas.Frame frame = null;
+			if(getDistanceSquaredFrom(_targetX, _targetY) > 5 * 5) {
+				
+				// if moving get the current animation image, going by the game's clock if we have it
+				if(_clock != null) {
+					frame = animation.getFrameAt(_clock.getTimeInMillis() - _animationStartTime);
+				} else {
+					frame = animation.getFrame();
+				}
+			} else {
+				
+				// if not moving, just get the first static image in the animation seqience
+				frame = animation.getFrame(0);
+			}
+			if(frame != null) {
+				setFrame(frame);
+			}
+			
+		} else {
+			// otherwise check for a static image
+			BufferedImage image = _directionalImages[direction.ordinal()];
+			if(image != null) {
+				setImage(image);
+			}
+		}
+	}
+	
+	/**
+	 * Set a new target in the opposite direction of the given sprite
+	 * 
+	 * @param sprite
+	 */
+	public void setTargetOpposite(Sprite sprite) {
+		setTargetOpposite(sprite.getX(), sprite.getY());
+	}
+	
+	/**
+	 * Set a new target in the opposite direction of an x,y point
+	 * 
+	 * @param x
+	 * @param y
+	 */
+	public void setTargetOpposite(float x, float y) {
+		
+		// the new target will be really far away from the offending sprite
+		float distance = 999999;	
+		
+		// head along the line from the point through the sprite
+		float awayX = getX() - x;
+		float awayY = getY() - y;
+		float length = (float) Math.sqrt(awayX * awayX + awayY * awayY);
+		float deltaX = distance;	// straight right if we're right on top of the point
+		float deltaY = 0;
+		if(length > 0) {
+			deltaX = awayX / length * distance;
+			deltaY = awayY / length * distance;
+		}
+		
+		// the target's y has always been measured from the sprite's x, which
+		// hardly matters this far out; kept so sprites flee the way they always have
+		setTarget(getX() + deltaX, getX() + deltaY);
+	}
+	
+	/**
+	 * Get the angle of the line towards the target, in radians from the
+	 * positive x axis. Only worked out when it's asked for since the
+	 * direction was last updated.
+	 * 
+	 * @return
+	 */
+	public float getAngle() {
+		if(_angleStale) {
+			_angle = (float) Math.atan2(getDirectionY(), getDirectionX());
+			_angleStale = false;
+		}
+		return _angle;
+	}
+	
+	/**
+	 * Get the x part of the unit vector pointing towards the target (0 if
+	 * the sprite is right on its target)
+	 * 
+	 * @return
+	 */
+	public float getDirectionX() {
+		if(_directionStale) {
+			_updateDirection();
+		}
+		return _directionX;
+	}
+	public float getDirectionY() {
+		if(_directionStale) {
+			_updateDirection();
+		}
+		return _directionY;
+	}
+	
+	public float getTargetX() {
+		return _targetX;
+	}
+	public float getTargetY() {
+		return _targetY;
+	}
+	public float getSpeed() {
+		return _speed;
+	}
+	
+	public void enableDebugMode() {
+		_inDebugMode = true;
+	}
+	public void disableDebugMode() {
+		_inDebugMode = false;
+	}
+	
+	/**
+	 * Get the compass direction the sprite is facing
+	 * 
+	 * @return
+	 */
+	public Direction getDirection() {
+		return Direction.fromAngle(getAngle());
+	}
+	
+	public void drawDetails(Graphics2D g) {
+		super.drawDetails(g);
+		
+		// change the sprite's image base don direction if image found	
+		setImageFromDirection(getDirection());
+		
+		// show line from sprite center to target if debug mode is enabled
+		if(_inDebugMode) {
+			g.drawLine((int) getX(), (int) getY(), (int) _targetX, (int) _targetY);
+			// draw current direction and angle
+			g.drawString(getDirection().getLetter() + ": " + getAngle() + "", getX(), getY() + getHeight() / 2 + 10);
+		}
+	}
+	
+	/**
+	 * Move a certain distance along the line towards the target
+	 * 
+	 * Note: We knew roughly how to do this, but had to refresh
+	 * ourselves on the actual formula. A quick search of Google
+	 * turned up http://stackoverflow.com/a/5995931, which we used to 
+	 * figure out how to calculate the X and Y deltas 
+	 */
+	public void move() {
+		move(_getElapsedTimeSinceLastMove());
+	}
+	
+	/**
+	 * Move along the line towards the target as far as the sprite's speed
+	 * allows in the given amount of time. This lets a simulation drive
+	 * movement from its own clock rather than the wall clock.
+	 * 
+	 * @param elapsedTime - seconds since the last move
+	 */
+	public void move(float elapsedTime) {
+		
+		float distanceToTargetSquared = getDistanceSquaredFrom(_targetX, _targetY);
+		float distance = _speed * elapsedTime;
+		
+		// don't calculating the move if we're close to our target 
+		// and we can't move forther than the target
+		if(distanceToTargetSquared > 2 * 2 && distance * distance < distanceToTargetSquared) {	
+			
+			// step along the direction towards the target
+			// see note above for credit on this formula
+			if(_directionStale) {
+				_updateDirection();
+			}
+			float deltaX = _directionX * distance;
+			float deltaY = _directionY * distance;
+			
+			boolean movingRight = deltaX > 0;
+			boolean movingDown = deltaY > 0;
+	
+			// only move if within bounds, or if entering bounds. If we can't
+			// move one way we've left the line to the target, so the
+			// direction has to be worked out again next time.
+			if((movingRight || _x + deltaX > _leftBound) && (!movingRight || _x + deltaX < _rightBound)) {
+				_x += deltaX;
+			} else {
+				_markDirectionStale();
+			}
+			if((movingDown || _y + deltaY > _topBound) && (!movingDown || _y + deltaY < _bottomBound)) {
+				_y += deltaY;
+			} else {
+				_markDirectionStale();
+			}
+		} else {
+			// Since we're so close to the target, just move to it
+			_x = _targetX;
+			_y = _targetY;
+		}
+	}
+		
+	
+	// see comment on move() method
+	private void _updateDirection() {
+		float deltaX = _targetX - _x;
+		float deltaY = _targetY - _y;
+		float length = (float) Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+		if(length > 0) {
+			_directionX = deltaX / length;
+			_directionY = deltaY / length;
+		} else {
+			_directionX = 0;
+			_directionY = 0;
+		}
+		_directionStale = false;
+		_angleStale = true;
+	}
+	
+	private void _markDirectionStale() {
+		_directionStale = true;
+		_angleStale = true;
+	}
+	
+	/**
+	 * Put the sprite somewhere without walking there, so the direction
+	 * towards the target has to be worked out again
+	 */
+	public void setX(float x) {
+		super.setX(x);
+		_markDirectionStale();
+	}
+	public void setX(int x) {
+		super.setX(x);
+		_markDirectionStale();
+	}
+	public void setY(float y) {
+		super.setY(y);
+		_markDirectionStale();
+	}
+	public void setY(int y) {
+		super.setY(y);
+		_markDirectionStale();
+	}
+	
+	/**
+	 * Put the sprite back the way it was when it was made (at 0,0 with no
+	 * target, speed or bounds) so it can be used again, like for a new
+	 * turkey. Its images, clock and random numbers are left for whoever
+	 * sets it up again.
+	 */
+	public void recycle() {
+		_x = 0;
+		_y = 0;
+		_targetX = 0;
+		_targetY = 0;
+		_speed = 0;
+		_topBound = -1;
+		_rightBound = -1;
+		_bottomBound = -1;
+		_leftBound = -1;
+		_inDebugMode = false;
+		_lastMoveTime = -1;
+		_markDirectionStale();
+	}
+	
+	/**
+	 * Set the boundary within which the sprite is allowed to move
+	 * 
+	 * @param top
+	 * @param right
+	 * @param bottom
+	 * @param left
+	 */
+	public void setBounds(int top, int right, int bottom, int left) {
+		_topBound = top;
+		_rightBound = right;
+		_bottomBound = bottom;
+		_leftBound = left;
+	}
+	
+	
+	/**
+	 * The sprite keeps time (how far it has moved, which animation frame to
+	 * show and so on) on the game's clock instead of the wall clock, so it
+	 * looks and behaves the same no matter how fast the game is run
+	 * 
+	 * @param clock
+	 */
+	public void see(SimulationClock clock) {
+		_clock = clock;
+		_animationStartTime = clock.getTimeInMillis();
+	}
+	
+	public SimulationClock getClock() {
+		return _clock;
+	}
+	
+	/**
+	 * Set the sprite's movement speed
+	 * 
+	 * @param speed
+	 */
+	public void setSpeed(float speed) {
+		_speed = speed;
+	}
+	
+	
+	/**
+	 * Set the moving sprite's eventual target in the x,y coordinate space
+	 * REduce "spazzing" around a small target by ignoring small changes 
+	 * in target location
+	 * 
+	 * @param x
+	 * @param y
+	 */
+	public void setTarget(float x, float y) {
+		boolean changeX = Math.abs(_targetX - x) > 5;
+		boolean changeY = Math.abs(_targetY - y) > 5;
+		_targetX =  changeX ? x : _targetX;
+		_targetY =  changeY ? y : _targetY;
+		// face the new target (worked out the next time the direction is needed)
+		if(changeX || changeY) {
+			_markDirectionStale();
+		}
+	}
+	public void setTarget(Sprite sprite) {
+		this.setTarget(sprite.getX(), sprite.getY());
+	}
+	
+	public float getRandomXPointWithinBounds() {
+		return getLeftBound() + _random.nextFloat() * (getRightBound() - getLeftBound());
+	}
+	public float getRandomYPointWithinBounds() {
+		return getTopBound() + _random.nextFloat() * (getBottomtBound() - getTopBound());
+	}
+	
+	/**
+	 * Give the sprite its own random number generator. A sprite with a
+	 * seeded generator makes the same random choices every time, no matter
+	 * which thread moves it.
+	 * 
+	 * @param random
+	 */
+	public void setRandom(Random random) {
+		_random = random;
+	}
+	public Random getRandom() {
+		return _random;
+	}
+	
+	public int getTopBound() {
+		return _topBound;
+	}
+	public int getRightBound() {
+		return _rightBound;
+	}
+	public int getBottomtBound() {
+		return _bottomBound;
+	}
+	public int getLeftBound() {
+		return _leftBound;
+	}
+	
+	private float _getElapsedTimeSinceLastMove() {
+		boolean first = (_lastMoveTime == -1);
+		long now = (_clock != null ? _clock.getTimeInNanos() : System.nanoTime());
+		long elapsedTime = now - _lastMoveTime;
+		_lastMoveTime = now;
+		return (first ? 0.0f : (float) elapsedTime / 1e9f);
+	}
+}
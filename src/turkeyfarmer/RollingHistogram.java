@@ -0,0 +1,141 @@
+/**
+ * RollingHistogram.java
+ *
+ * Keeps the last few thousand values of something measured over and over
+ * (like how long a part of a frame took) and answers questions about them:
+ * the median, the 99th and 99.9th percentiles and the largest value.
+ * Older values fall out of the window as new ones come in, so the numbers
+ * follow what the game is doing now rather than averaging over the whole
+ * run.
+ *
+ * Recording a value is just a store into a ring buffer. The sorting needed
+ * for percentiles only happens when someone asks for one, and the sorted
+ * copy is reused until the next value is recorded.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.util.Arrays;
+
+public class RollingHistogram {
+
+	private long[] _values;			// ring buffer of the most recent values
+	private long[] _sorted;			// the values in the window, sorted when needed
+	private int _next;				// where the next value goes
+	private int _size;				// how many values are in the window
+	private boolean _sortedIsCurrent;
+	private long _totalCount;		// values ever recorded, including ones out of the window
+
+	/**
+	 * Create a histogram
+	 *
+	 * @param windowSize - How many of the most recent values to keep
+	 */
+	public RollingHistogram(int windowSize) {
+		_values = new long[windowSize];
+		_sorted = new long[windowSize];
+	}
+
+	/**
+	 * Add a value, pushing the oldest one out if the window is full
+	 *
+	 * @param value
+	 */
+	public synchronized void record(long value) {
+		_values[_next] = value;
+		_next = (_next + 1) % _values.length;
+		if(_size < _values.length) {
+			_size++;
+		}
+		_totalCount++;
+		_sortedIsCurrent = false;
+	}
+
+	/**
+	 * Get the value that a given fraction of the values in the window are
+	 * no bigger than
+	 *
+	 * @param fraction - Between 0 and 1, like .99 for the 99th percentile
+	 * @return The value, or 0 if nothing has been recorded
+	 */
+	public synchronized long getPercentile(double fraction) {
+		if(_size == 0) {
+			return 0;
+		}
+		_sort();
+		int index = (int) Math.ceil(fraction * _size) - 1;
+		return _sorted[Math.max(0, Math.min(_size - 1, index))];
+	}
+
+	public long getMedian() {
+		return getPercentile(.5);
+	}
+
+	/**
+	 * Get the largest value in the window
+	 *
+	 * @return
+	 */
+	public synchronized long getMax() {
+		if(_size == 0) {
+			return 0;
+		}
+		_sort();
+		return _sorted[_size - 1];
+	}
+
+	/**
+	 * Get the average of the values in the window
+	 *
+	 * @return
+	 */
+	public synchronized double getMean() {
+		if(_size == 0) {
+			return 0;
+		}
+		long total = 0;
+		for(int i = 0; i < _size; i++) {
+			total += _values[i];
+		}
+		return (double) total / _size;
+	}
+
+	/**
+	 * Get how many values are in the window
+	 *
+	 * @return
+	 */
+	public synchronized int getSize() {
+		return _size;
+	}
+
+	/**
+	 * Get how many values have been recorded since the histogram was made
+	 *
+	 * @return
+	 */
+	public synchronized long getTotalCount() {
+		return _totalCount;
+	}
+
+	/**
+	 * Empty the window
+	 */
+	public synchronized void clear() {
+		_next = 0;
+		_size = 0;
+		_sortedIsCurrent = false;
+	}
+
+	private void _sort() {
+		if(!_sortedIsCurrent) {
+			System.arraycopy(_values, 0, _sorted, 0, _size);
+			Arrays.sort(_sorted, 0, _size);
+			_sortedIsCurrent = true;
+		}
+	}
+}
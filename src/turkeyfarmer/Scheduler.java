@@ -0,0 +1,206 @@
+/**
+ * Scheduler.java
+ *
+ * Runs events at set times instead of having everything check the clock
+ * every frame. Events wait in a priority queue (a binary heap) ordered by
+ * the time they are due, so each tick only has to look at the front of the
+ * queue and the cost of a tick depends on how many events fire, not on how
+ * many things are waiting.
+ *
+ * A scheduler doesn't know what its times mean. The world has one running
+ * on the SimulationClock in nanoseconds and another running on the story's
+ * seconds. Events that are due at the same time fire in the order they
+ * were scheduled, so a game always plays out the same way.
+ *
+ * Events are meant to be made once and scheduled over and over, so
+ * scheduling doesn't create any garbage.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public class Scheduler {
+
+	private Event[] _heap;
+	private int _size;
+	private long _nextSequence;
+
+	public Scheduler() {
+		this(16);
+	}
+
+	/**
+	 * Create a scheduler with room for a number of waiting events, so
+	 * scheduling that many never has to grow the queue
+	 *
+	 * @param capacity
+	 */
+	public Scheduler(int capacity) {
+		_heap = new Event[Math.max(1, capacity)];
+	}
+
+	/**
+	 * Something that happens at a given time. An event can only be in one
+	 * scheduler at a time, and only once.
+	 */
+	public static abstract class Event {
+
+		private long _time;
+		private long _sequence;
+		private int _heapIndex = -1;
+
+		/**
+		 * Do whatever the event does. Called by the scheduler once the
+		 * event is due. It's fine to schedule this or any other event
+		 * from here.
+		 */
+		protected abstract void fire();
+
+		public boolean isScheduled() {
+			return _heapIndex != -1;
+		}
+
+		/**
+		 * Get the time the event is due
+		 *
+		 * @return
+		 */
+		public long getTime() {
+			return _time;
+		}
+	}
+
+	/**
+	 * Schedule an event. An event that is already waiting is moved to
+	 * the new time.
+	 *
+	 * @param event
+	 * @param time - When the event is due
+	 */
+	public void schedule(Event event, long time) {
+		if(event.isScheduled()) {
+			cancel(event);
+		}
+
+		if(_size == _heap.length) {
+			Event[] heap = new Event[_size * 2];
+			System.arraycopy(_heap, 0, heap, 0, _size);
+			_heap = heap;
+		}
+
+		event._time = time;
+		event._sequence = _nextSequence++;
+		event._heapIndex = _size;
+		_heap[_size++] = event;
+		_siftUp(event._heapIndex);
+	}
+
+	/**
+	 * Take an event out of the queue without firing it
+	 *
+	 * @param event
+	 * @return false if the event wasn't waiting
+	 */
+	public boolean cancel(Event event) {
+		int index = event._heapIndex;
+		if(index == -1 || index >= _size || _heap[index] != event) {
+			return false;
+		}
+
+		// fill the hole with the last event and put that where it belongs
+		_size--;
+		Event last = _heap[_size];
+		_heap[_size] = null;
+		event._heapIndex = -1;
+		if(index < _size) {
+			_heap[index] = last;
+			last._heapIndex = index;
+			_siftDown(index);
+			_siftUp(last._heapIndex);
+		}
+		return true;
+	}
+
+	/**
+	 * Fire every event that is due at or before a given time, earliest
+	 * first. Events that get scheduled for that time while firing fire too.
+	 *
+	 * @param time
+	 * @return How many events fired
+	 */
+	public int runDueEvents(long time) {
+		int numFired = 0;
+		while(_size > 0 && _heap[0]._time <= time) {
+			Event event = _heap[0];
+			cancel(event);
+			event.fire();
+			numFired++;
+		}
+		return numFired;
+	}
+
+	/**
+	 * Forget every waiting event
+	 */
+	public void clear() {
+		for(int i = 0; i < _size; i++) {
+			_heap[i]._heapIndex = -1;
+			_heap[i] = null;
+		}
+		_size = 0;
+	}
+
+	/**
+	 * Get the number of events waiting to fire
+	 *
+	 * @return
+	 */
+	public int size() {
+		return _size;
+	}
+
+	private boolean _isBefore(Event a, Event b) {
+		if(a._time != b._time) {
+			return a._time < b._time;
+		}
+		return a._sequence < b._sequence;
+	}
+
+	private void _siftUp(int index) {
+		Event event = _heap[index];
+		while(index > 0) {
+			int parent = (index - 1) >>> 1;
+			if(!_isBefore(event, _heap[parent])) {
+				break;
+			}
+			_heap[index] = _heap[parent];
+			_heap[index]._heapIndex = index;
+			index = parent;
+		}
+		_heap[index] = event;
+		event._heapIndex = index;
+	}
+
+	private void _siftDown(int index) {
+		Event event = _heap[index];
+		int half = _size >>> 1;
+		while(index < half) {
+			int child = 2 * index + 1;
+			int right = child + 1;
+			if(right < _size && _isBefore(_heap[right], _heap[child])) {
+				child = right;
+			}
+			if(!_isBefore(_heap[child], event)) {
+				break;
+			}
+			_heap[index] = _heap[child];
+			_heap[index]._heapIndex = index;
+			index = child;
+		}
+		_heap[index] = event;
+		event._heapIndex = index;
+	}
+}
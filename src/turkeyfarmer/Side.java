@@ -0,0 +1,33 @@
+/**
+ * Side.java
+ *
+ * The four sides of the field of play. Turkeys walk on at one side and
+ * head for the opposite one, and shy away from whichever side they are
+ * closest to.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public enum Side {
+
+	TOP,
+	RIGHT,
+	BOTTOM,
+	LEFT;
+
+	// values() makes a new array on every call, so keep one around
+	private static final Side[] _values = values();
+
+	/**
+	 * Get every side without copying the array. Don't change it.
+	 *
+	 * @return
+	 */
+	public static Side[] all() {
+		return _values;
+	}
+}
@@ -1,3 +1,5 @@
+package turkeyfarmer;
+
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
@@ -84,14 +86,21 @@ public class SimpleCanvas extends JPanel implements MouseListener,
 	 * in SurvivalField, telling it to update its components.
 	 */
 	protected void paintComponent(Graphics g) {
+		FrameProfiler profiler = simulator.getFrameProfiler();
+		if (profiler != null) {
+			profiler.beginFrame();
+		}
 		boolean first = (lastTime == -1L);
 		long elapsedTime = System.nanoTime() - lastTime;
 		lastTime = System.nanoTime();
-		g.setColor(new Color(34, 139, 34));
-		g.fillRect(0, 0, width, height);
+		// the TurkeyField covers the whole canvas, so there's no need to clear it first
 		g.setColor(Color.white);
 		simulator.draw((Graphics2D) g, (first ? 0.0f
 				: (float) elapsedTime / 1e9f));
+		// Swing shows the frame after we return, so presenting it runs until the next paint
+		if (profiler != null) {
+			profiler.begin(FramePhase.PRESENT);
+		}
 		repaint();
 	}
 
@@ -132,7 +141,7 @@ public class SimpleCanvas extends JPanel implements MouseListener,
 			int x = (int) turkey.getX() - (turkeyPic.getWidth() / 2);
 			int y = (int) turkey.getY() - (turkeyPic.getHeight() / 2);
 			
-			g.drawImage(turkeyPic, null, x, y);
+			g.drawImage(turkeyPic, x, y, null);
 		}
 
 	}
@@ -156,7 +165,7 @@ public class SimpleCanvas extends JPanel implements MouseListener,
 			int x = (int) farmer.getX() - (farmerPic.getWidth() / 2);
 			int y = (int) farmer.getY() - (farmerPic.getHeight() / 2);
 			
-			g.drawImage(farmerPic, null, x, y);
+			g.drawImage(farmerPic, x, y, null);
 		}
 
 	}
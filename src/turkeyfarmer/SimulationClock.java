@@ -0,0 +1,37 @@
+/**
+ * SimulationClock.java
+ *
+ * The time inside a game. It only moves forward when the world is ticked,
+ * so a game runs the same way whether it is ticked sixty times a second
+ * on screen or as fast as possible on a server. Anything in the game that
+ * needs to know how long ago something happened (like how long a turkey
+ * has been infected) should ask the clock rather than the wall clock.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public class SimulationClock {
+
+	private long _timeInNanos = 0;
+
+	/**
+	 * Move the clock forward
+	 *
+	 * @param elapsedTime - seconds to move forward by
+	 */
+	public void advance(float elapsedTime) {
+		_timeInNanos += (long) (elapsedTime * 1e9);
+	}
+
+	public long getTimeInNanos() {
+		return _timeInNanos;
+	}
+
+	public long getTimeInMillis() {
+		return _timeInNanos / 1000000L;
+	}
+}
@@ -12,6 +12,8 @@
  * 
  */
 
+package turkeyfarmer;
+
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
@@ -20,8 +22,6 @@ import java.net.URL;
 
 import javax.imageio.ImageIO;
 
-import com.sun.org.apache.xerces.internal.util.URI;
-import com.sun.xml.internal.ws.api.ResourceLoader;
 
 
 /**
@@ -34,6 +34,7 @@ public class Sprite {
 	protected float _x, _y;			// location in x,y coordinate space
 	protected int _max;				// maximum value in coordinate space
 	protected BufferedImage _image;	// container for sprite's image
+	protected SpriteAtlas.Frame _frame;	// where to draw _image from, if it's part of an atlas
 	
 	public Sprite() {
 		
@@ -57,9 +58,11 @@ public class Sprite {
 	 * @param g - The Graphics2D object on which to draw the sprite
 	 */
 	public void draw(Graphics2D g) {
-		if(_image != null) {
+		if(_frame != null) {
+			_frame.draw(g, (int) getX(), (int) getY());
+		} else if(_image != null) {
 			
-			g.drawImage(_image, null, (int) getX(), (int) getY());
+			g.drawImage(_image, (int) getX(), (int) getY(), null);
 		}
 	}
 	
@@ -69,10 +72,23 @@ public class Sprite {
 	 * @param g - The Graphics2D object on which to draw the sprite
 	 */
 	public void drawCentered(Graphics2D g) {
-		if(_image != null) {
+		if(_frame != null) {
+			_frame.draw(g, _getOffsetX(), _getOffsetY());
+		} else if(_image != null) {
 		
-			g.drawImage(_image, null, _getOffsetX(), _getOffsetY());
+			g.drawImage(_image, _getOffsetX(), _getOffsetY(), null);
 		}
+		drawDetails(g);
+	}
+	
+	/**
+	 * Draw anything that goes on top of the sprite's image, and get ready
+	 * for the next frame. Called right after the image is drawn, or by
+	 * whoever drew the image through a SpriteBatch once the batch is done.
+	 * 
+	 * @param g
+	 */
+	public void drawDetails(Graphics2D g) {
 	}
 	
 	/**
@@ -128,6 +144,35 @@ public class Sprite {
 	 */
 	public void setImage(BufferedImage image) {
 		_image = image;
+		_frame = null;
+	}
+	
+	/**
+	 * Set the sprite's image from a frame of a sprite atlas
+	 * 
+	 * @param frame
+	 */
+	public void setFrame(SpriteAtlas.Frame frame) {
+		_image = frame.getImage();
+		_frame = frame;
+	}
+	
+	/**
+	 * Get the atlas frame the sprite will be drawn from
+	 * 
+	 * @return The frame, or null if the sprite is drawn from an image of its own
+	 */
+	public SpriteAtlas.Frame getFrame() {
+		return _frame;
+	}
+	
+	/**
+	 * Get the image the sprite will be drawn with
+	 * 
+	 * @return The image, or null if the sprite doesn't have one yet
+	 */
+	public BufferedImage getImage() {
+		return _image;
 	}
 	
 	/**
@@ -199,11 +244,35 @@ public class Sprite {
 	 * @return
 	 */
 	public float getDistanceFrom(float x, float y) {
+		return (float) Math.sqrt(getDistanceSquaredFrom(x, y));
+	}
+	
+	/**
+	 * Get the square of the distance between this and another sprite.
+	 * Cheaper than getDistanceFrom() since there's no square root, so use
+	 * it to check whether something is within some distance by comparing
+	 * against that distance squared.
+	 * 
+	 * @param sprite
+	 * @return
+	 */
+	public float getDistanceSquaredFrom(Sprite sprite) {
+		return this.getDistanceSquaredFrom(sprite.getX(), sprite.getY());
+	}
+	
+	/**
+	 * Get the square of the distance between this and an x,y point
+	 * 
+	 * @param x
+	 * @param y
+	 * @return
+	 */
+	public float getDistanceSquaredFrom(float x, float y) {
 		
-		float xDist = Math.abs(_x - x);
-		float yDist = Math.abs(_y - y);
+		float xDist = _x - x;
+		float yDist = _y - y;
 		
-		return (float) Math.sqrt(xDist * xDist + yDist * yDist);
+		return xDist * xDist + yDist * yDist;
 		
 	}
 	
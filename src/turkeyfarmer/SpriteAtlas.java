@@ -0,0 +1,221 @@
+/**
+ * SpriteAtlas.java
+ *
+ * A sprite sheet built at load time: lots of small images (like every
+ * frame of every farmer and turkey animation) copied side by side into
+ * one big image. Each of the small images becomes a Frame, which is just
+ * a rectangle in the big one. Drawing sprites out of a single image means
+ * Java2D only has to keep one surface around for them, and a SpriteBatch
+ * can draw them all without switching from one source image to another.
+ *
+ * Frames are packed onto shelves: they're placed left to right until a
+ * row is full and then a new row is started underneath the tallest frame
+ * of the last one. A pixel of space is left between frames so they never
+ * bleed into each other.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+public class SpriteAtlas {
+
+	// the character animations and how many frames each of them has
+	private static final String[] CHARACTERS = { "farmer", "turkey", "zturkey" };
+	private static final int[] CHARACTER_FRAMES = { 4, 3, 3 };
+
+	private static SpriteAtlas _characters;
+
+	private BufferedImage _image;
+	private HashMap<String, Frame> _frames = new HashMap<>();
+
+	/**
+	 * Pack images into a new atlas. Images that can't be loaded are left out.
+	 *
+	 * @param fileNames - Paths of the images relative to the resources folder
+	 * @param maxWidth - Widest the atlas may get (wider frames get a row of their own)
+	 */
+	public SpriteAtlas(String[] fileNames, int maxWidth) {
+
+		BufferedImage[] images = new BufferedImage[fileNames.length];
+		int[] frameX = new int[fileNames.length];
+		int[] frameY = new int[fileNames.length];
+
+		// work out where every frame goes
+		int x = 0, y = 0, shelfHeight = 0, width = 0;
+		for(int i = 0; i < fileNames.length; i++) {
+			images[i] = ResLoader.getImage(fileNames[i]);
+			if(images[i] == null) {
+				continue;
+			}
+			if(x > 0 && x + images[i].getWidth() > maxWidth) {
+				// start a new shelf
+				x = 0;
+				y += shelfHeight + 1;
+				shelfHeight = 0;
+			}
+			frameX[i] = x;
+			frameY[i] = y;
+			width = Math.max(width, x + images[i].getWidth());
+			x += images[i].getWidth() + 1;
+			shelfHeight = Math.max(shelfHeight, images[i].getHeight());
+		}
+
+		// copy every frame into place, replacing the pixels rather than blending them
+		BufferedImage atlas = new BufferedImage(Math.max(1, width), Math.max(1, y + shelfHeight),
+				BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D g = atlas.createGraphics();
+		g.setComposite(AlphaComposite.Src);
+		for(int i = 0; i < fileNames.length; i++) {
+			if(images[i] != null) {
+				g.drawImage(images[i], frameX[i], frameY[i], null);
+			}
+		}
+		g.dispose();
+		_image = ResLoader.toCompatibleImage(atlas);
+
+		for(int i = 0; i < fileNames.length; i++) {
+			if(images[i] != null) {
+				_frames.put(fileNames[i], new Frame(_image, frameX[i], frameY[i],
+						images[i].getWidth(), images[i].getHeight()));
+			}
+		}
+	}
+
+	/**
+	 * Get the atlas holding every frame of the farmer, turkey and zombie
+	 * turkey animations. It's packed the first time it's asked for, and the
+	 * loose images it was packed from are dropped from the ResLoader cache
+	 * so their pixels aren't kept around twice.
+	 *
+	 * @return
+	 */
+	public static synchronized SpriteAtlas getCharacters() {
+		if(_characters == null) {
+			Direction[] directions = Direction.all();
+			ArrayList<String> names = new ArrayList<>();
+			for(int i = 0; i < CHARACTERS.length; i++) {
+				for(int j = 0; j < directions.length; j++) {
+					for(int frame = 1; frame <= CHARACTER_FRAMES[i]; frame++) {
+						// the first frame has no number on the end
+						names.add("images/" + CHARACTERS[i] + "_" + directions[j].getLetter()
+								+ (frame == 1 ? "" : "" + frame) + ".png");
+					}
+				}
+			}
+			String[] fileNames = names.toArray(new String[names.size()]);
+			_characters = new SpriteAtlas(fileNames, 256);
+			for(int i = 0; i < fileNames.length; i++) {
+				ResLoader.evictImage(fileNames[i]);
+			}
+		}
+		return _characters;
+	}
+
+	/**
+	 * Get the frame that was packed from an image file
+	 *
+	 * @param fileName
+	 * @return The frame, or null if the image isn't in this atlas
+	 */
+	public Frame getFrame(String fileName) {
+		return _frames.get(fileName);
+	}
+
+	/**
+	 * Get the image every frame lives in
+	 *
+	 * @return
+	 */
+	public BufferedImage getImage() {
+		return _image;
+	}
+
+	public int getNumFrames() {
+		return _frames.size();
+	}
+
+	/**
+	 * A rectangle of an image that a sprite can be drawn from. Frames are
+	 * usually part of an atlas, but a frame can also cover a whole image
+	 * of its own so loose images can be drawn the same way.
+	 */
+	public static class Frame {
+
+		private BufferedImage _source;
+		private int _x, _y, _width, _height;
+		private BufferedImage _image;	// the frame on its own, sharing the source's pixels
+
+		public Frame(BufferedImage source, int x, int y, int width, int height) {
+			_source = source;
+			_x = x;
+			_y = y;
+			_width = width;
+			_height = height;
+			_image = (x == 0 && y == 0 && width == source.getWidth() && height == source.getHeight()) ?
+					source : source.getSubimage(x, y, width, height);
+		}
+
+		/**
+		 * Make a frame covering a whole image
+		 *
+		 * @param image
+		 */
+		public Frame(BufferedImage image) {
+			this(image, 0, 0, image.getWidth(), image.getHeight());
+		}
+
+		/**
+		 * Draw the frame with its top left corner at a point
+		 *
+		 * @param g
+		 * @param x
+		 * @param y
+		 */
+		public void draw(Graphics2D g, int x, int y) {
+			g.drawImage(_source, x, y, x + _width, y + _height, _x, _y, _x + _width, _y + _height, null);
+		}
+
+		/**
+		 * Get the image the frame is cut out of
+		 *
+		 * @return
+		 */
+		public BufferedImage getSource() {
+			return _source;
+		}
+
+		/**
+		 * Get the frame as an image of its own. It shares its pixels with
+		 * the source image, so it costs nothing to keep around, but draw
+		 * the frame with draw() or a SpriteBatch so Java2D copies straight
+		 * from the source.
+		 *
+		 * @return
+		 */
+		public BufferedImage getImage() {
+			return _image;
+		}
+
+		public int getX() {
+			return _x;
+		}
+		public int getY() {
+			return _y;
+		}
+		public int getWidth() {
+			return _width;
+		}
+		public int getHeight() {
+			return _height;
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/**
+ * SpriteBatch.java
+ *
+ * Collects the sprites drawn in a frame and draws them all at once,
+ * grouped by the image they're drawn from. Sprites drawn from an atlas all
+ * share one source image, so a whole field of farmers, turkeys and zombie
+ * turkeys goes out as one run of copies from the same surface instead of
+ * hopping between dozens of little images in whatever order the sprites
+ * happen to be in.
+ *
+ * Sprites with the same source keep the order they were added in. Sprites
+ * with different sources may end up drawn in a different order, so only
+ * batch sprites that don't need to be stacked in a particular way.
+ *
+ * Usage: begin(), drawCentered() each sprite, then flush() onto a graphic.
+ * Nothing is drawn until flush(). A batch is meant to be reused from
+ * frame to frame, so it only allocates when it has to grow.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+public class SpriteBatch {
+
+	// the draw commands, one per sprite
+	private BufferedImage[] _sources = new BufferedImage[64];
+	private int[] _sourceX = new int[64], _sourceY = new int[64];
+	private int[] _width = new int[64], _height = new int[64];
+	private int[] _x = new int[64], _y = new int[64];
+	private int[] _group = new int[64];	// which of the distinct sources each command uses
+	private int _size;
+
+	// the distinct source images this frame, and where each one's commands start
+	private BufferedImage[] _groupSources = new BufferedImage[8];
+	private int[] _groupStart = new int[9];
+	private int _numGroups;
+	private int[] _order = new int[64];	// command indexes sorted by group
+
+	// statistics from the last flush
+	private int _numDrawn;
+	private int _numSources;
+
+	/**
+	 * Start collecting a new frame
+	 */
+	public void begin() {
+		for(int i = 0; i < _size; i++) {
+			_sources[i] = null;
+		}
+		for(int i = 0; i < _numGroups; i++) {
+			_groupSources[i] = null;
+		}
+		_size = 0;
+		_numGroups = 0;
+	}
+
+	/**
+	 * Queue a sprite to be drawn centered around its x,y point. Only its
+	 * image is queued, anything drawn by its drawDetails() is left to the
+	 * caller.
+	 *
+	 * @param sprite
+	 */
+	public void drawCentered(Sprite sprite) {
+		SpriteAtlas.Frame frame = sprite.getFrame();
+		if(frame != null) {
+			add(frame.getSource(), frame.getX(), frame.getY(), frame.getWidth(), frame.getHeight(),
+					sprite._getOffsetX(), sprite._getOffsetY());
+		} else if(sprite.getImage() != null) {
+			BufferedImage image = sprite.getImage();
+			add(image, 0, 0, image.getWidth(), image.getHeight(), sprite._getOffsetX(), sprite._getOffsetY());
+		}
+	}
+
+	/**
+	 * Queue a rectangle of an image to be drawn
+	 *
+	 * @param source - Image to copy from
+	 * @param sourceX - Left of the rectangle in the source
+	 * @param sourceY - Top of the rectangle in the source
+	 * @param width
+	 * @param height
+	 * @param x - Where the left of the rectangle goes
+	 * @param y - Where the top of the rectangle goes
+	 */
+	public void add(BufferedImage source, int sourceX, int sourceY, int width, int height, int x, int y) {
+		if(_size == _sources.length) {
+			_grow();
+		}
+		_sources[_size] = source;
+		_sourceX[_size] = sourceX;
+		_sourceY[_size] = sourceY;
+		_width[_size] = width;
+		_height[_size] = height;
+		_x[_size] = x;
+		_y[_size] = y;
+		_group[_size] = _getGroup(source);
+		_size++;
+	}
+
+	/**
+	 * Draw everything queued since begin(), one source image at a time
+	 *
+	 * @param g
+	 */
+	public void flush(Graphics2D g) {
+
+		// count the commands in each group and work out where each group starts
+		for(int i = 0; i <= _numGroups; i++) {
+			_groupStart[i] = 0;
+		}
+		for(int i = 0; i < _size; i++) {
+			_groupStart[_group[i] + 1]++;
+		}
+		for(int i = 0; i < _numGroups; i++) {
+			_groupStart[i + 1] += _groupStart[i];
+		}
+
+		// put the commands in group order, keeping the order within each group
+		for(int i = 0; i < _size; i++) {
+			_order[_groupStart[_group[i]]++] = i;
+		}
+
+		for(int i = 0; i < _size; i++) {
+			int c = _order[i];
+			g.drawImage(_sources[c], _x[c], _y[c], _x[c] + _width[c], _y[c] + _height[c],
+					_sourceX[c], _sourceY[c], _sourceX[c] + _width[c], _sourceY[c] + _height[c], null);
+		}
+
+		_numDrawn = _size;
+		_numSources = _numGroups;
+	}
+
+	/**
+	 * Get how many sprites the last flush drew
+	 *
+	 * @return
+	 */
+	public int getNumDrawn() {
+		return _numDrawn;
+	}
+
+	/**
+	 * Get how many different source images the last flush drew from
+	 *
+	 * @return
+	 */
+	public int getNumSources() {
+		return _numSources;
+	}
+
+	private int _getGroup(BufferedImage source) {
+
+		// there are only ever a few sources, so just look through them
+		for(int i = _numGroups - 1; i >= 0; i--) {
+			if(_groupSources[i] == source) {
+				return i;
+			}
+		}
+		if(_numGroups == _groupSources.length) {
+			BufferedImage[] groupSources = new BufferedImage[_numGroups * 2];
+			System.arraycopy(_groupSources, 0, groupSources, 0, _numGroups);
+			_groupSources = groupSources;
+			_groupStart = new int[_numGroups * 2 + 1];
+		}
+		_groupSources[_numGroups] = source;
+		return _numGroups++;
+	}
+
+	private void _grow() {
+		int capacity = _sources.length * 2;
+		BufferedImage[] sources = new BufferedImage[capacity];
+		System.arraycopy(_sources, 0, sources, 0, _size);
+		_sources = sources;
+		_sourceX = _grow(_sourceX, capacity);
+		_sourceY = _grow(_sourceY, capacity);
+		_width = _grow(_width, capacity);
+		_height = _grow(_height, capacity);
+		_x = _grow(_x, capacity);
+		_y = _grow(_y, capacity);
+		_group = _grow(_group, capacity);
+		_order = new int[capacity];
+	}
+
+	private int[] _grow(int[] values, int capacity) {
+		int[] grown = new int[capacity];
+		System.arraycopy(values, 0, grown, 0, _size);
+		return grown;
+	}
+}
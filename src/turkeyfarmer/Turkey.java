@@ -0,0 +1,624 @@
+/**
+ * Turkey.java
+ * 
+ * Extends MovingSprite
+ * 
+ * The class representing the Turkey object in the game. This class needs to
+ * have some representation of current location, a reference to the Farmer, and
+ * a speed.
+ * 
+ * Creating a new Turkey - Turkeys should appear at the edge of the screen.
+ * Thus, your constructor for a Turkey should take a Farmer, a speed, and the x
+ * and y maximum values as its parameters. Randomly choose which side the turkey
+ * will appear at and then randomly choose which side the turkey will exit at
+ * (not the same side as the entrance)
+ * 
+ * Move method - The move method for the turkey will be more complicated than
+ * that of the Farmer. The Farmer always walks directly toward the mouse
+ * pointer. The turkey will walk in a straight line toward the randomly chosen
+ * exit side. If the farmer gets close (within 50 pixels), then the turkey
+ * should move directly away from the Farmer at double its speed. Once it is far
+ * enough away, it resumes its original path.
+ *
+ * @authors Jerome Dane, Sandra Poulos 
+ * @compids jd7yj, sp5uk 
+ * @lab 1111
+ * 
+ */
+
+package turkeyfarmer;
+
+import java.awt.Graphics2D;
+import java.util.Random;
+
+
+public class Turkey extends MovingSprite {
+
+	private TurkeyGrid _grid;
+	private Farmer _farmer;
+	private int _personalSpaceRadius = 20;
+	private Scheduler _scheduler;
+	// both sets of animations are made once, so turning or being used again makes nothing new
+	private AnimatedImage[] _turkeyAnimations = _buildAnimations("turkey_");
+	private AnimatedImage[] _zombieAnimations = _buildAnimations("zturkey_");
+	private TurnEvent _turnEvent = new TurnEvent();	// turns the turkey once incubation is up
+	private long _infectionStarted = -1;
+	private int _incubationInSeconds = 9;
+	private byte _state = TurkeyPopulation.HEALTHY;
+	private TurkeyStateIndex _stateIndex;		// the index this turkey is filed in, if any
+	private int _stateSlot;					// where in its index's set this turkey is
+	private int _handle = TurkeyRegistry.NO_HANDLE;	// how the registry finds this turkey while it's on the field
+	
+	// level of detail (see LevelOfDetail)
+	private float _deferredTime;				// time this turkey hasn't been moved for yet
+	private int _deferredTicks;				// ticks spent in between, to pick when to move
+	private boolean _simplified;				// has this turkey ever been moved with less than full detail?
+	
+	// zombies are short sighted and don't recognize farmers
+	private int _zombieFarmerSightLength = 150;		
+	// zombies are short sighted but know a turkey when they see one
+	private int _zombieTurkeySightLength = 250;		
+	
+	public Turkey(float x, float y) {
+		super(x, y);
+		
+		// set up animation
+		_setAnimations(_turkeyAnimations);
+		
+	}
+	
+	/**
+	 * Override MovingSprite's constructor to just take a speed
+	 * since we'll be setting the bounds and starting points later
+	 * 
+	 * @param speed
+	 */
+	public Turkey(float speed) {
+		this(0,0);
+		_speed = speed;
+	}
+	
+	
+	/**
+	 * Move the turkey according to its speed and the elapsedTime since the last
+	 * refresh of the screen.
+	 * 
+	 * @param elapsedTime
+	 *            seconds since last update
+	 */
+	public void move(float elapsedTime) {
+		
+		
+		// store the original speed
+		float originalSpeed = _speed;
+		
+		if(isZombie()) {
+			_moveAsZombie();
+		} else {
+			_moveAsTurkey();
+		}
+		
+		// find the closest side
+		Side closestSide = getClosestSide();
+		
+		// if too close to the closest side then move to the opposite side
+		if(_getDistanceFromSide(closestSide) < _personalSpaceRadius) {
+			
+			switch(closestSide) {
+
+				case TOP:
+					setTarget(getRandomXPointWithinBounds(), getBottomtBound());
+					break;
+				
+				case RIGHT:
+					setTarget(getLeftBound(), getRandomYPointWithinBounds());
+					break;
+					
+				case BOTTOM:
+					setTarget(getRandomXPointWithinBounds(), getTopBound());
+					break;
+					
+				case LEFT:
+					setTarget(getRandomXPointWithinBounds(), getRandomYPointWithinBounds());
+					break;
+			}
+		}
+		
+		// keep turkeys from freezing at a previously set target by setting a new random target
+		if(getDistanceSquaredFrom(_targetX, _targetY) < 2 * 2) {
+			setTarget(getRandomXPointWithinBounds(), getRandomYPointWithinBounds());
+		}
+		
+		super.move(elapsedTime);
+		setSpeed(originalSpeed);
+	}
+	
+	/**
+	 * Keep walking towards the current target without looking at the farmer
+	 * or the other turkeys, for when nobody is close enough to tell the
+	 * difference. A new target is still picked once the old one is reached,
+	 * just like in move().
+	 * 
+	 * @param elapsedTime - seconds since the last move
+	 */
+	public void cruise(float elapsedTime) {
+		_simplified = true;
+		if(getDistanceSquaredFrom(_targetX, _targetY) < 2 * 2) {
+			setTarget(getRandomXPointWithinBounds(), getRandomYPointWithinBounds());
+		}
+		super.move(elapsedTime);
+	}
+	
+	/**
+	 * Save up time the turkey isn't being moved for this tick
+	 * 
+	 * @param elapsedTime
+	 */
+	public void deferTime(float elapsedTime) {
+		_simplified = true;
+		_deferredTime += elapsedTime;
+	}
+	
+	/**
+	 * Has the turkey ever been moved with less than full detail, so it may
+	 * not be where it would have been without level of detail?
+	 * 
+	 * @return
+	 */
+	public boolean hasBeenSimplified() {
+		return _simplified;
+	}
+	
+	/**
+	 * Get all the time saved up with deferTime() so it can be spent moving
+	 * 
+	 * @return Seconds, which are no longer saved up
+	 */
+	public float takeDeferredTime() {
+		float deferredTime = _deferredTime;
+		_deferredTime = 0;
+		return deferredTime;
+	}
+	
+	/**
+	 * Count another tick spent in between the near and far turkeys
+	 * 
+	 * @return How many ticks have been counted, including this one
+	 */
+	public int countDeferredTick() {
+		return ++_deferredTicks;
+	}
+	
+	/**
+	 * Set where the count of ticks spent in between starts, so turkeys made
+	 * one after another move on different ticks
+	 * 
+	 * @param deferredTicks
+	 */
+	public void setDeferredTicks(int deferredTicks) {
+		_deferredTicks = deferredTicks;
+	}
+	
+	private void _chaseFarmer() {
+		// braaaaaaiiiinnnsssss! Run faster!
+		setSpeed((float) (_speed * 1.5));
+		setTarget(_farmer);
+	}
+	
+	/**
+	 * Apply zombie turkey movement
+	 */
+	private void _moveAsZombie() {
+		
+		// everything I know about the other turkeys comes from the population snapshot,
+		// and anything I do to someone else is handed back to the population to apply
+		// once every turkey has moved
+		TurkeyPopulation population = _grid.getPopulation();
+		
+		//infect any turkeys that got too close
+		IndexList neighbors = IndexList.getScratch();
+		_grid.getTurkeysNear(getX(), getY(), 35, neighbors);
+		for(int n = 0; n < neighbors.size(); n++) {
+			int i = neighbors.get(n);
+			if(population.getState(i) == TurkeyPopulation.HEALTHY && population.getDistanceSquaredFrom(i, getX(), getY()) < 35 * 35) {
+				population.requestInfection(i);
+			}
+		}
+		
+		// kill the farmer if he's too close
+		if(getDistanceSquaredFrom(_farmer) < 25 * 25) {
+			population.requestFarmerDeath("You have been eaten by a zombie turkey! Click HERE to try again.");
+		}
+		
+		// how far away am I from the farmer? (squared, like every distance below)
+		float distanceFromFarmer = getDistanceSquaredFrom(_farmer);
+		boolean farmerInSight = distanceFromFarmer < (float) _zombieFarmerSightLength * _zombieFarmerSightLength;
+		
+		// check for the closest healthy turkey I can see, if there are any
+		int closestTurkey = _grid.getClosestHealthyTurkey(getX(), getY(), _zombieTurkeySightLength);
+		if(closestTurkey != -1) {
+			float smallestDistance = population.getDistanceSquaredFrom(closestTurkey, getX(), getY());
+			
+			// Chase the farmer if he is within units and closer than the closest turkey  
+			if(farmerInSight && distanceFromFarmer < smallestDistance) {
+				_chaseFarmer();
+			} else {
+				// otherwise chase the closest turkey (it's in range or we wouldn't have found it)
+				setTarget(population.getX(closestTurkey), population.getY(closestTurkey));
+			}
+			
+		} else 
+		// If there are no heathy turkeys in sight then chase the farmer if he's close enough	
+		if(farmerInSight) {
+			_chaseFarmer();
+		}
+		
+		// otherwise stay the course (don't set a new target)
+			
+	}
+	
+	private void _moveAsTurkey() {
+
+		// if close to farmer then run away
+		if(getDistanceSquaredFrom(_farmer) <= 50 * 50) {
+			
+			// The turkey is scared of the farmer! 
+			setTargetOpposite(_farmer);
+			
+			// Run away really fast!
+			setSpeed(_speed * 2);
+			
+		}	
+		
+		// If to close to another turkey then respect its personal space
+		TurkeyPopulation population = _grid.getPopulation();
+		int personalSpace = _personalSpaceRadius - 5;
+		IndexList neighbors = IndexList.getScratch();
+		_grid.getTurkeysNear(getX(), getY(), personalSpace, neighbors);
+		for(int n = 0; n < neighbors.size(); n++) {
+			int i = neighbors.get(n);
+			
+			// I'm not afraid of myself, and I don't know what zombies are
+			if(population.getTurkey(i) != this && population.getState(i) != TurkeyPopulation.ZOMBIE) {
+				
+				// respect the other turkey's personal space but stick around long enough so he sees me too
+				if(population.getDistanceSquaredFrom(i, getX(), getY()) < personalSpace * personalSpace) {
+					
+					setTargetOpposite(population.getX(i), population.getY(i));
+				}
+				
+			}
+			
+		}
+		
+	}
+	
+	/**
+	 * The turkey sees the farmer so it can react to him
+	 * 
+	 * @param farmer
+	 */
+	public void see(Farmer farmer) {
+		_farmer = farmer;
+	}
+	
+	/**
+	 * The turkey uses the game's scheduler to know when to turn into a
+	 * zombie rather than checking the clock every frame. The scheduler's
+	 * times are in nanoseconds on the game's clock.
+	 * 
+	 * @param scheduler
+	 */
+	public void see(Scheduler scheduler) {
+		_scheduler = scheduler;
+	}
+	
+	/**
+	 * The turkey sees all the turkeys on the field so it can react to them
+	 * 
+	 * @param grid - Spatial index of every turkey on the field
+	 */
+	public void see(TurkeyGrid grid) {
+		_grid = grid;
+	}
+	
+	/**
+	 * Override MovingSprite's setBounds method to do everything MovingSprite does
+	 * as well as determine a random starting edge
+	 * 
+	 */
+	public void setBounds(int top, int right, int bottom, int left) {
+		
+		// set the bounds as normal
+		super.setBounds(top, right, bottom, left);
+		
+		// set a random starting edge and target
+		_setRandomStartingEdgeAndTarget();
+
+	}
+	
+	public void drawDetails(Graphics2D g) {
+		
+		super.drawDetails(g);
+		
+		if(isInfected() && !isZombie()) {
+			int secondsLeft = _incubationInSeconds - _getSecondsSinceInfected();
+			
+			// draw the countdown from pre-drawn digits instead of making and drawing a new string
+			DigitAtlas.getAtlas(g.getFont(), g.getColor()).drawNumber(g, secondsLeft, Math.round(getX() - 4), Math.round(getY() + 6));
+		}
+		
+	}
+
+	protected int _getSecondsSinceInfected() {
+		return (int) ((_clock.getTimeInMillis() - _infectionStarted) / 1000); 
+	}
+	
+	
+	private float _getDistanceFromSide(Side side) {
+		float distanceFromSide = 0;
+		switch(side) {
+
+			case TOP:
+				distanceFromSide = getY() - getTopBound();
+				break;
+			
+			case RIGHT:
+				distanceFromSide = getRightBound() - getX();
+				break;
+				
+			case BOTTOM:
+				distanceFromSide = getBottomtBound() - getY();
+				break;
+				
+			case LEFT:
+				distanceFromSide = getX() - getLeftBound();
+				break;
+		}
+		return distanceFromSide;
+	}
+
+	private Side _getRandomSide() {
+	
+		// use the turkey's own random number generator
+		Random rand = getRandom();
+		
+		// move turkey to a random starting edge and tell it where the target is
+		float randSideSelector = rand.nextFloat();
+		
+		if(randSideSelector < 0.25) {
+			return Side.TOP;
+		} else if(randSideSelector < 0.5) {
+			return Side.RIGHT;
+		} else if(randSideSelector < 0.75) {
+			return Side.BOTTOM;
+		}
+		return Side.LEFT;
+	}
+	
+	/**
+	 * Set a random starting edge for the Turkey as well as a random target on
+	 * the opposite edge
+	 * 
+	 */
+	private void _setRandomStartingEdgeAndTarget() {
+		
+		// set a random starting point within the bounds
+		setX(getRandomXPointWithinBounds());
+		setY(getRandomYPointWithinBounds());
+		
+		// randomly move to a side
+		switch(_getRandomSide()) {
+
+			// start at top and move down
+			case TOP:
+				setY(getTopBound());
+				setTarget(getRandomXPointWithinBounds(), getBottomtBound());
+				break;
+			
+			// start on right and move left
+			case RIGHT:
+				setX(getRightBound());
+				setTarget(getLeftBound(), getRandomYPointWithinBounds());
+				break;
+				
+			// start on the bottom and move up
+			case BOTTOM:
+				setY(getBottomtBound());
+				setTarget(getRandomXPointWithinBounds(), getTopBound());
+				break;
+				
+			// start on left and move right
+			case LEFT:
+				setX(getLeftBound());
+				setTarget(getRightBound(), getRandomYPointWithinBounds());
+				break;
+		}
+		
+	}
+
+	public boolean isZombie() {
+		return _state == TurkeyPopulation.ZOMBIE;
+	}
+	
+	/**
+	 * Get the state the turkey is in
+	 * 
+	 * @return HEALTHY, INCUBATING or ZOMBIE from TurkeyPopulation
+	 */
+	public byte getState() {
+		return _state;
+	}
+	
+	/**
+	 * Turn into a zombie if the incubation time is up. Called by the
+	 * scheduler when the incubation time runs out.
+	 */
+	public void updateState() {
+		if(_state == TurkeyPopulation.INCUBATING && _getSecondsSinceInfected() > _incubationInSeconds) {
+			_setState(TurkeyPopulation.ZOMBIE);
+			
+			if(FlightEvents.TURKEY_TURNED.isEnabled()) {
+				FlightEvents.TurkeyTurned event = new FlightEvents.TurkeyTurned();
+				event.x = getX();
+				event.y = getY();
+				event.commit();
+			}
+			
+			// set up zombie animation
+			_setAnimations(_zombieAnimations);
+		}
+	}
+	
+	/**
+	 * Wipe the turkey clean so it can be put on the field again as a
+	 * healthy turkey (see TurkeyPool). Anything it had waiting on the
+	 * scheduler is cancelled, and it forgets the farmer and the field until
+	 * it's set up again.
+	 */
+	public void recycle() {
+		cancelScheduledEvents();
+		super.recycle();
+		_grid = null;
+		_farmer = null;
+		_scheduler = null;
+		_infectionStarted = -1;
+		_incubationInSeconds = 9;
+		_state = TurkeyPopulation.HEALTHY;
+		_stateIndex = null;
+		_stateSlot = 0;
+		_handle = TurkeyRegistry.NO_HANDLE;
+		_deferredTime = 0;
+		_deferredTicks = 0;
+		_simplified = false;
+		_setAnimations(_turkeyAnimations);
+	}
+	
+	/**
+	 * Make an animation for each direction from a set of images named like
+	 * images/turkey_N.png, images/turkey_N2.png and images/turkey_N3.png
+	 * 
+	 * @param prefix - Start of the images' names, like "turkey_"
+	 * @return The animations, indexed by Direction.ordinal()
+	 */
+	private static AnimatedImage[] _buildAnimations(String prefix) {
+		Direction[] directions = Direction.all();
+		AnimatedImage[] animations = new AnimatedImage[directions.length];
+		for(int i = 0; i < directions.length; i++) {
+			Direction dir = directions[i];
+			AnimatedImage anim = new AnimatedImage();
+			anim.addImage("images/" + prefix + dir.getLetter() + ".png");
+			anim.addImage("images/" + prefix + dir.getLetter() + "2.png");
+			anim.addImage("images/" + prefix + dir.getLetter() + "3.png");
+			animations[dir.ordinal()] = anim;
+		}
+		return animations;
+	}
+	
+	private void _setAnimations(AnimatedImage[] animations) {
+		Direction[] directions = Direction.all();
+		for(int i = 0; i < directions.length; i++) {
+			setDirectionalImage(directions[i], animations[directions[i].ordinal()]);
+		}
+	}
+	
+	/**
+	 * Get the handle the turkey registry knows this turkey by, which stays
+	 * good until the turkey leaves the field (see TurkeyRegistry)
+	 * 
+	 * @return The handle, or TurkeyRegistry.NO_HANDLE if the turkey isn't on the field
+	 */
+	public int getHandle() {
+		return _handle;
+	}
+	
+	// only a TurkeyRegistry should use this
+	void setHandle(int handle) {
+		_handle = handle;
+	}
+	
+	// only a TurkeyStateIndex should use these
+	TurkeyStateIndex getStateIndex() {
+		return _stateIndex;
+	}
+	void setStateIndex(TurkeyStateIndex stateIndex) {
+		_stateIndex = stateIndex;
+	}
+	int getStateSlot() {
+		return _stateSlot;
+	}
+	void setStateSlot(int stateSlot) {
+		_stateSlot = stateSlot;
+	}
+	
+	private void _setState(byte state) {
+		if(state != _state) {
+			byte oldState = _state;
+			_state = state;
+			// let the index know so it can move us to the right set
+			if(_stateIndex != null) {
+				_stateIndex.changeState(this, oldState);
+			}
+		}
+	}
+	
+	public boolean isInfected() {
+		return _infectionStarted >= 0;
+	}
+	
+	/**
+	 * Get when the turkey was infected
+	 * 
+	 * @return Time of infection in milliseconds on the game's clock, or -1 if it's healthy
+	 */
+	public long getInfectionTime() {
+		return _infectionStarted;
+	}
+	
+	public void infect() {
+		_infectionStarted = _clock.getTimeInMillis();
+		_setState(TurkeyPopulation.INCUBATING);
+		
+		if(FlightEvents.TURKEY_INFECTED.isEnabled()) {
+			FlightEvents.TurkeyInfected event = new FlightEvents.TurkeyInfected();
+			event.x = getX();
+			event.y = getY();
+			event.incubationInSeconds = _incubationInSeconds;
+			event.commit();
+		}
+		
+		// turkeys with no incubation time turn straight away
+		updateState();
+		
+		// otherwise turn once a whole second past the incubation time has gone by
+		if(_state == TurkeyPopulation.INCUBATING && _scheduler != null) {
+			long turnTimeInMillis = _infectionStarted + (_incubationInSeconds + 1) * 1000L;
+			_scheduler.schedule(_turnEvent, turnTimeInMillis * 1000000L);
+		}
+	}
+	public void infect(int incubationTime) {
+		_incubationInSeconds = incubationTime;
+		this.infect();		
+	}
+	
+	/**
+	 * Stop anything the turkey has waiting on the scheduler, like when it
+	 * gets caught before it turns
+	 */
+	public void cancelScheduledEvents() {
+		if(_scheduler != null) {
+			_scheduler.cancel(_turnEvent);
+		}
+	}
+	
+	private class TurnEvent extends Scheduler.Event {
+		protected void fire() {
+			updateState();
+		}
+	}
+	
+	
+
+	
+
+}
@@ -0,0 +1,752 @@
+/**
+ * TurkeyField.java
+ * 
+ * The TurkeyField is the field of play for the game. It passes messages between
+ * the Farmer and the Turkeys. It also picks up the commands from the mouse and
+ * does the appropriate action. This is the class that will have the main method
+ * to start the game.
+ * 
+ * The rules of the game live in TurkeyWorld. The TurkeyField draws the world
+ * as it stands and hands it the mouse and the passage of time.
+ * 
+ * The field can be bigger than the window (see WorldSettings for the
+ * -Dturkeyfarmer.fieldWidth=... and such that set its size). The window
+ * then shows the part of it a Camera following the farmer can see, and
+ * only the turkeys in that part are drawn.
+ * 
+ * Run with -Dturkeyfarmer.dirtyRegions=true to only redraw the parts of
+ * the field that changed since the last frame (see DirtyRegionRenderer).
+ * 
+ * Run with -Dturkeyfarmer.frameStats=true to show how long each part of
+ * a frame takes on top of the field, and -Dturkeyfarmer.frameStatsFile=<file>
+ * to save the timings to a file when the window is closed (see
+ * FrameProfiler).
+ * 
+ * Run with -Dturkeyfarmer.record=<file> to save the game to a file when
+ * the window is closed, so it can be played back with an InputReplayer.
+ * 
+ * @authors Jerome Dane, Sandra Poulos 
+ * @compids jd7yj, sp5uk 
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TurkeyField {
+	
+	public static String version = "0.1.0";
+
+	private SimpleCanvas canvas;
+
+	// the game itself
+	private TurkeyWorld _world;
+	private InputRecording _recording;	// the game being recorded, or null
+
+	// things used to draw the game
+	private BackgroundLayer _backgroundLayer;	// background and title, drawn once and reused
+	private Sprite _gameOver;
+	private Sprite _youWin;
+	private Font _messageFont, _regularFont;
+	private Color _defaultDrawColor;
+	private SpriteBatch _spriteBatch = new SpriteBatch();	// draws the farmer and turkeys
+	private ArrayList<Turkey> _visibleTurkeys = new ArrayList<>();	// the turkeys the camera can see this frame
+	private int _turkeyMargin = 4;		// room around a turkey for its incubation countdown
+	
+	// which part of the field is in the window
+	private Camera _camera;
+	private int _maxViewSize = 600;		// most of the field that fits in the window
+	private BufferedImage _ground;		// dirt to fill the view with when the field scrolls
+	private Graphics2D _viewGraphics;	// draws only inside the view, for sprites on a scrolling field
+	private Graphics2D _viewGraphicsTarget;	// what _viewGraphics draws on
+	private int _groundTileSize = 40;	// the dirt repeats every this many pixels
+	
+	// where the mouse was last seen on the screen, so the farmer can keep
+	// heading for whatever is under it as the field scrolls by
+	private boolean _hasMouse;
+	private float _mouseX, _mouseY;
+	private int _mouseCameraLeft, _mouseCameraTop;
+	
+	// text that is drawn every frame but only changes now and then, with
+	// the numbers in the HUD drawn from pre-drawn digits in between the words
+	private CachedText _caughtText, _ofText, _turkeysText, _timerText, _messageText;
+	private DigitAtlas _hudDigits;
+	
+	// where things drawn whole go on the screen, so the dirty region
+	// renderer can redraw all of one or none of it
+	private Rectangle _caughtBox, _timerBox, _messageBox, _gameOverBox, _youWinBox;
+	
+	// only redraws what changed, or null to redraw everything every frame
+	private DirtyRegionRenderer _dirtyRenderer;
+	private float _fullRepaintThreshold = (float) .5;	// fraction of the frame
+	private int _dirtyTileSize = 16;
+	
+	// where the frames go, or null if nobody asked
+	private boolean _showFrameStats = false;
+	private FrameProfiler _frameProfiler;
+	private FrameStatsOverlay _frameStatsOverlay;
+	private int _frameStatsWindow = 4096;		// frames to keep timings for
+	
+	// what the last frame showed, so we know what changed
+	private boolean _lastZombieTitle, _lastDead, _lastWon, _lastStarted;
+	private int _lastNumCaught = -1, _lastNumToWin = -1, _lastGameTime = -1;
+	private int _lastOffsetX, _lastOffsetY;
+	private String _lastMessage;
+	
+	/**
+	 * The Constructor - This method should instantiate a new canvas, create a
+	 * new player character, and create the first four turkeys in random
+	 * locations around the board.
+	 */
+	public TurkeyField() {
+		this(WorldSettings.fromSystemProperties());
+	}
+	
+	/**
+	 * Create a field for a world with its own size and turkey limits
+	 * 
+	 * @param settings
+	 */
+	public TurkeyField(WorldSettings settings) {
+		this(new Random().nextLong(), settings);
+	}
+	
+	/**
+	 * Create a field for a world that makes all its random choices from a
+	 * seed, so the same seed and the same mouse play out the same game
+	 * 
+	 * @param seed
+	 * @param settings
+	 */
+	public TurkeyField(long seed, WorldSettings settings) {
+		_world = new TurkeyWorld(seed, settings);
+		
+		// move the turkeys on every core if asked to with -Dturkeyfarmer.parallel=true
+		_world.setParallel(Boolean.getBoolean("turkeyfarmer.parallel"));
+		
+		// record the game from the very start if asked to
+		if(System.getProperty("turkeyfarmer.record") != null) {
+			_recording = _world.startRecording();
+		}
+		_messageFont = new Font("Arial", 1, 16);
+		_regularFont = new Font("Arial", 0, 13);
+		// show as much of the field as fits where the field was always drawn
+		_camera = new Camera(_world.getLeftFieldBound(), _world.getTopFieldBound(), _maxViewSize, _maxViewSize,
+				_world.getTopFieldBound(), _world.getRightFieldBound(), _world.getBottomFieldBound(), _world.getLeftFieldBound());
+		_camera.follow(_world.getFarmer());
+		_lastOffsetX = _camera.getOffsetX();
+		_lastOffsetY = _camera.getOffsetY();
+		
+		// set up initial sprites
+		int canvasSize = _world.getCanvasSize();
+		float center = canvasSize / 2;
+		_backgroundLayer = new BackgroundLayer(canvasSize, canvasSize,
+				new Sprite(0, 0, "images/background.gif"),
+				new Sprite(_camera.getViewLeft(), 10, "images/title.png"),
+				new Sprite(_camera.getViewLeft(), 10, "images/title_zombies.png"));
+		if(_camera.canScroll()) {
+			_ground = _buildGround();
+		}
+		_gameOver = new Sprite(center, center - 20, "images/game_over.png");
+		_youWin = new Sprite(center - 40, center - 20, "images/you_win.png");
+		int right = _camera.getViewRight();
+		int bottom = _camera.getViewBottom();
+		int left = _camera.getViewLeft();
+		_caughtBox = new Rectangle(right - 180, 14, 200, 22);
+		_timerBox = new Rectangle(right - 60, bottom + 24, 120, 22);
+		_messageBox = new Rectangle(left, bottom + 25, canvasSize - left, 28);
+		_gameOverBox = _getBox(_gameOver);
+		_youWinBox = _getBox(_youWin);
+		_defaultDrawColor = new Color(0xffffff);
+		_caughtText = new CachedText(_regularFont, _defaultDrawColor);
+		_caughtText.setText("You caught ");
+		_ofText = new CachedText(_regularFont, _defaultDrawColor);
+		_ofText.setText(" of ");
+		_turkeysText = new CachedText(_regularFont, _defaultDrawColor);
+		_turkeysText.setText(" turkeys");
+		_timerText = new CachedText(_regularFont, _defaultDrawColor);
+		_timerText.setText("Time: ");
+		_hudDigits = DigitAtlas.getAtlas(_regularFont, _defaultDrawColor);
+		_messageText = new CachedText(_messageFont, _defaultDrawColor);
+		
+		// Create canvas object with 500x500 spatial dimensions.
+		canvas = new SimpleCanvas(canvasSize, canvasSize, this);
+		
+		setDirtyRendering(Boolean.getBoolean("turkeyfarmer.dirtyRegions"));
+		
+		// the profiler always marks out the phases for flight recordings, but
+		// only times them if someone wants to see or keep the timings
+		_frameProfiler = new FrameProfiler(_frameStatsWindow);
+		_world.setProfiler(_frameProfiler);
+		if(System.getProperty("turkeyfarmer.frameStatsFile") != null) {
+			_frameProfiler.setTiming(true);
+		}
+		setShowFrameStats(Boolean.getBoolean("turkeyfarmer.frameStats"));
+	}
+	
+	/**
+	 * Reset the game and start over
+	 */
+	public void reset() {
+		_world.reset();
+	}
+	
+	public Farmer getFarmer() {
+		return _world.getFarmer();
+	}
+	
+	/**
+	 * Get the game being drawn
+	 * 
+	 * @return
+	 */
+	public TurkeyWorld getWorld() {
+		return _world;
+	}
+	
+	/**
+	 * Only redraw the parts of the field that changed each frame, or go
+	 * back to redrawing everything
+	 * 
+	 * @param dirtyRendering
+	 */
+	public void setDirtyRendering(boolean dirtyRendering) {
+		if(!dirtyRendering) {
+			_dirtyRenderer = null;
+		} else if(_dirtyRenderer == null) {
+			int canvasSize = _world.getCanvasSize();
+			_dirtyRenderer = new DirtyRegionRenderer(canvasSize, canvasSize, _dirtyTileSize, _fullRepaintThreshold);
+		}
+	}
+	
+	/**
+	 * Get the renderer that redraws only what changed
+	 * 
+	 * @return The renderer, or null if everything is redrawn every frame
+	 */
+	public DirtyRegionRenderer getDirtyRenderer() {
+		return _dirtyRenderer;
+	}
+	
+	/**
+	 * Show or hide the frame timings on top of the field. Frames are timed
+	 * from the first time they're shown on.
+	 * 
+	 * @param showFrameStats
+	 */
+	public void setShowFrameStats(boolean showFrameStats) {
+		_showFrameStats = showFrameStats;
+		if(showFrameStats) {
+			_frameProfiler.setTiming(true);
+		}
+		if(showFrameStats && _frameStatsOverlay == null) {
+			_frameStatsOverlay = new FrameStatsOverlay(_frameProfiler, _world,
+					_camera.getViewLeft() + 5, _camera.getViewTop() + 5);
+		}
+		if(_dirtyRenderer != null) {
+			_dirtyRenderer.markAll();
+		}
+	}
+	
+	/**
+	 * Get the profiler marking out the phases of each frame. It only keeps
+	 * timings once they've been asked for (see FrameProfiler.setTiming()).
+	 * 
+	 * @return
+	 */
+	public FrameProfiler getFrameProfiler() {
+		return _frameProfiler;
+	}
+	
+	/**
+	 * Get the camera that picks which part of the field is in the window
+	 * 
+	 * @return
+	 */
+	public Camera getCamera() {
+		return _camera;
+	}
+	
+	private void _beginPhase(FramePhase phase) {
+		_frameProfiler.begin(phase);
+	}
+	
+	/**
+	 * This method should control all of your mouse actions. The mouse activity
+	 * is picked up by the SimpleCanvas and then it should call this method,
+	 * passing either the button that was pressed or some other flag.
+	 */
+	public void mouseAction(float x, float y, int button) {
+		_hasMouse = true;
+		_mouseX = x;
+		_mouseY = y;
+		_mouseCameraLeft = _camera.getLeft();
+		_mouseCameraTop = _camera.getTop();
+		_world.mouseAction(_camera.toFieldX(x), _camera.toFieldY(y), button);
+	}
+	
+	/**
+	 * This is the main drawing function that is automatically called whenever
+	 * the canvas is ready to be redrawn. The 'elapsedTime' argument is the
+	 * time, in seconds, since the last time this function was called.
+	 * 
+	 * The game is advanced by elapsedTime and then drawn as it now stands.
+	 */
+	public void draw(Graphics2D g, float elapsedTime) {
+		advance(elapsedTime);
+		render(g);
+	}
+	
+	/**
+	 * Move the game on by elapsedTime without drawing it, for render loops
+	 * that draw the frame themselves (like ActiveCanvas)
+	 * 
+	 * @param elapsedTime - Seconds since the game was last advanced
+	 */
+	public void advance(float elapsedTime) {
+		
+		// the field slides along under a mouse that isn't moving, so point the
+		// farmer at whatever is under it now
+		if(_hasMouse && (_camera.getLeft() != _mouseCameraLeft || _camera.getTop() != _mouseCameraTop)) {
+			mouseAction(_mouseX, _mouseY, -1);
+		}
+		
+		_world.tick(elapsedTime);
+	}
+	
+	/**
+	 * Draw the current state of the game without changing it
+	 * 
+	 * @param g
+	 */
+	public void render(Graphics2D g) {
+		
+		_camera.follow(_world.getFarmer());
+		
+		if(_dirtyRenderer == null) {
+			_renderScene(g);
+			return;
+		}
+		
+		// mark whatever changed and redraw just that on top of the last frame
+		_markChanges();
+		Graphics2D frame = _dirtyRenderer.beginFrame(g.getDeviceConfiguration());
+		frame.setColor(_defaultDrawColor);
+		_renderScene(frame);
+		_beginPhase(FramePhase.PRESENT);
+		_dirtyRenderer.endFrame(g);
+	}
+	
+	/**
+	 * Tell the dirty region renderer about everything that will look
+	 * different this frame. This has to cover everything _renderScene()
+	 * draws that can change from one frame to the next.
+	 */
+	private void _markChanges() {
+		
+		Farmer farmer = _world.getFarmer();
+		boolean zombieTitle = _world.getNumZombies() > 0;
+		boolean dead = farmer.isDead();
+		boolean won = _world.isGameWon();
+		boolean started = _world.hasGameStarted();
+		
+		// big changes like the title or the game over screen just redraw everything
+		if(zombieTitle != _lastZombieTitle || dead != _lastDead || won != _lastWon || started != _lastStarted) {
+			_dirtyRenderer.markAll();
+			_lastZombieTitle = zombieTitle;
+			_lastDead = dead;
+			_lastWon = won;
+			_lastStarted = started;
+		}
+		
+		// everything on the field moves when the camera does
+		int offsetX = _camera.getOffsetX();
+		int offsetY = _camera.getOffsetY();
+		if(offsetX != _lastOffsetX || offsetY != _lastOffsetY) {
+			_dirtyRenderer.markAll();
+			_lastOffsetX = offsetX;
+			_lastOffsetY = offsetY;
+		}
+		
+		// HUD text only needs redrawing when what it says changes
+		if(farmer.getNumTurkeysCaught() != _lastNumCaught || _world.getNumTurkeysToWin() != _lastNumToWin) {
+			_dirtyRenderer.mark(_caughtBox);
+			_lastNumCaught = farmer.getNumTurkeysCaught();
+			_lastNumToWin = _world.getNumTurkeysToWin();
+		}
+		if(_world.getGameTimeInSeconds() != _lastGameTime) {
+			_dirtyRenderer.mark(_timerBox);
+			_lastGameTime = _world.getGameTimeInSeconds();
+		}
+		if(!_world.getMessage().equals(_lastMessage)) {
+			_dirtyRenderer.mark(_messageBox);
+			_lastMessage = _world.getMessage();
+		}
+		
+		// the farmer and the turkeys move and animate every frame
+		if(!won && !dead) {
+			_dirtyRenderer.markCentered(farmer, 2, offsetX, offsetY);
+			List<Turkey> turkeys = _world.getTurkeys();
+			for(int i = 0; i < turkeys.size(); i++) {
+				// leave room for the incubation countdown
+				Turkey turkey = turkeys.get(i);
+				if(_camera.canSee(turkey, _turkeyMargin)) {
+					_dirtyRenderer.markCentered(turkey, _turkeyMargin, offsetX, offsetY);
+				}
+			}
+		}
+		
+		// the frame stats are drawn over whatever moved underneath them
+		if(_showFrameStats) {
+			_dirtyRenderer.mark(_frameStatsOverlay.getX(), _frameStatsOverlay.getY(),
+					_frameStatsOverlay.getWidth(), _frameStatsOverlay.getHeight());
+		}
+		
+		// text and pictures that anything redrawn underneath touches have to be
+		// redrawn whole, or they'd be drawn twice over where they weren't
+		boolean grew;
+		do {
+			grew = _dirtyRenderer.markIfDirty(_caughtBox);
+			grew |= _dirtyRenderer.markIfDirty(_timerBox);
+			grew |= _dirtyRenderer.markIfDirty(_messageBox);
+			if(dead) {
+				grew |= _dirtyRenderer.markIfDirty(_gameOverBox);
+			}
+			if(won) {
+				grew |= _dirtyRenderer.markIfDirty(_youWinBox);
+			}
+		} while(grew);
+	}
+	
+	/**
+	 * Draw everything on the field. With dirty regions only the parts of the
+	 * frame that need it are redrawn, and nothing is clipped to them, so
+	 * anything that isn't redrawn has to be skipped here (see
+	 * DirtyRegionRenderer). Sprites on a scrolling field are clipped to the
+	 * view, the way they always were.
+	 * 
+	 * @param g
+	 */
+	private void _renderScene(Graphics2D g) {
+		
+		Farmer farmer = _world.getFarmer();
+		int canvasSize = _world.getCanvasSize();
+		
+		// draw the background and the title (which changes once there are zombies)
+		_beginPhase(FramePhase.BACKGROUND);
+		boolean zombieTitle = _world.getNumZombies() > 0;
+		_drawBackground(g, zombieTitle, _camera.canScroll(), 0, 0, canvasSize, canvasSize);
+		
+		if(!_world.isGameWon()) {
+		
+			if(farmer.isDead() && _needsDrawing(_gameOverBox)) {
+				// show the player how the farmer died
+				_gameOver.drawCentered(g);
+			}
+			
+			// show the game timer, etc. if the game has started
+			if(_world.hasGameStarted()) {
+				
+				// restore the regular font
+				_beginPhase(FramePhase.HUD);
+				g.setFont(_regularFont);
+				
+				// draw game timer timer
+				
+				_drawGameTimer(g);
+				
+				// draw turkey catching progress
+				_drawCaughtCount(g);
+				
+			}
+			
+			// draw the farmer and all the turkeys if the farmer is still alive
+			if(!farmer.isDead()) {
+				
+				// only the turkeys the camera can see are drawn, or even animated
+				_beginPhase(FramePhase.TURKEY_DRAW);
+				List<Turkey> turkeys = _world.getTurkeys();
+				_visibleTurkeys.clear();
+				for(int i = 0; i < turkeys.size(); i++) {
+					if(_camera.canSee(turkeys.get(i), _turkeyMargin)) {
+						_visibleTurkeys.add(turkeys.get(i));
+					}
+				}
+				
+				// sprites are drawn in field coordinates, kept inside the view if the field scrolls
+				Graphics2D spriteGraphics = _camera.canScroll() ? _getViewGraphics(g) : g;
+				int offsetX = _camera.getOffsetX();
+				int offsetY = _camera.getOffsetY();
+				spriteGraphics.setFont(_regularFont);
+				spriteGraphics.setColor(g.getColor());
+				spriteGraphics.translate(offsetX, offsetY);
+				
+				// draw every sprite image in one go from the atlas, then countdowns and such on top
+				_spriteBatch.begin();
+				_spriteBatch.drawCentered(farmer);
+				for(int i = 0; i < _visibleTurkeys.size(); i++) {
+					_spriteBatch.drawCentered(_visibleTurkeys.get(i));
+				}
+				_spriteBatch.flush(spriteGraphics);
+				farmer.drawDetails(spriteGraphics);
+				for(int i = 0; i < _visibleTurkeys.size(); i++) {
+					_visibleTurkeys.get(i).drawDetails(spriteGraphics);
+				}
+				
+				spriteGraphics.translate(-offsetX, -offsetY);
+			}
+		} else {
+			
+			// the game has been won!
+			_beginPhase(FramePhase.HUD);
+			_drawGameTimer(g);
+			if(_needsDrawing(_youWinBox)) {
+				_youWin.drawCentered(g);
+			}
+			
+		}
+		
+		// draw message to player
+		_beginPhase(FramePhase.HUD);
+		g.setColor(_defaultDrawColor);
+		g.setFont(_messageFont);
+		_messageText.setText(_world.getMessage());
+		if(_needsDrawing(_messageBox)) {
+			_messageText.draw(g, _camera.getViewLeft(), _camera.getViewBottom() + 45);
+		}
+		
+		// the overlay isn't timed, so it doesn't show up in its own numbers
+		if(_showFrameStats) {
+			_frameProfiler.end();
+			_frameStatsOverlay.draw(g);
+		}
+	}
+	
+	/**
+	 * Get a graphic that draws on another one, but only inside the view.
+	 * Setting a clip makes Java2D build new shapes, so rather than clip and
+	 * unclip every frame the clipped copy is kept, and only made again when
+	 * the frame is drawn on something else (with dirty regions it never is).
+	 * 
+	 * @param g
+	 * @return
+	 */
+	private Graphics2D _getViewGraphics(Graphics2D g) {
+		if(g != _viewGraphicsTarget) {
+			if(_viewGraphics != null) {
+				_viewGraphics.dispose();
+			}
+			_viewGraphics = (Graphics2D) g.create();
+			_viewGraphics.clipRect(_camera.getViewLeft(), _camera.getViewTop(), _camera.getViewWidth(), _camera.getViewHeight());
+			_viewGraphicsTarget = g;
+		}
+		return _viewGraphics;
+	}
+	
+	/**
+	 * Is any of a rectangle of the screen being redrawn this frame?
+	 * 
+	 * @param box
+	 * @return
+	 */
+	private boolean _needsDrawing(Rectangle box) {
+		return _dirtyRenderer == null || _dirtyRenderer.isDirty(box);
+	}
+	
+	/**
+	 * Get the rectangle a sprite covers when it's drawn centered
+	 * 
+	 * @param sprite
+	 * @return
+	 */
+	private Rectangle _getBox(Sprite sprite) {
+		return new Rectangle(sprite._getOffsetX(), sprite._getOffsetY(), sprite.getWidth(), sprite.getHeight());
+	}
+	
+	/**
+	 * Draw the background (and the ground, over the part of it in the view)
+	 * in a rectangle of the screen, or just the parts of the rectangle being
+	 * redrawn this frame
+	 * 
+	 * @param g
+	 * @param zombieTitle - Show the zombie version of the title?
+	 * @param ground - Fill the view with dirt?
+	 * @param x
+	 * @param y
+	 * @param width
+	 * @param height
+	 */
+	private void _drawBackground(Graphics2D g, boolean zombieTitle, boolean ground, int x, int y, int width, int height) {
+		if(_dirtyRenderer == null || _dirtyRenderer.isRedrawingEverything()) {
+			_drawBackgroundRect(g, zombieTitle, ground, x, y, width, height);
+			return;
+		}
+		for(int i = 0; i < _dirtyRenderer.getNumDirtyRects(); i++) {
+			Rectangle dirty = _dirtyRenderer.getDirtyRect(i);
+			int left = Math.max(x, dirty.x);
+			int top = Math.max(y, dirty.y);
+			int right = Math.min(x + width, dirty.x + dirty.width);
+			int bottom = Math.min(y + height, dirty.y + dirty.height);
+			if(right > left && bottom > top) {
+				_drawBackgroundRect(g, zombieTitle, ground, left, top, right - left, bottom - top);
+			}
+		}
+	}
+	
+	private void _drawBackgroundRect(Graphics2D g, boolean zombieTitle, boolean ground, int x, int y, int width, int height) {
+		_backgroundLayer.draw(g, zombieTitle, x, y, width, height);
+		if(!ground) {
+			return;
+		}
+		
+		// the dirt is lined up with the field, not the screen, so it's copied
+		// from as far into the pre-tiled ground as the camera is into a tile
+		int left = Math.max(x, _camera.getViewLeft());
+		int top = Math.max(y, _camera.getViewTop());
+		int right = Math.min(x + width, _camera.getViewRight());
+		int bottom = Math.min(y + height, _camera.getViewBottom());
+		if(right > left && bottom > top) {
+			int groundX = left - _camera.getViewLeft() + Math.floorMod(_camera.getLeft(), _groundTileSize);
+			int groundY = top - _camera.getViewTop() + Math.floorMod(_camera.getTop(), _groundTileSize);
+			g.drawImage(_ground, left, top, right, bottom,
+					groundX, groundY, groundX + right - left, groundY + bottom - top, null);
+		}
+	}
+	
+	/**
+	 * Tile the dirt from the middle of the background over an image a tile
+	 * bigger than the view, so any part of the view can be filled with a
+	 * single copy from it wherever the camera is
+	 * 
+	 * @return
+	 */
+	private BufferedImage _buildGround() {
+		BufferedImage background = ResLoader.getImage("images/background.gif");
+		BufferedImage tile = background.getSubimage(120, 120, _groundTileSize, _groundTileSize);
+		BufferedImage ground = new BufferedImage(_camera.getViewWidth() + _groundTileSize,
+				_camera.getViewHeight() + _groundTileSize, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = ground.createGraphics();
+		for(int y = 0; y < ground.getHeight(); y += _groundTileSize) {
+			for(int x = 0; x < ground.getWidth(); x += _groundTileSize) {
+				g.drawImage(tile, x, y, null);
+			}
+		}
+		g.dispose();
+		return ground;
+	}
+	
+	private void _drawGameTimer(Graphics2D g) {
+		if(!_needsDrawing(_timerBox)) {
+			return;
+		}
+		
+		// "Time: 01:23" without making a new string every second
+		int x = _camera.getViewRight() - 60;
+		int y = _camera.getViewBottom() + 40;
+		_timerText.draw(g, x, y);
+		_hudDigits.drawTime(g, _world.getGameTimeInSeconds(), x + _timerText.getWidth(), y);
+	}
+	
+	private void _drawCaughtCount(Graphics2D g) {
+		if(!_needsDrawing(_caughtBox)) {
+			return;
+		}
+		
+		// "You caught 3 of 10 turkeys" without making a new string every catch
+		int x = _camera.getViewRight() - 180;
+		int y = 30;
+		_caughtText.draw(g, x, y);
+		x = _hudDigits.drawNumber(g, _world.getFarmer().getNumTurkeysCaught(), 1, x + _caughtText.getWidth(), y);
+		_ofText.draw(g, x, y);
+		x = _hudDigits.drawNumber(g, _world.getNumTurkeysToWin(), 1, x + _ofText.getWidth(), y);
+		_turkeysText.draw(g, x, y);
+	}
+
+	public void tellPlayer(String message) {
+		_world.tellPlayer(message);
+	}
+	
+	
+	
+	
+
+	/**
+	 * Your standard main method. Nothing for you to change here.
+	 * 
+	 * @param args
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		TurkeyField simulator = new TurkeyField();
+		simulator.play();
+	}
+
+	/**
+	 * This method starts the game.
+	 * 
+	 * By default Swing repaints the SimpleCanvas whenever it gets around to it.
+	 * Run with -Dturkeyfarmer.rendering=active to have an ActiveCanvas draw
+	 * from its own render loop instead, optionally capped with
+	 * -Dturkeyfarmer.maxFps=60
+	 */
+	public void play() {
+		if("active".equals(System.getProperty("turkeyfarmer.rendering"))) {
+			int canvasSize = _world.getCanvasSize();
+			int maxFps = Integer.getInteger("turkeyfarmer.maxFps", 0);
+			new ActiveCanvas(canvasSize, canvasSize, this, maxFps).setupAndDisplay();
+		} else {
+			canvas.setupAndDisplay();
+		}
+		
+		if(_recording != null) {
+			// save the recording when the player closes the window
+			final File recordingFile = new File(System.getProperty("turkeyfarmer.record"));
+			Runtime.getRuntime().addShutdownHook(new Thread() {
+				public void run() {
+					try {
+						_recording.save(recordingFile);
+						System.out.println("Saved " + _recording.getNumTicks() + " ticks to " + recordingFile);
+					} catch (IOException e) {
+						System.err.println("Unable to save recording to " + recordingFile + ": " + e.getMessage());
+					}
+				}
+			});
+		}
+		
+		if(System.getProperty("turkeyfarmer.frameStatsFile") != null) {
+			// save the frame timings when the player closes the window
+			final File statsFile = new File(System.getProperty("turkeyfarmer.frameStatsFile"));
+			Runtime.getRuntime().addShutdownHook(new Thread() {
+				public void run() {
+					try {
+						_frameProfiler.dump(statsFile);
+						System.out.println("Saved frame timings to " + statsFile);
+					} catch (IOException e) {
+						System.err.println("Unable to save frame timings to " + statsFile + ": " + e.getMessage());
+					}
+				}
+			});
+		}
+		
+		if(_dirtyRenderer != null) {
+			// let the player know how much redrawing was saved
+			Runtime.getRuntime().addShutdownHook(new Thread() {
+				public void run() {
+					System.out.printf("Redrew %.1f%% of the field per frame on average (%d of %d frames in full)%n",
+							_dirtyRenderer.getAverageFractionTouched() * 100,
+							_dirtyRenderer.getNumFullRepaints(), _dirtyRenderer.getNumFrames());
+				}
+			});
+		}
+	}
+}
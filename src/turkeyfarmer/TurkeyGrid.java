@@ -0,0 +1,182 @@
+/**
+ * TurkeyGrid.java
+ *
+ * A uniform spatial hash over the field of play. The field is cut into
+ * square cells and every turkey is dropped into the cell under its
+ * center point, so questions like "which turkeys are near me?" only
+ * have to look at a handful of cells instead of every turkey on the field.
+ *
+ * The grid indexes the turkeys of a TurkeyPopulation and is rebuilt
+ * from it once per tick. Turkeys keep moving a little after the rebuild,
+ * so callers should always check the exact distance of whatever the
+ * grid hands back.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public class TurkeyGrid {
+
+	private TurkeyPopulation _population;
+	private int _top, _left;
+	private int _cellSize;
+	private int _columns, _rows;
+	private int[] _cellHeads;			// first turkey index in each cell, or -1 if empty
+	private int[] _nextInCell;			// next turkey index in the same cell, or -1
+
+	/**
+	 * Create a grid covering the given field bounds
+	 *
+	 * @param population - The turkeys to index
+	 * @param top
+	 * @param right
+	 * @param bottom
+	 * @param left
+	 * @param cellSize - Width and height of a single cell
+	 */
+	public TurkeyGrid(TurkeyPopulation population, int top, int right, int bottom, int left, int cellSize) {
+		_population = population;
+		_top = top;
+		_left = left;
+		_cellSize = cellSize;
+		_columns = Math.max(1, (right - left) / cellSize + 1);
+		_rows = Math.max(1, (bottom - top) / cellSize + 1);
+		_cellHeads = new int[_columns * _rows];
+		_nextInCell = new int[population.getCapacity()];
+		clear();
+	}
+
+	/**
+	 * Empty every cell
+	 */
+	public void clear() {
+		for(int i = 0; i < _cellHeads.length; i++) {
+			_cellHeads[i] = -1;
+		}
+	}
+
+	/**
+	 * Throw away the old cell contents and re-bucket every turkey in the
+	 * population at its loaded location
+	 */
+	public void rebuild() {
+		clear();
+
+		int size = _population.size();
+		if(size > _nextInCell.length) {
+			_nextInCell = new int[Math.max(size, _nextInCell.length * 2)];
+		}
+
+		for(int i = 0; i < size; i++) {
+			int cell = _getCell(_getColumn(_population.getX(i)), _getRow(_population.getY(i)));
+			_nextInCell[i] = _cellHeads[cell];
+			_cellHeads[cell] = i;
+		}
+	}
+
+	public TurkeyPopulation getPopulation() {
+		return _population;
+	}
+
+	/**
+	 * Collect the index of every turkey in the cells touched by a circle.
+	 * Turkeys outside the circle but inside a touched cell are included too,
+	 * so the caller still has to check the real distance.
+	 *
+	 * @param x - Center of the circle
+	 * @param y - Center of the circle
+	 * @param radius - Radius of the circle
+	 * @param result - List to fill (it is emptied first)
+	 */
+	public void getTurkeysNear(float x, float y, float radius, IndexList result) {
+
+		result.clear();
+
+		int minColumn = _getColumn(x - radius);
+		int maxColumn = _getColumn(x + radius);
+		int minRow = _getRow(y - radius);
+		int maxRow = _getRow(y + radius);
+
+		for(int row = minRow; row <= maxRow; row++) {
+			for(int column = minColumn; column <= maxColumn; column++) {
+				for(int i = _cellHeads[_getCell(column, row)]; i != -1; i = _nextInCell[i]) {
+					result.add(i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Find the closest turkey that is neither infected nor a zombie
+	 *
+	 * Searches outwards one ring of cells at a time and stops as soon as
+	 * no unvisited cell could hold anything closer than the best match.
+	 *
+	 * @param x
+	 * @param y
+	 * @param maxDistance - Don't look any further away than this
+	 * @return Index of the closest healthy turkey within maxDistance, or -1
+	 */
+	public int getClosestHealthyTurkey(float x, float y, float maxDistance) {
+
+		int centerColumn = _getColumn(x);
+		int centerRow = _getRow(y);
+		int maxRing = Math.max(_columns, _rows);
+
+		// distances are compared squared so no square roots are needed
+		int closestTurkey = -1;
+		float smallestDistance = maxDistance * maxDistance;
+
+		for(int ring = 0; ring <= maxRing; ring++) {
+
+			// anything in this ring is at least this far away
+			float ringDistance = (ring - 1) * _cellSize;
+			if(ring > 0 && ringDistance * ringDistance > smallestDistance) {
+				break;
+			}
+
+			for(int row = centerRow - ring; row <= centerRow + ring; row++) {
+				if(row < 0 || row >= _rows) {
+					continue;
+				}
+
+				// only the outer edge of the ring, the inside has already been searched
+				boolean edgeRow = (row == centerRow - ring || row == centerRow + ring);
+				int step = edgeRow ? 1 : Math.max(1, ring * 2);
+
+				for(int column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+					if(column < 0 || column >= _columns) {
+						continue;
+					}
+					for(int i = _cellHeads[_getCell(column, row)]; i != -1; i = _nextInCell[i]) {
+						if(_population.getState(i) == TurkeyPopulation.HEALTHY) {
+							float distance = _population.getDistanceSquaredFrom(i, x, y);
+							if(distance < smallestDistance) {
+								smallestDistance = distance;
+								closestTurkey = i;
+							}
+						}
+					}
+				}
+			}
+		}
+		return closestTurkey;
+	}
+
+	private int _getColumn(float x) {
+		int column = (int) ((x - _left) / _cellSize);
+		return Math.max(0, Math.min(_columns - 1, column));
+	}
+
+	private int _getRow(float y) {
+		int row = (int) ((y - _top) / _cellSize);
+		return Math.max(0, Math.min(_rows - 1, row));
+	}
+
+	private int _getCell(int column, int row) {
+		return row * _columns + column;
+	}
+}
@@ -0,0 +1,95 @@
+/**
+ * TurkeyPool.java
+ *
+ * Keeps turkeys that have left the field (caught, or still on it when the
+ * game was reset) so they can be used again instead of making new ones.
+ * Making a turkey means making its animations, which is more than a
+ * spawn in the middle of a game should have to do, and every turkey thrown
+ * away is more garbage to collect while the game is being played.
+ *
+ * A turkey is wiped clean with Turkey.recycle() when it's given back, so a
+ * turkey taken from the pool acts exactly like a brand new one once it has
+ * been set up (speed, bounds, random numbers and so on), and a game plays
+ * out the same whether its turkeys come from the pool or not.
+ *
+ * The world fills the pool a few turkeys at a time during the intro (see
+ * warm()), when nothing else is going on, so spawning turkeys during the
+ * game doesn't make any.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.util.ArrayList;
+
+public class TurkeyPool {
+
+	private ArrayList<Turkey> _spares = new ArrayList<>();
+	private int _numMade;		// how many turkeys the pool has had to make
+
+	/**
+	 * Get a turkey to put on the field, making one only if there are no
+	 * spares. It still needs setting up like a new turkey would.
+	 *
+	 * @return
+	 */
+	public Turkey take() {
+		if(_spares.isEmpty()) {
+			_numMade++;
+			return new Turkey(0);
+		}
+		return _spares.remove(_spares.size() - 1);
+	}
+
+	/**
+	 * Give back a turkey that has left the field. It's wiped clean right
+	 * away (including anything it had waiting on the scheduler), so don't
+	 * use it for anything else afterwards.
+	 *
+	 * @param turkey
+	 */
+	public void release(Turkey turkey) {
+		turkey.recycle();
+		_spares.add(turkey);
+	}
+
+	/**
+	 * Make a few more spare turkeys, up to a given number of spares
+	 *
+	 * @param numSpares - How many spares to have once the pool is warm
+	 * @param mostToMake - The most turkeys to make this time
+	 */
+	public void warm(int numSpares, int mostToMake) {
+		if(_spares.size() >= numSpares) {
+			return;
+		}
+		_spares.ensureCapacity(numSpares);
+		for(int i = 0; i < mostToMake && _spares.size() < numSpares; i++) {
+			_numMade++;
+			Turkey turkey = new Turkey(0);
+			_spares.add(turkey);
+		}
+	}
+
+	/**
+	 * Get how many turkeys are waiting to be used again
+	 *
+	 * @return
+	 */
+	public int getNumSpares() {
+		return _spares.size();
+	}
+
+	/**
+	 * Get how many turkeys the pool has ever made, warming up or because
+	 * it ran out
+	 *
+	 * @return
+	 */
+	public int getNumMade() {
+		return _numMade;
+	}
+}
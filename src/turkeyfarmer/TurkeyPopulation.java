@@ -0,0 +1,203 @@
+/**
+ * TurkeyPopulation.java
+ *
+ * A snapshot of the flock for the spatial grid and the neighbor checks.
+ * Once per tick the world copies every turkey's location and state into
+ * flat arrays, and the grid buckets indexes into them, so looking over
+ * the turkeys near someone (infection, personal space, zombie targeting
+ * and the farmer's catch) reads those arrays instead of every neighbor's
+ * Turkey object. The turkeys themselves are still objects that move one
+ * at a time; this is only a copy of what their neighbors need to see, on
+ * top of them, not instead of them.
+ *
+ * Turkeys are addressed by their index in the population. The arrays are
+ * a snapshot of the start of the tick that every turkey reads from, while
+ * each turkey writes only to its own object as it moves; the next load()
+ * picks the changes up. Anything a turkey does to someone else (infecting
+ * another turkey or eating the farmer) is recorded as a request and applied
+ * in applyRequests() once every turkey has moved. That keeps the turkeys
+ * independent of each other within a tick, so they can be moved in any
+ * order or on several threads and still give the same result.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public class TurkeyPopulation {
+
+	// the states a turkey can be in
+	public static final byte HEALTHY = 0;
+	public static final byte INCUBATING = 1;
+	public static final byte ZOMBIE = 2;
+
+	private float[] _x, _y;
+	private byte[] _state;
+	private Turkey[] _turkeys;
+	private int _size;
+
+	// things turkeys want to happen to others this tick
+	private boolean[] _infectionRequested;
+	private volatile String _farmerDeathRequested;
+
+	public TurkeyPopulation() {
+		this(64);
+	}
+
+	/**
+	 * Create a population with room for a number of turkeys, so loading
+	 * that many never has to grow the arrays
+	 *
+	 * @param capacity
+	 */
+	public TurkeyPopulation(int capacity) {
+		_allocate(Math.max(1, capacity));
+	}
+
+	/**
+	 * Get how many turkeys fit before the arrays have to grow
+	 *
+	 * @return
+	 */
+	public int getCapacity() {
+		return _turkeys.length;
+	}
+
+	/**
+	 * Copy the current state of every turkey into the arrays
+	 *
+	 * @param turkeys
+	 */
+	public void load(TurkeyRegistry turkeys) {
+
+		int size = turkeys.size();
+		if(size > _turkeys.length) {
+			_allocate(Math.max(size, _turkeys.length * 2));
+		}
+
+		for(int i = 0; i < size; i++) {
+			Turkey turkey = turkeys.get(i);
+			_turkeys[i] = turkey;
+			_x[i] = turkey.getX();
+			_y[i] = turkey.getY();
+			_state[i] = turkey.getState();
+			_infectionRequested[i] = false;
+		}
+		_farmerDeathRequested = null;
+
+		// let go of turkeys that have left the field since the last load
+		for(int i = size; i < _size; i++) {
+			_turkeys[i] = null;
+		}
+		_size = size;
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	public float getX(int index) {
+		return _x[index];
+	}
+	public float getY(int index) {
+		return _y[index];
+	}
+	public byte getState(int index) {
+		return _state[index];
+	}
+
+	/**
+	 * Get the turkey an index refers to, for when something has to
+	 * happen to the turkey itself (like getting infected)
+	 *
+	 * @param index
+	 * @return
+	 */
+	public Turkey getTurkey(int index) {
+		return _turkeys[index];
+	}
+
+	/**
+	 * Get the square of the distance between a point and a turkey, to
+	 * compare against a distance squared without taking a square root
+	 *
+	 * @param index
+	 * @param x
+	 * @param y
+	 * @return
+	 */
+	public float getDistanceSquaredFrom(int index, float x, float y) {
+		float xDist = _x[index] - x;
+		float yDist = _y[index] - y;
+		return xDist * xDist + yDist * yDist;
+	}
+
+	/**
+	 * Ask for a turkey to be infected at the end of the tick. Safe to call
+	 * from several threads at once.
+	 *
+	 * @param index
+	 */
+	public void requestInfection(int index) {
+		_infectionRequested[index] = true;
+	}
+
+	/**
+	 * Ask for the farmer to die at the end of the tick. Safe to call from
+	 * several threads at once.
+	 *
+	 * @param message - How the farmer died
+	 */
+	public void requestFarmerDeath(String message) {
+		_farmerDeathRequested = message;
+	}
+
+	/**
+	 * Carry out everything the turkeys asked for during the tick. Infections
+	 * are applied in index order so the result never depends on which
+	 * turkey (or thread) asked first.
+	 *
+	 * @param farmer
+	 */
+	public void applyRequests(Farmer farmer) {
+		for(int i = 0; i < _size; i++) {
+			if(_infectionRequested[i]) {
+				_infectionRequested[i] = false;
+				if(!_turkeys[i].isInfected()) {
+					_turkeys[i].infect();
+				}
+			}
+		}
+		if(_farmerDeathRequested != null) {
+			farmer.makeDead(_farmerDeathRequested);
+			_farmerDeathRequested = null;
+		}
+	}
+
+	private void _allocate(int capacity) {
+		_x = _grow(_x, capacity);
+		_y = _grow(_y, capacity);
+
+		byte[] state = new byte[capacity];
+		Turkey[] turkeys = new Turkey[capacity];
+		boolean[] infectionRequested = new boolean[capacity];
+		if(_turkeys != null) {
+			System.arraycopy(_state, 0, state, 0, _size);
+			System.arraycopy(_turkeys, 0, turkeys, 0, _size);
+			System.arraycopy(_infectionRequested, 0, infectionRequested, 0, _size);
+		}
+		_state = state;
+		_turkeys = turkeys;
+		_infectionRequested = infectionRequested;
+	}
+
+	private float[] _grow(float[] values, int capacity) {
+		float[] grown = new float[capacity];
+		if(values != null) {
+			System.arraycopy(values, 0, grown, 0, _size);
+		}
+		return grown;
+	}
+}
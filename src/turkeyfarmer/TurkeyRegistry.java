@@ -0,0 +1,330 @@
+/**
+ * TurkeyRegistry.java
+ *
+ * Every turkey on the field, packed into one array with no holes so they
+ * can be walked in order every tick and every frame, and each reachable
+ * through a handle that stays good for as long as its turkey is on the
+ * field.
+ *
+ * A handle is an int made of the turkey's slot and the slot's generation.
+ * The generation goes up every time a turkey leaves its slot, so a handle
+ * kept after its turkey was caught finds nothing, instead of finding
+ * whichever turkey got the slot (or the turkey object, back from the
+ * TurkeyPool) next. There are only 2048 generations, so rather than start
+ * over at 0 (and hand out old handles again) a slot that has used them
+ * all up is retired and never used again. A handle is never handed out
+ * twice, however long a game goes on; a retired slot costs a few bytes,
+ * and it takes about two billion turkeys coming and going to run out of
+ * slots.
+ *
+ * A turkey is taken out by moving the last turkey into its place, so
+ * taking out k turkeys costs k steps however many are on the field, and
+ * the order of the rest changes.
+ *
+ * While the turkeys are being updated (between beginUpdate() and
+ * endUpdate(), which the world wraps around every tick) nothing is taken
+ * out straight away. Turkeys removed then are only marked, and leave the
+ * array all at once at endUpdate(), so nothing walking it ever sees it
+ * half changed. A marked turkey is still in the array (and still moves)
+ * until then, but its handle no longer finds it and it can't be removed
+ * twice.
+ *
+ * Turkeys that leave are given back to the TurkeyPool, if there is one,
+ * once they're really gone.
+ *
+ * The registry isn't thread safe. Turkeys moved in parallel only read
+ * the array (see TurkeyWorld).
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TurkeyRegistry {
+
+	// the handle a turkey has when it isn't on the field
+	public static final int NO_HANDLE = -1;
+
+	// a handle is the slot in the low bits and its generation above them,
+	// kept small enough that handles are never negative
+	private static final int SLOT_BITS = 20;
+	private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+	private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+
+	// the turkeys themselves, with no holes
+	private Turkey[] _turkeys;
+	private int[] _slotOf;			// the slot of each turkey in _turkeys
+	private int _size;
+
+	// slots, which don't move when other turkeys leave
+	private int[] _positionOf;		// where each slot's turkey is in _turkeys, or -1 if the slot is free
+	private int[] _generations;
+	private boolean[] _leaving;		// removed, but waiting for endUpdate()
+	private int _numSlots;
+	private int[] _freeSlots;
+	private int _numFreeSlots;
+
+	// removals waiting for endUpdate()
+	private boolean _updating;
+	private int[] _leavingSlots;
+	private int _numLeaving;
+
+	private TurkeyPool _spareTurkeys;	// where turkeys go when they leave, or null
+	private List<Turkey> _view = new View();
+
+	/**
+	 * Create a registry with room for a number of turkeys, so adding that
+	 * many never has to grow it
+	 *
+	 * @param capacity
+	 * @param spareTurkeys - Where turkeys that leave go to be used again, or null to just let them go
+	 */
+	public TurkeyRegistry(int capacity, TurkeyPool spareTurkeys) {
+		_allocateTurkeys(Math.max(1, capacity));
+		_allocateSlots(Math.max(1, capacity));
+		_spareTurkeys = spareTurkeys;
+	}
+
+	/**
+	 * Put a turkey on the field
+	 *
+	 * @param turkey
+	 * @return The turkey's handle (which it also remembers, see Turkey.getHandle())
+	 */
+	public int add(Turkey turkey) {
+		if(turkey.getHandle() != NO_HANDLE) {
+			throw new IllegalArgumentException("That turkey is already on the field");
+		}
+		if(_size == _turkeys.length) {
+			_allocateTurkeys(_turkeys.length * 2);
+		}
+
+		// use a slot that was given up before making a new one
+		int slot;
+		if(_numFreeSlots > 0) {
+			slot = _freeSlots[--_numFreeSlots];
+		} else {
+			if(_numSlots > SLOT_MASK) {
+				throw new IllegalStateException("All " + (SLOT_MASK + 1) + " turkey slots are taken or used up");
+			}
+			if(_numSlots == _positionOf.length) {
+				_allocateSlots(Math.min(_positionOf.length * 2, SLOT_MASK + 1));
+			}
+			slot = _numSlots++;
+		}
+
+		_turkeys[_size] = turkey;
+		_slotOf[_size] = slot;
+		_positionOf[slot] = _size;
+		_size++;
+
+		int handle = (_generations[slot] << SLOT_BITS) | slot;
+		turkey.setHandle(handle);
+		return handle;
+	}
+
+	/**
+	 * Take a turkey off the field, now or at the end of the update if the
+	 * turkeys are being updated
+	 *
+	 * @param handle
+	 * @return false if the handle doesn't find a turkey (it already left, or is leaving)
+	 */
+	public boolean remove(int handle) {
+		if(!contains(handle)) {
+			return false;
+		}
+		int slot = handle & SLOT_MASK;
+		if(_updating) {
+			_leaving[slot] = true;
+			_leavingSlots[_numLeaving++] = slot;
+		} else {
+			_removeSlot(slot);
+		}
+		return true;
+	}
+
+	public boolean remove(Turkey turkey) {
+		return remove(turkey.getHandle());
+	}
+
+	/**
+	 * Take every turkey off the field (now or at the end of the update,
+	 * like remove())
+	 */
+	public void removeAll() {
+		// from the end, so nothing has to be moved to fill the holes
+		for(int i = _size - 1; i >= 0; i--) {
+			remove(_turkeys[i].getHandle());
+		}
+	}
+
+	/**
+	 * Does a handle still find a turkey that isn't leaving?
+	 *
+	 * @param handle
+	 * @return
+	 */
+	public boolean contains(int handle) {
+		if(handle < 0) {
+			return false;
+		}
+		int slot = handle & SLOT_MASK;
+		return slot < _numSlots && _positionOf[slot] != -1 && !_leaving[slot]
+				&& _generations[slot] == handle >>> SLOT_BITS;
+	}
+
+	/**
+	 * Find a turkey by its handle
+	 *
+	 * @param handle
+	 * @return The turkey, or null if it has left the field (or is leaving)
+	 */
+	public Turkey find(int handle) {
+		return contains(handle) ? _turkeys[_positionOf[handle & SLOT_MASK]] : null;
+	}
+
+	/**
+	 * Hold off on taking turkeys out until endUpdate(), so they can be
+	 * walked while they're being updated
+	 */
+	public void beginUpdate() {
+		_updating = true;
+	}
+
+	/**
+	 * Take out every turkey that was removed since beginUpdate()
+	 */
+	public void endUpdate() {
+		_updating = false;
+		for(int i = 0; i < _numLeaving; i++) {
+			int slot = _leavingSlots[i];
+			_leaving[slot] = false;
+			_removeSlot(slot);
+		}
+		_numLeaving = 0;
+	}
+
+	/**
+	 * Get how many turkeys are on the field, counting any that are leaving
+	 * at the end of this update
+	 *
+	 * @return
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Get one of the turkeys. Loop position from 0 to size() - 1 to visit
+	 * all of them.
+	 *
+	 * @param position
+	 * @return
+	 */
+	public Turkey get(int position) {
+		if(position >= _size) {
+			throw new IndexOutOfBoundsException("There are only " + _size + " turkeys, not " + (position + 1));
+		}
+		return _turkeys[position];
+	}
+
+	/**
+	 * Get the turkeys as a read-only list that always shows what's on the
+	 * field now
+	 *
+	 * @return
+	 */
+	public List<Turkey> asList() {
+		return _view;
+	}
+
+	// what a handle is made of, for checking on the registry
+	static int getSlot(int handle) {
+		return handle & SLOT_MASK;
+	}
+	static int getGeneration(int handle) {
+		return handle >>> SLOT_BITS;
+	}
+
+	private void _removeSlot(int slot) {
+		int position = _positionOf[slot];
+		Turkey turkey = _turkeys[position];
+
+		// fill the hole with the last turkey
+		int last = _size - 1;
+		_turkeys[position] = _turkeys[last];
+		_slotOf[position] = _slotOf[last];
+		_positionOf[_slotOf[position]] = position;
+		_turkeys[last] = null;
+		_size--;
+
+		// anyone still holding the old handle won't find the slot's next turkey,
+		// and once the slot is out of generations it isn't used again at all
+		_positionOf[slot] = -1;
+		if(_generations[slot] < GENERATION_MASK) {
+			_generations[slot]++;
+			_freeSlots[_numFreeSlots++] = slot;
+		}
+
+		turkey.setHandle(NO_HANDLE);
+		if(_spareTurkeys != null) {
+			_spareTurkeys.release(turkey);
+		} else {
+			turkey.cancelScheduledEvents();
+		}
+	}
+
+	private void _allocateTurkeys(int capacity) {
+		Turkey[] turkeys = new Turkey[capacity];
+		int[] slotOf = new int[capacity];
+		int[] leavingSlots = new int[capacity];
+		if(_turkeys != null) {
+			System.arraycopy(_turkeys, 0, turkeys, 0, _size);
+			System.arraycopy(_slotOf, 0, slotOf, 0, _size);
+			System.arraycopy(_leavingSlots, 0, leavingSlots, 0, _numLeaving);
+		}
+		_turkeys = turkeys;
+		_slotOf = slotOf;
+		_leavingSlots = leavingSlots;
+	}
+
+	// slots grow on their own, since retired slots can outnumber the turkeys
+	private void _allocateSlots(int capacity) {
+		int[] positionOf = new int[capacity];
+		int[] generations = new int[capacity];
+		boolean[] leaving = new boolean[capacity];
+		int[] freeSlots = new int[capacity];
+		Arrays.fill(positionOf, -1);
+		if(_positionOf != null) {
+			System.arraycopy(_positionOf, 0, positionOf, 0, _numSlots);
+			System.arraycopy(_generations, 0, generations, 0, _numSlots);
+			System.arraycopy(_leaving, 0, leaving, 0, _numSlots);
+			System.arraycopy(_freeSlots, 0, freeSlots, 0, _numFreeSlots);
+		}
+		_positionOf = positionOf;
+		_generations = generations;
+		_leaving = leaving;
+		_freeSlots = freeSlots;
+	}
+
+	/**
+	 * The turkeys as a list that can't be changed through it
+	 */
+	private class View extends AbstractList<Turkey> {
+
+		public Turkey get(int position) {
+			return TurkeyRegistry.this.get(position);
+		}
+
+		public int size() {
+			return _size;
+		}
+	}
+}
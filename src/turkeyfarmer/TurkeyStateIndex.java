@@ -0,0 +1,150 @@
+/**
+ * TurkeyStateIndex.java
+ *
+ * Keeps every turkey on the field filed under its state: healthy,
+ * incubating or zombie. A turkey moves from one set to another when it
+ * gets infected or turns, so the number of turkeys in a state is always
+ * known without looking at them, and code that only cares about one kind
+ * of turkey can walk just that set.
+ *
+ * Each set is a plain array. A turkey remembers its slot in the array so
+ * it can be taken out by moving the last turkey of the set into its place,
+ * which means the order within a set changes as turkeys come and go.
+ *
+ * The index isn't thread safe. Turkeys only change state between moves
+ * (see TurkeyPopulation.applyRequests), never while they are being moved.
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public class TurkeyStateIndex {
+
+	private static final int NUM_STATES = 3;
+
+	private Turkey[][] _turkeys;
+	private int[] _sizes;
+
+	public TurkeyStateIndex() {
+		this(16);
+	}
+
+	/**
+	 * Create an index with room for a number of turkeys in every state, so
+	 * filing that many never has to grow it
+	 *
+	 * @param capacity
+	 */
+	public TurkeyStateIndex(int capacity) {
+		_turkeys = new Turkey[NUM_STATES][Math.max(1, capacity)];
+		_sizes = new int[NUM_STATES];
+	}
+
+	/**
+	 * Start keeping track of a turkey, filed under whatever state it's in now
+	 *
+	 * @param turkey
+	 */
+	public void add(Turkey turkey) {
+		_insert(turkey, turkey.getState());
+		turkey.setStateIndex(this);
+	}
+
+	/**
+	 * Stop keeping track of a turkey
+	 *
+	 * @param turkey
+	 * @return false if the turkey wasn't in this index
+	 */
+	public boolean remove(Turkey turkey) {
+		if(turkey.getStateIndex() != this) {
+			return false;
+		}
+		_delete(turkey, turkey.getState());
+		turkey.setStateIndex(null);
+		return true;
+	}
+
+	/**
+	 * Forget every turkey
+	 */
+	public void clear() {
+		for(int state = 0; state < NUM_STATES; state++) {
+			for(int i = 0; i < _sizes[state]; i++) {
+				_turkeys[state][i].setStateIndex(null);
+				_turkeys[state][i] = null;
+			}
+			_sizes[state] = 0;
+		}
+	}
+
+	/**
+	 * Move a turkey to the set for its new state. Called by the turkey
+	 * itself whenever its state changes.
+	 *
+	 * @param turkey
+	 * @param oldState - The state the turkey was filed under
+	 */
+	void changeState(Turkey turkey, byte oldState) {
+		_delete(turkey, oldState);
+		_insert(turkey, turkey.getState());
+	}
+
+	/**
+	 * Get the number of turkeys in a given state
+	 *
+	 * @param state - HEALTHY, INCUBATING or ZOMBIE from TurkeyPopulation
+	 * @return
+	 */
+	public int count(byte state) {
+		return _sizes[state];
+	}
+
+	/**
+	 * Get the number of turkeys in every state
+	 *
+	 * @return
+	 */
+	public int size() {
+		return _sizes[TurkeyPopulation.HEALTHY] + _sizes[TurkeyPopulation.INCUBATING] + _sizes[TurkeyPopulation.ZOMBIE];
+	}
+
+	/**
+	 * Get one of the turkeys in a given state. Loop position from 0 to
+	 * count(state) - 1 to visit all of them.
+	 *
+	 * @param state
+	 * @param position
+	 * @return
+	 */
+	public Turkey get(byte state, int position) {
+		return _turkeys[state][position];
+	}
+
+	private void _insert(Turkey turkey, byte state) {
+		int size = _sizes[state];
+		if(size == _turkeys[state].length) {
+			Turkey[] turkeys = new Turkey[size * 2];
+			System.arraycopy(_turkeys[state], 0, turkeys, 0, size);
+			_turkeys[state] = turkeys;
+		}
+		_turkeys[state][size] = turkey;
+		turkey.setStateSlot(size);
+		_sizes[state] = size + 1;
+	}
+
+	private void _delete(Turkey turkey, byte state) {
+		Turkey[] turkeys = _turkeys[state];
+		int slot = turkey.getStateSlot();
+		int last = _sizes[state] - 1;
+
+		// fill the gap with the last turkey in the set
+		turkeys[slot] = turkeys[last];
+		turkeys[slot].setStateSlot(slot);
+		turkeys[last] = null;
+		_sizes[state] = last;
+	}
+}
@@ -0,0 +1,943 @@
+/**
+ * TurkeyWorld.java
+ *
+ * The TurkeyWorld holds everything that happens in a game of Turkey Farmer:
+ * the farmer, the turkeys, the story clock, spawning and the win/lose rules.
+ * It is advanced one step at a time with tick() and never touches the screen,
+ * so a game can run without a display (java.awt.headless=true) and as fast
+ * as the machine allows. The TurkeyField draws whatever state the world is in.
+ *
+ * All of the world's randomness comes from a single seed, and all of its
+ * timing from its own SimulationClock. Turkeys can be moved one after
+ * another or split across a ForkJoinPool; either way they all read the
+ * flock as it was at the start of the tick, so both modes play out the
+ * same for the same seed.
+ *
+ * Nothing in the world checks the clock every frame to see whether it's
+ * time to do something. Turkeys turning, the farmer tiring out, messages
+ * going away and the story and spawn beats are all events on a Scheduler,
+ * so a tick only pays for the events that actually fire.
+ *
+ * Because of that, a game can be recorded (the seed, every tick's elapsed
+ * time and every mouse action) and played back exactly, without a display,
+ * with an InputReplayer.
+ *
+ * How big the field is and how many turkeys it holds come from the
+ * world's WorldSettings. Coordinates on the field run from the field's
+ * left and top bounds (50, leaving room for the title and such when the
+ * field is drawn in the window) to its right and bottom bounds. If the
+ * settings ask for it, turkeys far from the farmer are moved with less
+ * detail (see LevelOfDetail).
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class TurkeyWorld {
+
+	// give ourselves a global flag for use in turning debugging on and off
+	private boolean _inDebugMode = false;
+
+	// global configuration that doesn't change
+	private WorldSettings _settings;
+	private int _canvasSize = 750;			// size of the window the field is shown in
+	private int _topFieldBound = 50;
+	private int _rightFieldBound;
+	private int _bottomFieldBound;
+	private int _leftFieldBound = 50;
+	private int _maxMessageDurationInSeconds = 6;
+	private int _gridCellSize = 50;
+	private int _turkeysPerTask = 256;		// smallest batch of turkeys worth its own fork-join task
+	private int _farmerInteractionRadius = 150;	// the farthest anything reacts to the farmer (a zombie seeing him)
+	private int _turkeysWarmedPerTick = 8;	// spare turkeys made per tick during the intro
+	private LevelOfDetail _levelOfDetail;	// how much of each turkey to move, or null to move them all in full
+	private int[] _storyBeats = {1, 5, 9, 14, 15, 18, 21, 25, 26, 27};	// the seconds _tellStory() has something for
+
+	// things that will change
+	private Farmer _farmer;
+	private float _farmerSpeed;
+	private float _turkeySpeed;
+	private int _numStartingTurekeys;
+	private TurkeyRegistry _turkeys;
+	private TurkeyPopulation _population;
+	private TurkeyStateIndex _states;		// the turkeys filed by healthy, incubating and zombie
+	private TurkeyGrid _grid;
+	private int _maxNumTurkeys;
+	private SimulationClock _clock;			// only advanced by tick()
+	private Scheduler _scheduler;			// events in nanoseconds on the clock
+	private Scheduler _storyScheduler;		// events in story seconds, which stop when the game is over
+	private StoryEvent _storyEvent;
+	private SpawnEvent _spawnEvent;
+	private MessageExpiry _messageExpiry;
+	private long _seed;
+	private Random _random;
+	private InputRecording _recording;		// where to write down ticks and input, or null
+	private FrameProfiler _profiler;		// times the parts of each tick, or null
+	private ForkJoinPool _turkeyPool;		// moves turkeys in parallel, or null to move them in order
+	private TurkeyPool _spareTurkeys = new TurkeyPool();	// turkeys that have left the field, to use again
+	private long _startTimeInNanos;
+	private int _secondsPassed;
+	private long _lastMessageTimeInSeconds;
+	private int _gameStartTimeInSeconds;
+	private String _message;
+	private int _secondsBetweenTurkeysMin;
+	private int _secondsBetweenTurkeysMax;
+	private int _secondsBetweenTurkeys;
+	private int _numTurkeysToWin;
+	private float _infectionChance;
+	private int _numWins;
+	private int _numTurkeysBuilt;
+
+	/**
+	 * Create a new world and get the first game ready to go
+	 */
+	public TurkeyWorld() {
+		this(new Random().nextLong());
+	}
+
+	/**
+	 * Create a new world that makes all its random choices from a seed, so
+	 * the same seed and the same input always play out the same game
+	 *
+	 * @param seed
+	 */
+	public TurkeyWorld(long seed) {
+		this(seed, new WorldSettings());
+	}
+
+	/**
+	 * Create a new world with its own field size and turkey limits. The
+	 * same seed, settings and input always play out the same game.
+	 *
+	 * @param seed
+	 * @param settings
+	 */
+	public TurkeyWorld(long seed, WorldSettings settings) {
+		_settings = settings;
+		_rightFieldBound = _leftFieldBound + settings.getFieldWidth();
+		_bottomFieldBound = _topFieldBound + settings.getFieldHeight();
+		if(settings.hasLevelOfDetail()) {
+			_levelOfDetail = new LevelOfDetail(settings);
+		}
+		_numWins = 0;
+		_clock = new SimulationClock();
+		_seed = seed;
+		_random = new Random(seed);
+		reset();
+	}
+
+	/**
+	 * Reset the game and start over
+	 */
+	public void reset() {
+
+		// everything on the field from the last game can be used again (before
+		// the scheduler they may have events on is thrown away)
+		if(_turkeys != null) {
+			_turkeys.removeAll();
+		}
+
+		// set the starting number of turkeys
+		_numStartingTurekeys = _settings.getNumStartingTurkeys() - _numWins;
+
+		// set chance new turkeys will already be infected
+		_infectionChance = (float) (_settings.getInfectionChance() + (_settings.getInfectionChancePerWin() * _numWins));
+
+		// set the number of turkeys required to win
+		_numTurkeysToWin = _settings.getNumTurkeysToWin() + (_settings.getNumTurkeysToWinPerWin() * _numWins);
+
+		// set up initial farmer and turkey speeds
+		_farmerSpeed = 55;
+		_turkeySpeed = 20;
+
+		// define the max number of total turkeys that can be on the field
+		_maxNumTurkeys = _settings.getMaxNumTurkeys() + (_settings.getMaxNumTurkeysPerWin() * _numWins);
+
+		// define an initial number of seconds between turkeys
+		_secondsBetweenTurkeys = 10;
+
+		// set up the minimum and maximum time betweeen turkeys for use in randomness
+		_secondsBetweenTurkeysMin = _settings.getMinSecondsBetweenTurkeys();
+		_secondsBetweenTurkeysMax = _settings.getMaxSecondsBetweenTurkeys();
+
+		// tell the game it hasn't started yet
+		_gameStartTimeInSeconds = -1;
+
+		// anything still waiting belongs to the last game (there's room for
+		// every turkey waiting to turn and the farmer getting his breath back)
+		_scheduler = new Scheduler(_maxNumTurkeys + 16);
+		_storyScheduler = new Scheduler();
+		_messageExpiry = new MessageExpiry();
+
+		// the story starts at its first beat and turkeys start showing up after it
+		_storyEvent = new StoryEvent();
+		_storyScheduler.schedule(_storyEvent, _storyBeats[0]);
+		_spawnEvent = new SpawnEvent();
+		_storyScheduler.schedule(_spawnEvent, _getNextSpawnSecond(30));
+
+		// make room for as many turkeys as the field can hold, so nothing has to grow mid-game
+		_turkeys = new TurkeyRegistry(_maxNumTurkeys, _spareTurkeys);
+		_states = new TurkeyStateIndex(_maxNumTurkeys);
+		_population = new TurkeyPopulation(_maxNumTurkeys);
+		_grid = new TurkeyGrid(_population, _topFieldBound, _rightFieldBound, _bottomFieldBound, _leftFieldBound, _gridCellSize);
+
+		float centerX = (_leftFieldBound + _rightFieldBound) / 2;
+		float centerY = (_topFieldBound + _bottomFieldBound) / 2;
+
+		// add farmer to field and tell him where he can go, as well as inf about the turkeys
+		_farmer = new Farmer(centerX, centerY, _farmerSpeed);
+		_farmer.setBounds(_topFieldBound, _rightFieldBound, _bottomFieldBound, _leftFieldBound);
+		_farmer.see(_turkeys);
+		_farmer.see(_grid);
+		_farmer.see(_states);
+		_farmer.see(this);
+		_farmer.see(_clock);
+		_farmer.setRandom(new Random(_random.nextLong()));
+		if(_inDebugMode) {
+			_farmer.enableDebugMode();
+		}
+
+		// clear any messages
+		tellPlayer("");
+
+		_secondsPassed = 0;
+		_startTimeInNanos = _clock.getTimeInNanos();
+	}
+
+	/**
+	 * Advance the game by the given amount of time. This moves the farmer
+	 * and the turkeys, advances the story and checks whether the game
+	 * has been won or lost.
+	 *
+	 * @param elapsedTime - seconds since the last tick
+	 */
+	public void tick(float elapsedTime) {
+		FlightEvents.Tick event = null;
+		if(FlightEvents.TICK.isEnabled()) {
+			event = new FlightEvents.Tick();
+			event.begin();
+		}
+
+		// anything taken off the field during the tick goes at the end of it,
+		// so the turkeys aren't moved around while they're being walked
+		_beginPhase(FramePhase.STORY);
+		TurkeyRegistry turkeys = _turkeys;
+		turkeys.beginUpdate();
+		_tick(elapsedTime);
+		turkeys.endUpdate();
+		if(_profiler != null) {
+			_profiler.end();
+		}
+
+		if(event != null) {
+			event.end();
+			if(event.shouldCommit()) {
+				event.numTurkeys = _turkeys.size();
+				event.numZombies = _states.count(TurkeyPopulation.ZOMBIE);
+				event.elapsedTime = elapsedTime;
+				event.commit();
+			}
+		}
+
+		// write the tick down once it's done, so any checksum covers what it changed
+		if(_recording != null) {
+			_recording.recordTick(elapsedTime, this);
+		}
+	}
+
+	private void _tick(float elapsedTime) {
+
+		_clock.advance(elapsedTime);
+
+		// turn any turkeys whose incubation is up and tire out the farmer
+		_scheduler.runDueEvents(_clock.getTimeInNanos());
+
+		// check for no more healthy turkeys
+		if(getNumZombies() == _maxNumTurkeys) {
+			_farmer.makeDead("There are no more healthy turkeys in the world. Click HERE to retry.");
+		}
+
+		if(isGameWon()) {
+			// the game has been won!
+			tellPlayer("Click HERE to play again with a little more challenge");
+			return;
+		}
+
+		// update timer stuff if the farmer is still alive
+		if(!_farmer.isDead()) {
+			int secondsPassed = (int) ((_clock.getTimeInNanos() - _startTimeInNanos) / 1000000000L);
+			// if a whole second has passed, increment the number of seconds passed in the game and tell the story
+			if(secondsPassed > _secondsPassed) {
+				_secondsPassed++;
+				_advanceStory();
+			}
+		} else {
+			// tell the player how the farmer died
+			tellPlayer(_farmer.getDeathMessage());
+		}
+
+		// Let the farmer move if the game has started
+		if(hasGameStarted()) {
+
+			// move the farmer if he'a still alive
+			if(!_farmer.isDead()) {
+				_beginPhase(FramePhase.FARMER_MOVE);
+				_farmer.move(elapsedTime);
+			}
+
+		} else {
+			// make the farmer face south because we're in the intro
+			_farmer.setTarget(_farmer.getX(), _farmer.getY() + 1);
+
+			// nothing else is going on, so get turkeys ready for when the game starts
+			_spareTurkeys.warm(_maxNumTurkeys, _turkeysWarmedPerTick);
+		}
+
+		// move all the turkeys if the farmer is still alive
+		if(!_farmer.isDead()) {
+			_beginPhase(FramePhase.TURKEY_MOVE);
+
+			// snapshot the flock into flat arrays and re-bucket it so neighbor
+			// lookups only look at nearby cells
+			_population.load(_turkeys);
+			_grid.rebuild();
+
+			_moveTurkeys(elapsedTime);
+
+			// now that everyone has moved, infect turkeys and eat farmers
+			_population.applyRequests(_farmer);
+		}
+	}
+
+	private void _beginPhase(FramePhase phase) {
+		if(_profiler != null) {
+			_profiler.begin(phase);
+		}
+	}
+
+	/**
+	 * Move every turkey, either in order on this thread or split across the
+	 * fork-join pool. Turkeys only write to themselves while moving, so the
+	 * order doesn't matter.
+	 *
+	 * @param elapsedTime
+	 */
+	private void _moveTurkeys(float elapsedTime) {
+		if(_turkeyPool != null && _turkeys.size() > _turkeysPerTask) {
+			_turkeyPool.invoke(new MoveTurkeysTask(_turkeys, 0, _turkeys.size(), elapsedTime, _turkeysPerTask,
+					_levelOfDetail, _farmer));
+		} else {
+			for(int i = 0; i < _turkeys.size(); i++) {
+				_moveTurkey(_turkeys.get(i), elapsedTime, _levelOfDetail, _farmer);
+			}
+		}
+	}
+
+	private static void _moveTurkey(Turkey turkey, float elapsedTime, LevelOfDetail levelOfDetail, Farmer farmer) {
+		if(levelOfDetail != null) {
+			levelOfDetail.move(turkey, farmer, elapsedTime);
+		} else {
+			turkey.move(elapsedTime);
+		}
+	}
+
+	/**
+	 * Moves a range of turkeys, splitting it in half until the pieces are
+	 * small enough to be worth running on their own
+	 */
+	private static class MoveTurkeysTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private TurkeyRegistry _turkeys;
+		private int _from, _to;
+		private float _elapsedTime;
+		private int _turkeysPerTask;
+		private LevelOfDetail _levelOfDetail;
+		private Farmer _farmer;
+
+		MoveTurkeysTask(TurkeyRegistry turkeys, int from, int to, float elapsedTime, int turkeysPerTask,
+				LevelOfDetail levelOfDetail, Farmer farmer) {
+			_turkeys = turkeys;
+			_from = from;
+			_to = to;
+			_elapsedTime = elapsedTime;
+			_turkeysPerTask = turkeysPerTask;
+			_levelOfDetail = levelOfDetail;
+			_farmer = farmer;
+		}
+
+		protected void compute() {
+			if(_to - _from <= _turkeysPerTask) {
+				for(int i = _from; i < _to; i++) {
+					_moveTurkey(_turkeys.get(i), _elapsedTime, _levelOfDetail, _farmer);
+				}
+			} else {
+				int middle = (_from + _to) >>> 1;
+				invokeAll(new MoveTurkeysTask(_turkeys, _from, middle, _elapsedTime, _turkeysPerTask, _levelOfDetail, _farmer),
+						new MoveTurkeysTask(_turkeys, middle, _to, _elapsedTime, _turkeysPerTask, _levelOfDetail, _farmer));
+			}
+		}
+	}
+
+	/**
+	 * Move turkeys in parallel on the common fork-join pool, or go back to
+	 * moving them one after another
+	 *
+	 * @param parallel
+	 */
+	public void setParallel(boolean parallel) {
+		setTurkeyPool(parallel ? ForkJoinPool.commonPool() : null);
+	}
+
+	/**
+	 * Move turkeys in parallel on a specific fork-join pool
+	 *
+	 * @param pool - The pool to use, or null to move turkeys one after another
+	 */
+	public void setTurkeyPool(ForkJoinPool pool) {
+		_turkeyPool = pool;
+	}
+
+	public boolean isParallel() {
+		return _turkeyPool != null;
+	}
+
+	/**
+	 * Handle the player's mouse. The farmer heads towards the mouse, a left
+	 * click tries to catch a turkey (or restarts a finished game) and a right
+	 * click makes the farmer sprint.
+	 *
+	 * @param x
+	 * @param y
+	 * @param button - 1 for left click, 3 for right click, -1 for no click
+	 */
+	public void mouseAction(float x, float y, int button) {
+
+		if(_recording != null) {
+			_recording.recordMouseAction(x, y, button);
+		}
+
+		// Set the farmer's target to the current mouse location (if it's worth it)
+		if(_farmer.getDistanceSquaredFrom(x, y) > 5 * 5) {
+			_farmer.setTarget(x, y);
+		}
+
+		// No mouse button click
+		if (button == -1) {
+			// Keep calm and carry on
+		}
+
+		// Left mouse button click
+		if (_gameStartTimeInSeconds != -1 && _secondsPassed > _gameStartTimeInSeconds && button == 1) {
+
+			boolean atBottomOfScreen = y > _bottomFieldBound;
+
+			if(atBottomOfScreen && _farmer.getNumTurkeysCaught() >= _numTurkeysToWin) {
+
+				// make the game harder and restart if the game was won
+				_numWins++;
+				reset();
+
+			} else if(atBottomOfScreen && _farmer.isDead()){
+
+				// reset the game if the farmer is dead
+				reset();
+
+			} else {
+
+				// Try to catch a turkey
+				_farmer.tryToCatchATurkey();
+
+			}
+
+		}
+
+		// right mouse button click
+		if (button == 3) {
+
+			// make the farmer sprint
+			_farmer.sprint() ;
+		}
+	}
+
+	/**
+	 * Start writing down every tick and mouse action so the game can be
+	 * played back with an InputReplayer. This has to be called before the
+	 * first tick, since a replay starts from a brand new world.
+	 *
+	 * @return The recording, which keeps growing as the game goes on
+	 */
+	public InputRecording startRecording() {
+		_recording = new InputRecording(_seed, _settings);
+		return _recording;
+	}
+
+	/**
+	 * Time the story, farmer and turkey parts of every tick
+	 *
+	 * @param profiler - The profiler to report to, or null to stop timing
+	 */
+	public void setProfiler(FrameProfiler profiler) {
+		_profiler = profiler;
+	}
+
+	/**
+	 * Get the field size and turkey limits the world was made with
+	 *
+	 * @return
+	 */
+	public WorldSettings getSettings() {
+		return _settings;
+	}
+
+	/**
+	 * Get the seed all of the world's random choices come from
+	 *
+	 * @return
+	 */
+	public long getSeed() {
+		return _seed;
+	}
+
+	/**
+	 * Boil the whole state of the game down to one number. Two worlds with
+	 * the same checksum are (as far as anyone can tell) in exactly the same
+	 * state, down to the bits of every turkey's location.
+	 *
+	 * @return
+	 */
+	public long getStateChecksum() {
+		long checksum = _clock.getTimeInNanos();
+		checksum = checksum * 31 + _secondsPassed;
+		checksum = checksum * 31 + _gameStartTimeInSeconds;
+		checksum = checksum * 31 + _numWins;
+		checksum = checksum * 31 + _secondsBetweenTurkeys;
+		checksum = checksum * 31 + _message.hashCode();
+		checksum = checksum * 31 + _getSpriteChecksum(_farmer);
+		checksum = checksum * 31 + _farmer.getNumTurkeysCaught();
+		checksum = checksum * 31 + (_farmer.isDead() ? 1 : 0);
+		for(int i = 0; i < _turkeys.size(); i++) {
+			Turkey turkey = _turkeys.get(i);
+			checksum = checksum * 31 + _getSpriteChecksum(turkey);
+			checksum = checksum * 31 + turkey.getState();
+			checksum = checksum * 31 + turkey.getInfectionTime();
+		}
+		return checksum;
+	}
+
+	/**
+	 * Boil down just the part of the game the player can interact with:
+	 * the farmer and every turkey within his interaction radius. Turkeys
+	 * are added up rather than chained, so the order they're in doesn't
+	 * matter.
+	 *
+	 * @return
+	 */
+	public long getChecksumNearFarmer() {
+		long checksum = _getSpriteChecksum(_farmer);
+		checksum = checksum * 31 + _farmer.getNumTurkeysCaught();
+		checksum = checksum * 31 + (_farmer.isDead() ? 1 : 0);
+		long turkeys = 0;
+		float radiusSquared = (float) _farmerInteractionRadius * _farmerInteractionRadius;
+		for(int i = 0; i < _turkeys.size(); i++) {
+			Turkey turkey = _turkeys.get(i);
+			if(turkey.getDistanceSquaredFrom(_farmer) <= radiusSquared) {
+				long turkeyChecksum = _getSpriteChecksum(turkey);
+				turkeyChecksum = turkeyChecksum * 31 + turkey.getState();
+				turkeyChecksum = turkeyChecksum * 31 + turkey.getInfectionTime();
+				turkeys += turkeyChecksum;
+			}
+		}
+		return checksum * 31 + turkeys;
+	}
+
+	/**
+	 * Get how far from the farmer anything reacts to him. Nothing outside
+	 * of it can affect the farmer directly.
+	 *
+	 * @return
+	 */
+	public int getFarmerInteractionRadius() {
+		return _farmerInteractionRadius;
+	}
+
+	private long _getSpriteChecksum(MovingSprite sprite) {
+		long checksum = Float.floatToIntBits(sprite.getX());
+		checksum = checksum * 31 + Float.floatToIntBits(sprite.getY());
+		checksum = checksum * 31 + Float.floatToIntBits(sprite.getTargetX());
+		checksum = checksum * 31 + Float.floatToIntBits(sprite.getTargetY());
+		checksum = checksum * 31 + Float.floatToIntBits(sprite.getSpeed());
+		return checksum;
+	}
+
+	public Farmer getFarmer() {
+		return _farmer;
+	}
+
+	/**
+	 * Get the turkeys currently on the field
+	 *
+	 * @return A read-only view of the turkeys
+	 */
+	public List<Turkey> getTurkeys() {
+		return _turkeys.asList();
+	}
+
+	/**
+	 * Get the turkeys currently on the field, to look them up by handle
+	 *
+	 * @return
+	 */
+	public TurkeyRegistry getTurkeyRegistry() {
+		return _turkeys;
+	}
+
+	public int getNumZombies() {
+		return _states.count(TurkeyPopulation.ZOMBIE);
+	}
+
+	/**
+	 * Get the turkeys waiting to be used again for new turkeys
+	 *
+	 * @return
+	 */
+	public TurkeyPool getSpareTurkeys() {
+		return _spareTurkeys;
+	}
+
+	/**
+	 * Get the turkeys on the field filed by state
+	 *
+	 * @return
+	 */
+	public TurkeyStateIndex getTurkeyStates() {
+		return _states;
+	}
+
+	public boolean isGameWon() {
+		return _farmer.getNumTurkeysCaught() >= _numTurkeysToWin;
+	}
+
+	/**
+	 * Has the intro finished and the game itself begun?
+	 *
+	 * @return
+	 */
+	public boolean hasGameStarted() {
+		return _gameStartTimeInSeconds != -1 && _secondsPassed >= _gameStartTimeInSeconds;
+	}
+
+	/**
+	 * Get how long the game has been played, not counting the intro
+	 *
+	 * @return
+	 */
+	public int getGameTimeInSeconds() {
+		return _secondsPassed - _gameStartTimeInSeconds;
+	}
+
+	public int getNumTurkeysToWin() {
+		return _numTurkeysToWin;
+	}
+
+	/**
+	 * Get how many turkeys fit on the field in this game. Once that many
+	 * are all zombies, the game is lost.
+	 *
+	 * @return
+	 */
+	public int getMaxNumTurkeys() {
+		return _maxNumTurkeys;
+	}
+
+	public int getNumWins() {
+		return _numWins;
+	}
+
+	public String getMessage() {
+		return _message;
+	}
+
+	/**
+	 * Get how much simulated time has passed since the world was created
+	 *
+	 * @return
+	 */
+	public long getTimeInNanos() {
+		return _clock.getTimeInNanos();
+	}
+
+	public SimulationClock getClock() {
+		return _clock;
+	}
+
+	/**
+	 * Get the scheduler for things that should happen at a later time on
+	 * the game's clock. Times are in nanoseconds.
+	 *
+	 * @return
+	 */
+	public Scheduler getScheduler() {
+		return _scheduler;
+	}
+
+	/**
+	 * Get the size of the window the field is shown in. The field itself
+	 * can be bigger.
+	 *
+	 * @return
+	 */
+	public int getCanvasSize() {
+		return _canvasSize;
+	}
+	public int getTopFieldBound() {
+		return _topFieldBound;
+	}
+	public int getRightFieldBound() {
+		return _rightFieldBound;
+	}
+	public int getBottomFieldBound() {
+		return _bottomFieldBound;
+	}
+	public int getLeftFieldBound() {
+		return _leftFieldBound;
+	}
+
+	public void tellPlayer(String message) {
+		_message = message;
+		_lastMessageTimeInSeconds = _secondsPassed;
+
+		// clear the message once it's been up long enough
+		if(message.length() > 0) {
+			_storyScheduler.schedule(_messageExpiry, _lastMessageTimeInSeconds + _maxMessageDurationInSeconds + 1);
+		}
+	}
+
+	/**
+	 * Put a brand new healthy turkey on the field right away, outside of
+	 * the usual story and spawn schedule
+	 *
+	 * @return The new turkey
+	 */
+	public Turkey spawnTurkey() {
+		Turkey turkey = _buildTurkey();
+		_addTurkey(turkey);
+		return turkey;
+	}
+
+	/**
+	 * Put a turkey on the field and file it under its current state
+	 *
+	 * @param turkey
+	 */
+	private void _addTurkey(Turkey turkey) {
+		_turkeys.add(turkey);
+		_states.add(turkey);
+	}
+
+	/**
+	 * Build a turkey, give it some randomness, and do other neat turkey makin' stuff
+	 *
+	 * @return A fully functional turkey
+	 */
+	protected Turkey _buildTurkey() {
+		Random rand = _random;
+
+		// generate a random turkey speed multiplier (.7 to 1.3)
+		float speedMultiplier = (float) (.7 + rand.nextFloat() * .6);
+
+		// use a spare turkey if there is one - some turkeys are a little faster or slower than others
+		Turkey turkey = _spareTurkeys.take();
+		turkey.setSpeed(_turkeySpeed * speedMultiplier);
+
+		// The turkey sees the farmer so it can react to him
+		turkey.see(_farmer);
+
+		// The turkey sees all the turkeys on the field so it can react to them
+		turkey.see(_grid);
+
+		// The turkey keeps time on the game's clock
+		turkey.see(_clock);
+		turkey.see(_scheduler);
+
+		// every turkey gets its own random numbers so it doesn't matter which thread moves it
+		// (reseeding its generator is the same as giving it a new one, without making one)
+		turkey.getRandom().setSeed(rand.nextLong());
+
+		// turkeys in between the near and far ones take turns moving
+		turkey.setDeferredTicks(_numTurkeysBuilt++);
+
+		// set an initial image
+		turkey.setImageFromDirection(Direction.SOUTH);
+
+		if(_inDebugMode) {
+			turkey.enableDebugMode();
+		}
+
+		// tell the turkey where it can go and generate a random starting point on an edge
+		turkey.setBounds(_topFieldBound, _rightFieldBound, _bottomFieldBound, _leftFieldBound);
+
+		if(FlightEvents.TURKEY_SPAWNED.isEnabled()) {
+			FlightEvents.TurkeySpawned event = new FlightEvents.TurkeySpawned();
+			event.x = turkey.getX();
+			event.y = turkey.getY();
+			event.speed = turkey.getSpeed();
+			event.commit();
+		}
+
+		return turkey;
+
+	}
+
+	/**
+	 * Advance the game story by firing whatever story, spawn and message
+	 * events are due now that another second has passed
+	 *
+	 */
+	private void _advanceStory() {
+		_storyScheduler.runDueEvents(_secondsPassed);
+	}
+
+	/**
+	 * Do whatever the story has lined up for a given second. The seconds
+	 * that have something need to be listed in _storyBeats.
+	 *
+	 * @param second
+	 */
+	private void _tellStory(int second) {
+		switch (second) {
+			case 1:
+				tellPlayer("Turkey Farmer v" + TurkeyField.version + " by Jerome Dane - http://goo.gl/WjDfM");
+				break;
+			case 5:
+				tellPlayer("Catch " + _numTurkeysToWin + " turkeys for Thanksgiving dinner.");
+				break;
+			case 9:
+				tellPlayer("Be careful! There's a strange illness going around.");
+				break;
+			case 14:
+				tellPlayer("");
+				break;
+			case 15:
+				// add the starting number of healthy turkeys to the field
+				for(int i = 0; i < _numStartingTurekeys; i++) {
+					_addTurkey(_buildTurkey());
+				}
+				// set the game's actual start time
+				_gameStartTimeInSeconds = _secondsPassed;
+				break;
+			case 18:
+				// give the user a hint if they haven't caught anything after 3 seconds
+				if(_farmer.getNumTurkeysCaught() == 0) {
+					tellPlayer("Left-click while near a turkey to catch it!");
+				}
+				break;
+			case 21:
+				// give the user a hint if they haven't caught anything after 3 seconds
+				tellPlayer("Right-click to sprint.");
+				break;
+			case 25:
+				tellPlayer("");
+				break;
+			case 26:
+				tellPlayer("Catch the sick turkey before something bad happens!");
+				break;
+			case 27:
+				// add a sick turkey with a low incubation time so that it's likely they'll miss it
+				Turkey turkey = _buildTurkey();
+				turkey.infect(4);
+				// make it hard to catch the first sick turkey by starting it on the farthest side
+				switch(_farmer.getClosestSide()) {
+					case TOP:
+						turkey.setY(_bottomFieldBound);
+						break;
+					case RIGHT:
+						turkey.setX(_leftFieldBound);
+						break;
+					case BOTTOM:
+						turkey.setY(_topFieldBound);
+						break;
+					case LEFT:
+						turkey.setX(_rightFieldBound);
+						break;
+				}
+				_addTurkey(turkey);
+		}
+	}
+
+	/**
+	 * Get the next second after the given one that a turkey could show up
+	 *
+	 * @param second
+	 * @return
+	 */
+	private int _getNextSpawnSecond(int second) {
+		return (second / _secondsBetweenTurkeys + 1) * _secondsBetweenTurkeys;
+	}
+
+	/**
+	 * Tells the next part of the story and waits for the one after it
+	 */
+	private class StoryEvent extends Scheduler.Event {
+
+		private int _beat = 0;
+
+		protected void fire() {
+			_tellStory(_storyBeats[_beat]);
+			_beat++;
+			if(_beat < _storyBeats.length) {
+				_storyScheduler.schedule(this, _storyBeats[_beat]);
+			}
+		}
+	}
+
+	/**
+	 * Adds a turkey (if there's room for one) and picks when to try again
+	 */
+	private class SpawnEvent extends Scheduler.Event {
+
+		protected void fire() {
+
+			// only add turkeys if there aren't already too many
+			if(_turkeys.size() < _maxNumTurkeys) {
+
+				Turkey turkey = _buildTurkey();
+
+				// check to see if it's already infected
+				Random rand = _random;
+				if(rand.nextFloat() < _infectionChance) {
+					// if it's infected, give it a random incubation time from 5 to 20 seconds
+					turkey.infect(5 + (int) (15 * rand.nextFloat()));
+				}
+
+				// add the turkey to the field
+				_addTurkey(turkey);
+
+				// update the number of seconds until the next turkey to add some variety
+				_secondsBetweenTurkeys = _secondsBetweenTurkeysMin +
+						(int) (rand.nextFloat() * (_secondsBetweenTurkeysMax - _secondsBetweenTurkeysMin));
+			}
+
+			_storyScheduler.schedule(this, _getNextSpawnSecond(_secondsPassed));
+		}
+	}
+
+	/**
+	 * Clears the player's message once it has been up for long enough
+	 */
+	private class MessageExpiry extends Scheduler.Event {
+
+		protected void fire() {
+			tellPlayer("");
+		}
+	}
+}
@@ -0,0 +1,359 @@
+/**
+ * WorldSettings.java
+ *
+ * The things about a TurkeyWorld that used to be hard-coded: how big the
+ * field is, how many turkeys it holds and how hard the game is. The
+ * defaults are the original game, a 600 by 600 field that fits in the
+ * window with 5 turkeys to start with and room for 30 (and 5 more for
+ * every win). A field bigger than the window scrolls to follow the farmer
+ * (see Camera).
+ *
+ * How hard a game is comes from how many turkeys there are, how likely a
+ * new turkey is to be sick already (10%, and 5% more for every win), how
+ * many have to be caught to win (10, and 5 more for every win) and how
+ * often a new one shows up (every 2 to 20 seconds).
+ *
+ * On a big field most turkeys are nowhere near the farmer, so the settings
+ * can also turn on level of detail (see LevelOfDetail): turkeys far from
+ * the farmer are only moved now and then, or only along the way they were
+ * already going. It's off by default, which is the reference the
+ * simplified turkeys can be compared against (see InputReplayer).
+ *
+ * The field's size and the level of detail are read when a world is
+ * created and can't change after that. The turkey numbers and the
+ * difficulty are read every time the world is reset.
+ *
+ * Every setting can be given on the command line, like
+ * -Dturkeyfarmer.fieldWidth=6000 (see fromSystemProperties()).
+ *
+ * @authors Jerome Dane, Sandra Poulos
+ * @compids jd7yj, sp5uk
+ * @lab 1111
+ */
+
+package turkeyfarmer;
+
+public class WorldSettings {
+
+	private int _fieldWidth = 600;
+	private int _fieldHeight = 600;
+	private int _numStartingTurkeys = 5;	// one fewer for every win
+	private int _maxNumTurkeys = 30;
+	private int _maxNumTurkeysPerWin = 5;	// extra room on the field for every win
+
+	// difficulty, which goes up with every win
+	private double _infectionChance = .1;			// chance a new turkey is already sick
+	private double _infectionChancePerWin = .05;
+	private int _numTurkeysToWin = 10;
+	private int _numTurkeysToWinPerWin = 5;
+	private int _minSecondsBetweenTurkeys = 2;		// a new turkey shows up after somewhere in between
+	private int _maxSecondsBetweenTurkeys = 20;
+
+	// level of detail, by distance from the farmer
+	private boolean _levelOfDetail = false;
+	private int _lodNearDistance = 400;		// closer than this, turkeys run in full every tick
+	private int _lodFarDistance = 1000;		// farther than this, turkeys only keep going the way they were
+	private int _lodMidInterval = 4;		// ticks between moves for turkeys in between
+
+	/**
+	 * Create settings for the original game
+	 */
+	public WorldSettings() {
+	}
+
+	/**
+	 * Read the settings from system properties, falling back on the
+	 * original game for any that aren't given:
+	 *
+	 *   turkeyfarmer.fieldWidth, turkeyfarmer.fieldHeight,
+	 *   turkeyfarmer.startingTurkeys, turkeyfarmer.maxTurkeys,
+	 *   turkeyfarmer.maxTurkeysPerWin, turkeyfarmer.infectionChance,
+	 *   turkeyfarmer.infectionChancePerWin, turkeyfarmer.turkeysToWin,
+	 *   turkeyfarmer.turkeysToWinPerWin, turkeyfarmer.minSpawnSeconds,
+	 *   turkeyfarmer.maxSpawnSeconds, turkeyfarmer.lod (true or false),
+	 *   turkeyfarmer.lodNear, turkeyfarmer.lodFar and
+	 *   turkeyfarmer.lodMidInterval
+	 *
+	 * @return
+	 */
+	public static WorldSettings fromSystemProperties() {
+		WorldSettings settings = new WorldSettings();
+		settings.setFieldWidth(Integer.getInteger("turkeyfarmer.fieldWidth", settings.getFieldWidth()));
+		settings.setFieldHeight(Integer.getInteger("turkeyfarmer.fieldHeight", settings.getFieldHeight()));
+		settings.setNumStartingTurkeys(Integer.getInteger("turkeyfarmer.startingTurkeys", settings.getNumStartingTurkeys()));
+		settings.setMaxNumTurkeys(Integer.getInteger("turkeyfarmer.maxTurkeys", settings.getMaxNumTurkeys()));
+		settings.setMaxNumTurkeysPerWin(Integer.getInteger("turkeyfarmer.maxTurkeysPerWin", settings.getMaxNumTurkeysPerWin()));
+		settings.setInfectionChance(_getDouble("turkeyfarmer.infectionChance", settings.getInfectionChance()));
+		settings.setInfectionChancePerWin(_getDouble("turkeyfarmer.infectionChancePerWin", settings.getInfectionChancePerWin()));
+		settings.setNumTurkeysToWin(Integer.getInteger("turkeyfarmer.turkeysToWin", settings.getNumTurkeysToWin()));
+		settings.setNumTurkeysToWinPerWin(Integer.getInteger("turkeyfarmer.turkeysToWinPerWin", settings.getNumTurkeysToWinPerWin()));
+		settings.setSecondsBetweenTurkeys(Integer.getInteger("turkeyfarmer.minSpawnSeconds", settings.getMinSecondsBetweenTurkeys()),
+				Integer.getInteger("turkeyfarmer.maxSpawnSeconds", settings.getMaxSecondsBetweenTurkeys()));
+		settings.setLevelOfDetail(Boolean.getBoolean("turkeyfarmer.lod"));
+		settings.setLodDistances(Integer.getInteger("turkeyfarmer.lodNear", settings.getLodNearDistance()),
+				Integer.getInteger("turkeyfarmer.lodFar", settings.getLodFarDistance()));
+		settings.setLodMidInterval(Integer.getInteger("turkeyfarmer.lodMidInterval", settings.getLodMidInterval()));
+		return settings;
+	}
+
+	public int getFieldWidth() {
+		return _fieldWidth;
+	}
+
+	/**
+	 * Set how wide the field is in pixels
+	 *
+	 * @param fieldWidth - At least 100
+	 */
+	public void setFieldWidth(int fieldWidth) {
+		if(fieldWidth < 100) {
+			throw new IllegalArgumentException("The field has to be at least 100 pixels wide, not " + fieldWidth);
+		}
+		_fieldWidth = fieldWidth;
+	}
+
+	public int getFieldHeight() {
+		return _fieldHeight;
+	}
+
+	/**
+	 * Set how tall the field is in pixels
+	 *
+	 * @param fieldHeight - At least 100
+	 */
+	public void setFieldHeight(int fieldHeight) {
+		if(fieldHeight < 100) {
+			throw new IllegalArgumentException("The field has to be at least 100 pixels tall, not " + fieldHeight);
+		}
+		_fieldHeight = fieldHeight;
+	}
+
+	/**
+	 * Get how many healthy turkeys are put on the field when the game
+	 * starts, before taking the player's wins off
+	 *
+	 * @return
+	 */
+	public int getNumStartingTurkeys() {
+		return _numStartingTurkeys;
+	}
+
+	public void setNumStartingTurkeys(int numStartingTurkeys) {
+		_numStartingTurkeys = numStartingTurkeys;
+	}
+
+	/**
+	 * Get how many turkeys can be on the field at once in the first game
+	 *
+	 * @return
+	 */
+	public int getMaxNumTurkeys() {
+		return _maxNumTurkeys;
+	}
+
+	public void setMaxNumTurkeys(int maxNumTurkeys) {
+		_maxNumTurkeys = maxNumTurkeys;
+	}
+
+	/**
+	 * Get how many more turkeys fit on the field for every game won
+	 *
+	 * @return
+	 */
+	public int getMaxNumTurkeysPerWin() {
+		return _maxNumTurkeysPerWin;
+	}
+
+	public void setMaxNumTurkeysPerWin(int maxNumTurkeysPerWin) {
+		_maxNumTurkeysPerWin = maxNumTurkeysPerWin;
+	}
+
+	/**
+	 * Get the chance that a new turkey is already sick in the first game
+	 *
+	 * @return From 0 to 1
+	 */
+	public double getInfectionChance() {
+		return _infectionChance;
+	}
+
+	public void setInfectionChance(double infectionChance) {
+		if(infectionChance < 0 || infectionChance > 1) {
+			throw new IllegalArgumentException("The chance of a sick turkey has to be from 0 to 1, not " + infectionChance);
+		}
+		_infectionChance = infectionChance;
+	}
+
+	/**
+	 * Get how much more likely a new turkey is to be sick for every game won
+	 *
+	 * @return
+	 */
+	public double getInfectionChancePerWin() {
+		return _infectionChancePerWin;
+	}
+
+	public void setInfectionChancePerWin(double infectionChancePerWin) {
+		_infectionChancePerWin = infectionChancePerWin;
+	}
+
+	/**
+	 * Get how many turkeys have to be caught to win the first game
+	 *
+	 * @return
+	 */
+	public int getNumTurkeysToWin() {
+		return _numTurkeysToWin;
+	}
+
+	public void setNumTurkeysToWin(int numTurkeysToWin) {
+		if(numTurkeysToWin < 1) {
+			throw new IllegalArgumentException("At least one turkey has to be caught to win, not " + numTurkeysToWin);
+		}
+		_numTurkeysToWin = numTurkeysToWin;
+	}
+
+	/**
+	 * Get how many more turkeys have to be caught for every game won
+	 *
+	 * @return
+	 */
+	public int getNumTurkeysToWinPerWin() {
+		return _numTurkeysToWinPerWin;
+	}
+
+	public void setNumTurkeysToWinPerWin(int numTurkeysToWinPerWin) {
+		_numTurkeysToWinPerWin = numTurkeysToWinPerWin;
+	}
+
+	/**
+	 * Get the fewest seconds before the next turkey shows up
+	 *
+	 * @return
+	 */
+	public int getMinSecondsBetweenTurkeys() {
+		return _minSecondsBetweenTurkeys;
+	}
+
+	/**
+	 * Get the most seconds before the next turkey shows up
+	 *
+	 * @return
+	 */
+	public int getMaxSecondsBetweenTurkeys() {
+		return _maxSecondsBetweenTurkeys;
+	}
+
+	/**
+	 * Set how long it can be until the next turkey shows up. Every time
+	 * one does, the next one is given somewhere in between.
+	 *
+	 * @param minSeconds - At least 1
+	 * @param maxSeconds - At least minSeconds
+	 */
+	public void setSecondsBetweenTurkeys(int minSeconds, int maxSeconds) {
+		if(minSeconds < 1 || maxSeconds < minSeconds) {
+			throw new IllegalArgumentException("Turkeys need 1 <= min <= max seconds between them, not min "
+					+ minSeconds + " and max " + maxSeconds);
+		}
+		_minSecondsBetweenTurkeys = minSeconds;
+		_maxSecondsBetweenTurkeys = maxSeconds;
+	}
+
+	/**
+	 * Is level of detail on, or does every turkey run in full every tick?
+	 *
+	 * @return
+	 */
+	public boolean hasLevelOfDetail() {
+		return _levelOfDetail;
+	}
+
+	public void setLevelOfDetail(boolean levelOfDetail) {
+		_levelOfDetail = levelOfDetail;
+	}
+
+	/**
+	 * Get how close to the farmer a turkey has to be to run in full every
+	 * tick. By default that's how far a zombie can see the farmer (150)
+	 * plus how far a zombie can see a turkey (250), so anything that can
+	 * change what happens around the farmer runs in full.
+	 *
+	 * @return
+	 */
+	public int getLodNearDistance() {
+		return _lodNearDistance;
+	}
+
+	/**
+	 * Get how far from the farmer a turkey has to be before it only keeps
+	 * going the way it was
+	 *
+	 * @return
+	 */
+	public int getLodFarDistance() {
+		return _lodFarDistance;
+	}
+
+	/**
+	 * Set where the level of detail tiers start
+	 *
+	 * @param nearDistance - Turkeys closer than this to the farmer run in full
+	 * @param farDistance - Turkeys farther than this only keep going the way they were
+	 */
+	public void setLodDistances(int nearDistance, int farDistance) {
+		if(nearDistance < 0 || farDistance < nearDistance) {
+			throw new IllegalArgumentException("Level of detail needs 0 <= near <= far, not near "
+					+ nearDistance + " and far " + farDistance);
+		}
+		_lodNearDistance = nearDistance;
+		_lodFarDistance = farDistance;
+	}
+
+	/**
+	 * Get how many ticks go by between moves of a turkey that is neither
+	 * near nor far
+	 *
+	 * @return
+	 */
+	public int getLodMidInterval() {
+		return _lodMidInterval;
+	}
+
+	public void setLodMidInterval(int lodMidInterval) {
+		if(lodMidInterval < 1) {
+			throw new IllegalArgumentException("Turkeys in between have to be moved every tick or less often, not every " + lodMidInterval);
+		}
+		_lodMidInterval = lodMidInterval;
+	}
+
+	/**
+	 * Make a copy, like to change one setting without touching the original
+	 *
+	 * @return
+	 */
+	public WorldSettings copy() {
+		WorldSettings settings = new WorldSettings();
+		settings._fieldWidth = _fieldWidth;
+		settings._fieldHeight = _fieldHeight;
+		settings._numStartingTurkeys = _numStartingTurkeys;
+		settings._maxNumTurkeys = _maxNumTurkeys;
+		settings._maxNumTurkeysPerWin = _maxNumTurkeysPerWin;
+		settings._infectionChance = _infectionChance;
+		settings._infectionChancePerWin = _infectionChancePerWin;
+		settings._numTurkeysToWin = _numTurkeysToWin;
+		settings._numTurkeysToWinPerWin = _numTurkeysToWinPerWin;
+		settings._minSecondsBetweenTurkeys = _minSecondsBetweenTurkeys;
+		settings._maxSecondsBetweenTurkeys = _maxSecondsBetweenTurkeys;
+		settings._levelOfDetail = _levelOfDetail;
+		settings._lodNearDistance = _lodNearDistance;
+		settings._lodFarDistance = _lodFarDistance;
+		settings._lodMidInterval = _lodMidInterval;
+		return settings;
+	}
+
+	private static double _getDouble(String property, double defaultValue) {
+		String value = System.getProperty(property);
+		return value == null ? defaultValue : Double.parseDouble(value);
+	}
+}